@@ -1,8 +1,10 @@
 package org.gitlab4j.api;
 
 import java.io.File;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.util.Optional;
 
 import javax.ws.rs.NotAuthorizedException;
 import javax.ws.rs.core.Form;
@@ -19,6 +21,33 @@ import org.gitlab4j.api.models.Project;
  */
 public abstract class AbstractApi implements Constants {
 
+    /**
+     * The path, query parameters and entity type of a GET request for a single entity. A get*() method
+     * and its getOptional*() counterpart share the EntityRequest of the entity, so the request is only
+     * defined once.
+     *
+     * @param <T> the type of the entity
+     */
+    protected static class EntityRequest<T> {
+
+        private final Class<T> type;
+        private final MultivaluedMap<String, String> queryParams;
+        private final Object[] pathArgs;
+
+        /**
+         * Create an EntityRequest.
+         *
+         * @param type the class of the entity
+         * @param queryParams multivalue map of request parameters
+         * @param pathArgs variable list of arguments used to build the URI
+         */
+        protected EntityRequest(Class<T> type, MultivaluedMap<String, String> queryParams, Object... pathArgs) {
+            this.type = type;
+            this.queryParams = queryParams;
+            this.pathArgs = pathArgs;
+        }
+    }
+
     private final GitLabApi gitLabApi;
 
     public AbstractApi(GitLabApi gitLabApi) {
@@ -26,7 +55,8 @@ public abstract class AbstractApi implements Constants {
     }
 
     /**
-     * Returns the project ID or path from the provided Integer, String, or Project instance.
+     * Returns the project ID or path from the provided Integer, String, or Project instance. If a
+     * {@link ProjectIdCache} is set on the GitLabApi, paths of cached projects are returned as project IDs.
      *
      * @param obj the object to determine the ID or path from
      * @return the project ID or path from the provided Integer, String, or Project instance
@@ -39,6 +69,12 @@ public abstract class AbstractApi implements Constants {
         } else if (obj instanceof Integer) {
             return (obj);
         } else if (obj instanceof String) {
+
+            Integer id = getCachedProjectId((String) obj);
+            if (id != null) {
+                return (id);
+            }
+
             return (urlEncode(((String) obj).trim()));
         } else if (obj instanceof Project) {
 
@@ -49,7 +85,8 @@ public abstract class AbstractApi implements Constants {
 
             String path = ((Project) obj).getPathWithNamespace();
             if (path != null && path.trim().length() > 0) {
-                return (urlEncode(path.trim()));
+                id = getCachedProjectId(path);
+                return (id != null ? id : urlEncode(path.trim()));
             }
 
             throw (new RuntimeException("Cannot determine ID or path from provided Project instance"));
@@ -61,6 +98,26 @@ public abstract class AbstractApi implements Constants {
         }
     }
 
+    /**
+     * Get the ID of the project with the specified path from the ProjectIdCache, if one is set.
+     *
+     * @param path the path with namespace of the project
+     * @return the ID of the project, or null if not cached
+     */
+    private Integer getCachedProjectId(String path) {
+        ProjectIdCache cache = gitLabApi.getProjectIdCache();
+        return (cache != null ? cache.getId(path) : null);
+    }
+
+    /**
+     * Get the ServerCapabilities of the GitLab server, to choose between endpoints or features by server version.
+     *
+     * @return the ServerCapabilities of the GitLab server
+     */
+    protected ServerCapabilities getServerCapabilities() {
+        return (gitLabApi.getServerCapabilities());
+    }
+
     protected ApiVersion getApiVersion() {
         return (gitLabApi.getApiVersion());
     }
@@ -113,11 +170,114 @@ public abstract class AbstractApi implements Constants {
      * @throws GitLabApiException if any exception occurs during execution
      */
     protected Response get(Response.Status expectedStatus, MultivaluedMap<String, String> queryParams, Object... pathArgs) throws GitLabApiException {
+
+        URL url;
         try {
-            return validate(getApiClient().get(queryParams, pathArgs), expectedStatus);
+            url = getApiClient().getApiUrl(pathArgs);
         } catch (Exception e) {
             throw handle(e);
         }
+
+        return (get(expectedStatus, queryParams, url));
+    }
+
+    /**
+     * Perform an HTTP GET call for a single entity, returning the entity read from the response.
+     *
+     * @param <T> the type of the entity
+     * @param request the EntityRequest of the entity
+     * @return the entity read from the response
+     * @throws GitLabApiException if any exception occurs during execution
+     */
+    protected <T> T get(EntityRequest<T> request) throws GitLabApiException {
+        Response response = get(Response.Status.OK, request.queryParams, request.pathArgs);
+        return (response.readEntity(request.type));
+    }
+
+    /**
+     * Perform an HTTP GET call for an entity that may not exist, returning it as an Optional instance.
+     * If the server responds with a 404 (Not Found) status an empty Optional is returned, the Optional is
+     * associated with a GitLabApiException, created without capturing a stack trace, that can be retrieved
+     * with {@link GitLabApi#getOptionalException(Optional)}. Other errors are associated with the Optional
+     * the same as when catching the exception thrown by {@link #get(EntityRequest)}.
+     *
+     * @param <T> the type of the entity
+     * @param request the EntityRequest of the entity
+     * @return an Optional instance with the entity as a value, or an empty Optional if not found
+     */
+    protected <T> Optional<T> getOptional(EntityRequest<T> request) {
+        try {
+            return (Optional.ofNullable(getExpectingNotFound(request)));
+        } catch (GitLabApiException glae) {
+            return (GitLabApi.createOptionalFromException(glae));
+        }
+    }
+
+    /**
+     * Perform an HTTP GET call for an entity that may not exist, the same as {@link #getOptional(EntityRequest)}
+     * but reporting the errors by throwing them. A 404 (Not Found) status is reported with a GitLabApiException
+     * created without capturing a stack trace, and the NotFoundCache is consulted when set. This is used on
+     * the cache misses of the getOptional*() methods of cached entities.
+     *
+     * @param <T> the type of the entity
+     * @param request the EntityRequest of the entity
+     * @return the entity read from the response
+     * @throws GitLabApiException if the entity does not exist or any exception occurs during execution
+     */
+    protected <T> T getExpectingNotFound(EntityRequest<T> request) throws GitLabApiException {
+
+        try {
+
+            URL url = getApiClient().getApiUrl(request.pathArgs);
+            MultivaluedMap<String, String> queryParams = request.queryParams;
+            NotFoundCache notFoundCache = getApiClient().getNotFoundCache();
+            String key = (notFoundCache != null ? getApiClient().getRequestKey(url, queryParams) : null);
+            if (key != null) {
+                GitLabApiException notFound = notFoundCache.get(key);
+                if (notFound != null) {
+                    throw notFound;
+                }
+            }
+
+            Response response = getApiClient().get(queryParams, url);
+            if (response.getStatus() == Response.Status.NOT_FOUND.getStatusCode() && getApiClient().validateSecretToken(response)) {
+
+                GitLabApiException notFound = new GitLabApiException(response, false);
+                drain(response);
+                if (key != null) {
+                    notFoundCache.put(key, notFound);
+                }
+
+                throw notFound;
+            }
+
+            return (validate(response, Response.Status.OK).readEntity(request.type));
+
+        } catch (Exception e) {
+            throw handle(e);
+        }
+    }
+
+    /**
+     * Reads and discards any remaining entity of the response and closes it, so the connection
+     * can be reused instead of being closed with unread data.
+     *
+     * @param response the Response to drain
+     */
+    private static void drain(Response response) {
+
+        try {
+            if (response.hasEntity()) {
+                try (InputStream in = response.readEntity(InputStream.class)) {
+                    byte[] buffer = new byte[1024];
+                    while (in.read(buffer) != -1) {
+                    }
+                }
+            }
+        } catch (Exception ignore) {
+        } finally {
+            response.close();
+        }
     }
 
     /**
@@ -212,6 +372,46 @@ public abstract class AbstractApi implements Constants {
         }
     }
 
+    /**
+     * Perform an HTTP POST call with the specified StreamingOutput and path objects, returning
+     * a ClientResponse instance with the data returned from the endpoint. The POST data is sent
+     * with chunked transfer encoding so that it is never buffered as a whole.
+     *
+     * @param expectedStatus the HTTP status that should be returned from the server
+     * @param stream the StreamingOutput that will be used for the POST data
+     * @param mediaType the content-type for the streamed data
+     * @param pathArgs variable list of arguments used to build the URI
+     * @return a ClientResponse instance with the data returned from the endpoint
+     * @throws GitLabApiException if any exception occurs during execution
+     */
+    protected Response postStreaming(Response.Status expectedStatus, StreamingOutput stream, String mediaType, Object... pathArgs) throws GitLabApiException {
+        try {
+            return validate(getApiClient().postStreaming(stream, mediaType, pathArgs), expectedStatus);
+        } catch (Exception e) {
+            throw handle(e);
+        }
+    }
+
+    /**
+     * Perform an HTTP PUT call with the specified StreamingOutput and path objects, returning
+     * a ClientResponse instance with the data returned from the endpoint. The PUT data is sent
+     * with chunked transfer encoding so that it is never buffered as a whole.
+     *
+     * @param expectedStatus the HTTP status that should be returned from the server
+     * @param stream the StreamingOutput that will be used for the PUT data
+     * @param mediaType the content-type for the streamed data
+     * @param pathArgs variable list of arguments used to build the URI
+     * @return a ClientResponse instance with the data returned from the endpoint
+     * @throws GitLabApiException if any exception occurs during execution
+     */
+    protected Response putStreaming(Response.Status expectedStatus, StreamingOutput stream, String mediaType, Object... pathArgs) throws GitLabApiException {
+        try {
+            return validate(getApiClient().putStreaming(stream, mediaType, pathArgs), expectedStatus);
+        } catch (Exception e) {
+            throw handle(e);
+        }
+    }
+
     /**
      * Perform an HTTP POST call with the specified form data and path objects, returning
      * a ClientResponse instance with the data returned from the endpoint.
@@ -0,0 +1,473 @@
+package org.gitlab4j.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * This class provides a content-addressed, size-bounded local store for repository blobs. Blobs are
+ * immutable and identified by their SHA, so once fetched a blob never needs to be fetched again, no
+ * matter which project or commit it is requested for. When set on a {@link RepositoryApi} the cache
+ * is consulted transparently by {@link RepositoryApi#getRawBlobContent(Integer, String)}.
+ *
+ * <p>Blobs are stored on disk under the cache directory, sharded by the first two characters of their SHA,
+ * and the least recently used blobs are evicted once the total size exceeds maxDiskSize. Blobs no larger
+ * than maxMemoryBlobSize are additionally kept in an in-memory tier bounded by maxMemorySize.</p>
+ *
+ * <pre><code>
+ * BlobCache blobCache = new BlobCache(new File("/var/cache/gitlab-blobs"), 1024L * 1024 * 1024);
+ * gitLabApi.getRepositoryApi().setBlobCache(blobCache);
+ * </code></pre>
+ */
+public class BlobCache {
+
+    private final static Logger LOG = Logger.getLogger(BlobCache.class.getName());
+
+    /** The default maximum size of a blob kept in the in-memory tier, 64 KB. */
+    public static final int DEFAULT_MAX_MEMORY_BLOB_SIZE = 64 * 1024;
+
+    /** The default maximum total size of the in-memory tier, 16 MB. */
+    public static final long DEFAULT_MAX_MEMORY_SIZE = 16 * 1024 * 1024L;
+
+    // Only full blob SHAs (SHA-1 or SHA-256) are content addresses, anything else may be a ref name
+    private static final Pattern SHA_PATTERN = Pattern.compile("[0-9a-f]{40}|[0-9a-f]{64}");
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final long maxDiskSize;
+    private final long maxMemorySize;
+    private final int maxMemoryBlobSize;
+
+    // LRU ordered index of the blobs on disk and their sizes, guarded by itself
+    private final LinkedHashMap<String, Long> diskIndex = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskSize;
+
+    // LRU ordered in-memory tier, guarded by itself
+    private final LinkedHashMap<String, byte[]> memoryTier = new LinkedHashMap<>(16, 0.75f, true);
+    private long memorySize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create a BlobCache stored in the specified directory with the default in-memory tier settings.
+     *
+     * @param directory the directory to store the cached blobs in, will be created if it does not exist
+     * @param maxDiskSize the maximum total size in bytes of the blobs stored on disk
+     * @throws IOException if the directory cannot be created or read
+     */
+    public BlobCache(File directory, long maxDiskSize) throws IOException {
+        this(directory, maxDiskSize, DEFAULT_MAX_MEMORY_SIZE, DEFAULT_MAX_MEMORY_BLOB_SIZE);
+    }
+
+    /**
+     * Create a BlobCache stored in the specified directory.
+     *
+     * @param directory the directory to store the cached blobs in, will be created if it does not exist
+     * @param maxDiskSize the maximum total size in bytes of the blobs stored on disk
+     * @param maxMemorySize the maximum total size in bytes of the in-memory tier, 0 disables the in-memory tier
+     * @param maxMemoryBlobSize the maximum size in bytes of a blob kept in the in-memory tier
+     * @throws IOException if the directory cannot be created or read
+     */
+    public BlobCache(File directory, long maxDiskSize, long maxMemorySize, int maxMemoryBlobSize) throws IOException {
+
+        if (directory == null) {
+            throw new IllegalArgumentException("directory cannot be null");
+        }
+
+        if (maxDiskSize <= 0) {
+            throw new IllegalArgumentException("maxDiskSize must be greater than 0");
+        }
+
+        this.directory = directory;
+        this.maxDiskSize = maxDiskSize;
+        this.maxMemorySize = Math.max(0, maxMemorySize);
+        this.maxMemoryBlobSize = Math.max(0, maxMemoryBlobSize);
+
+        Files.createDirectories(directory.toPath());
+        loadIndex();
+    }
+
+    /**
+     * Returns true if the provided SHA is a full blob SHA, only blobs requested by a full SHA are cached.
+     *
+     * @param sha the SHA to check
+     * @return true if the provided SHA is a full blob SHA
+     */
+    public static boolean isCacheable(String sha) {
+        return (sha != null && SHA_PATTERN.matcher(sha).matches());
+    }
+
+    /**
+     * Get the content of the blob with the specified SHA from the cache.
+     *
+     * @param sha the SHA of the blob
+     * @return an InputStream on the blob content, or null if the blob is not in the cache
+     */
+    public InputStream get(String sha) {
+
+        if (!isCacheable(sha)) {
+            return (null);
+        }
+
+        byte[] content = getFromMemory(sha);
+        if (content != null) {
+            hits.increment();
+            return (new ByteArrayInputStream(content));
+        }
+
+        Long size = touch(sha);
+        if (size != null) {
+
+            try {
+
+                if (size <= maxMemoryBlobSize && maxMemorySize > 0) {
+                    content = Files.readAllBytes(getBlobFile(sha).toPath());
+                    putInMemory(sha, content);
+                    hits.increment();
+                    return (new ByteArrayInputStream(content));
+                }
+
+                InputStream in = new FileInputStream(getBlobFile(sha));
+                hits.increment();
+                return (in);
+
+            } catch (IOException ioe) {
+                LOG.warning("Cached blob could not be read, sha=" + sha + ", error=" + ioe.getMessage());
+                remove(sha);
+            }
+        }
+
+        misses.increment();
+        return (null);
+    }
+
+    /**
+     * Transfers the content of the blob with the specified SHA from the cache to the provided channel.
+     * Blobs on disk are transferred with {@link FileChannel#transferTo(long, long, WritableByteChannel)},
+     * which avoids copying the content through user space where the platform supports it.
+     *
+     * @param sha the SHA of the blob
+     * @param target the channel to transfer the blob content to
+     * @return the number of bytes transferred, or -1 if the blob is not in the cache
+     * @throws IOException if writing to the target channel fails
+     */
+    public long transferTo(String sha, WritableByteChannel target) throws IOException {
+
+        if (!isCacheable(sha)) {
+            return (-1);
+        }
+
+        byte[] content = getFromMemory(sha);
+        if (content != null) {
+            hits.increment();
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+
+            return (content.length);
+        }
+
+        if (touch(sha) != null) {
+
+            FileChannel channel;
+            try {
+                channel = FileChannel.open(getBlobFile(sha).toPath(), StandardOpenOption.READ);
+            } catch (IOException ioe) {
+                LOG.warning("Cached blob could not be read, sha=" + sha + ", error=" + ioe.getMessage());
+                remove(sha);
+                misses.increment();
+                return (-1);
+            }
+
+            try {
+
+                hits.increment();
+                long size = channel.size();
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+
+                return (size);
+
+            } finally {
+                channel.close();
+            }
+        }
+
+        misses.increment();
+        return (-1);
+    }
+
+    /**
+     * Stores the content read from the provided InputStream as the blob with the specified SHA, and
+     * returns an InputStream on the stored content. The provided InputStream is read fully and closed.
+     * If the SHA is not cacheable or the blob is larger than the whole cache, the content is still
+     * returned but is not retained.
+     *
+     * @param sha the SHA of the blob
+     * @param in the InputStream to read the blob content from
+     * @return an InputStream on the stored blob content
+     * @throws IOException if reading the content or writing it to the cache fails
+     */
+    public InputStream put(String sha, InputStream in) throws IOException {
+
+        Path tempFile = Files.createTempFile(directory.toPath(), "blob-", TEMP_SUFFIX);
+        long size;
+        try (InputStream source = in) {
+            size = Files.copy(source, tempFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ioe) {
+            Files.deleteIfExists(tempFile);
+            throw ioe;
+        }
+
+        if (!isCacheable(sha) || size > maxDiskSize) {
+            return (new DeleteOnCloseInputStream(tempFile));
+        }
+
+        File blobFile = getBlobFile(sha);
+        Files.createDirectories(blobFile.getParentFile().toPath());
+        try {
+            Files.move(tempFile, blobFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException amnse) {
+            Files.move(tempFile, blobFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        byte[] content = null;
+        if (size <= maxMemoryBlobSize && maxMemorySize > 0) {
+            content = Files.readAllBytes(blobFile.toPath());
+            putInMemory(sha, content);
+        }
+
+        InputStream result = (content != null ? new ByteArrayInputStream(content) : new FileInputStream(blobFile));
+        addToIndex(sha, size);
+        return (result);
+    }
+
+    /**
+     * Removes the blob with the specified SHA from the cache.
+     *
+     * @param sha the SHA of the blob to remove
+     */
+    public void remove(String sha) {
+
+        synchronized (memoryTier) {
+            byte[] content = memoryTier.remove(sha);
+            if (content != null) {
+                memorySize -= content.length;
+            }
+        }
+
+        synchronized (diskIndex) {
+            Long size = diskIndex.remove(sha);
+            if (size != null) {
+                diskSize -= size;
+            }
+        }
+
+        if (isCacheable(sha)) {
+            getBlobFile(sha).delete();
+        }
+    }
+
+    /**
+     * Removes all blobs from the cache and resets the hit and miss counts.
+     */
+    public void clear() {
+
+        List<String> shas;
+        synchronized (diskIndex) {
+            shas = new ArrayList<>(diskIndex.keySet());
+        }
+
+        for (String sha : shas) {
+            remove(sha);
+        }
+
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Get the number of blob requests that were served from the cache.
+     *
+     * @return the number of blob requests that were served from the cache
+     */
+    public long getHits() {
+        return (hits.sum());
+    }
+
+    /**
+     * Get the number of blob requests that were not served from the cache.
+     *
+     * @return the number of blob requests that were not served from the cache
+     */
+    public long getMisses() {
+        return (misses.sum());
+    }
+
+    /**
+     * Get the total size in bytes of the blobs stored on disk.
+     *
+     * @return the total size in bytes of the blobs stored on disk
+     */
+    public long getDiskSize() {
+        synchronized (diskIndex) {
+            return (diskSize);
+        }
+    }
+
+    /**
+     * Get the number of blobs stored on disk.
+     *
+     * @return the number of blobs stored on disk
+     */
+    public int size() {
+        synchronized (diskIndex) {
+            return (diskIndex.size());
+        }
+    }
+
+    private File getBlobFile(String sha) {
+        return (new File(new File(directory, sha.substring(0, 2)), sha.substring(2)));
+    }
+
+    private byte[] getFromMemory(String sha) {
+        synchronized (memoryTier) {
+            return (memoryTier.get(sha));
+        }
+    }
+
+    private void putInMemory(String sha, byte[] content) {
+
+        synchronized (memoryTier) {
+
+            byte[] previous = memoryTier.put(sha, content);
+            memorySize += content.length - (previous != null ? previous.length : 0);
+
+            Iterator<byte[]> iterator = memoryTier.values().iterator();
+            while (memorySize > maxMemorySize && iterator.hasNext()) {
+                memorySize -= iterator.next().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Marks the blob as most recently used, returns its size or null if it is not on disk.
+     */
+    private Long touch(String sha) {
+        synchronized (diskIndex) {
+            return (diskIndex.get(sha));
+        }
+    }
+
+    private void addToIndex(String sha, long size) {
+
+        List<String> evicted = new ArrayList<>();
+        synchronized (diskIndex) {
+
+            Long previous = diskIndex.put(sha, size);
+            diskSize += size - (previous != null ? previous : 0);
+
+            Iterator<Map.Entry<String, Long>> iterator = diskIndex.entrySet().iterator();
+            while (diskSize > maxDiskSize && iterator.hasNext()) {
+                Map.Entry<String, Long> entry = iterator.next();
+                if (entry.getKey().equals(sha)) {
+                    continue;
+                }
+
+                diskSize -= entry.getValue();
+                evicted.add(entry.getKey());
+                iterator.remove();
+            }
+        }
+
+        for (String evictedSha : evicted) {
+
+            synchronized (memoryTier) {
+                byte[] content = memoryTier.remove(evictedSha);
+                if (content != null) {
+                    memorySize -= content.length;
+                }
+            }
+
+            if (!getBlobFile(evictedSha).delete()) {
+                LOG.fine("Evicted blob could not be deleted, sha=" + evictedSha);
+            }
+        }
+    }
+
+    /**
+     * Builds the LRU index from the blobs already on disk, oldest first, and removes left over temp files.
+     */
+    private void loadIndex() throws IOException {
+
+        List<Path> blobs = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(directory.toPath(), 2)) {
+            paths.filter(Files::isRegularFile).forEach(blobs::add);
+        }
+
+        blobs.sort(Comparator.comparingLong(path -> path.toFile().lastModified()));
+        for (Path path : blobs) {
+
+            String filename = path.getFileName().toString();
+            if (filename.endsWith(TEMP_SUFFIX)) {
+                Files.deleteIfExists(path);
+                continue;
+            }
+
+            Path parent = path.getParent();
+            String sha = (parent != null ? parent.getFileName().toString() : "") + filename;
+            if (isCacheable(sha)) {
+                addToIndex(sha, Files.size(path));
+            }
+        }
+    }
+
+    /**
+     * An InputStream on a temporary file that deletes the file once closed.
+     */
+    private static class DeleteOnCloseInputStream extends FilterInputStream {
+
+        private final Path file;
+
+        DeleteOnCloseInputStream(Path file) throws IOException {
+            super(Files.newInputStream(file));
+            this.file = file;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package org.gitlab4j.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gitlab4j.api.models.TreeItem;
+
+/**
+ * This class fetches many files from a single ref of a repository. The blob SHA of each file is resolved
+ * by listing the directories that contain the files, files with identical content are only fetched once,
+ * and the blobs are fetched concurrently by up to parallelism threads. Blobs are fetched with
+ * {@link RepositoryApi#getRawBlobContent(Integer, String)}, so a {@link BlobCache} set on the
+ * RepositoryApi is used as well.
+ *
+ * <p>A failure to fetch a file does not abort the batch, it is recorded in the returned {@link Result}.</p>
+ *
+ * <pre><code>
+ * BulkFileFetcher fetcher = new BulkFileFetcher(gitLabApi.getRepositoryApi(), 8);
+ * BulkFileFetcher.Result result = fetcher.fetch(projectId, "master", paths, directory);
+ * for (Map.Entry&lt;String, Exception&gt; failure : result.getFailures().entrySet()) {
+ *     System.err.println(failure.getKey() + ": " + failure.getValue().getMessage());
+ * }
+ * </code></pre>
+ */
+public class BulkFileFetcher {
+
+    /**
+     * Handles the content of a fetched file. Handlers are called concurrently from multiple threads.
+     */
+    public interface FileHandler {
+
+        /**
+         * Called with the content of a fetched file, the content is closed when the handler returns.
+         *
+         * @param path the path of the file in the repository
+         * @param content the content of the file
+         * @throws IOException if the content cannot be handled, the file will be reported as failed
+         */
+        void onFile(String path, InputStream content) throws IOException;
+    }
+
+    /**
+     * Holds the outcome of a bulk fetch.
+     */
+    public static class Result {
+
+        private final List<String> fetched = Collections.synchronizedList(new ArrayList<>());
+        private final Map<String, Exception> failures = new ConcurrentHashMap<>();
+        private final AtomicInteger blobsFetched = new AtomicInteger();
+
+        /**
+         * Get the paths of the files that were fetched and handled successfully.
+         *
+         * @return the paths of the files that were fetched and handled successfully
+         */
+        public List<String> getFetched() {
+            return (fetched);
+        }
+
+        /**
+         * Get the paths of the files that could not be fetched, mapped to the cause of the failure.
+         *
+         * @return the paths of the files that could not be fetched, mapped to the cause of the failure
+         */
+        public Map<String, Exception> getFailures() {
+            return (failures);
+        }
+
+        /**
+         * Get the number of blobs fetched, files with identical content share a single blob.
+         *
+         * @return the number of blobs fetched
+         */
+        public int getBlobsFetched() {
+            return (blobsFetched.get());
+        }
+
+        /**
+         * Returns true if every file was fetched and handled successfully.
+         *
+         * @return true if every file was fetched and handled successfully
+         */
+        public boolean isSuccessful() {
+            return (failures.isEmpty());
+        }
+    }
+
+    private final RepositoryApi repositoryApi;
+    private final int parallelism;
+    private int itemsPerPage = TreeWalker.DEFAULT_ITEMS_PER_PAGE;
+
+    /**
+     * Create a BulkFileFetcher that will make up to parallelism requests concurrently.
+     *
+     * @param repositoryApi the RepositoryApi used to list the directories and fetch the blobs
+     * @param parallelism the maximum number of requests made concurrently
+     */
+    public BulkFileFetcher(RepositoryApi repositoryApi, int parallelism) {
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be greater than 0");
+        }
+
+        this.repositoryApi = repositoryApi;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Set the number of TreeItems fetched per page when listing the directories.
+     *
+     * @param itemsPerPage the number of TreeItems fetched per page
+     * @return this BulkFileFetcher instance
+     */
+    public BulkFileFetcher withItemsPerPage(int itemsPerPage) {
+        this.itemsPerPage = Math.max(1, itemsPerPage);
+        return (this);
+    }
+
+    /**
+     * Fetches the specified files and saves them to the specified directory, keeping their paths
+     * relative to the repository root. Existing files are overwritten.
+     *
+     * @param projectId the ID of the project
+     * @param refName the name of a repository branch or tag, or a commit SHA
+     * @param paths the paths of the files to fetch
+     * @param directory the directory to save the files to
+     * @return the Result of the fetch
+     * @throws GitLabApiException if the fetch is interrupted
+     */
+    public Result fetch(Integer projectId, String refName, Collection<String> paths, File directory) throws GitLabApiException {
+
+        Path root = directory.toPath().toAbsolutePath().normalize();
+        return (fetch(projectId, refName, paths, (path, content) -> {
+
+            Path file = root.resolve(path).normalize();
+            if (!file.startsWith(root)) {
+                throw new IOException("Path is outside of the target directory: " + path);
+            }
+
+            Files.createDirectories(file.getParent());
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+        }));
+    }
+
+    /**
+     * Fetches the specified files and passes the content of each file to the handler.
+     *
+     * @param projectId the ID of the project
+     * @param refName the name of a repository branch or tag, or a commit SHA
+     * @param paths the paths of the files to fetch
+     * @param handler the FileHandler that is passed the content of each file
+     * @return the Result of the fetch
+     * @throws GitLabApiException if the fetch is interrupted
+     */
+    public Result fetch(Integer projectId, String refName, Collection<String> paths, FileHandler handler) throws GitLabApiException {
+
+        Result result = new Result();
+
+        // Group the paths by the directory that contains them, so each directory is listed only once
+        Map<String, List<String>> directories = new LinkedHashMap<>();
+        for (String path : paths) {
+            String normalized = trimSlashes(path);
+            int slash = normalized.lastIndexOf('/');
+            String directory = (slash < 0 ? "" : normalized.substring(0, slash));
+            directories.computeIfAbsent(directory, key -> new ArrayList<>()).add(normalized);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "gitlab4j-bulk-file-fetcher");
+            thread.setDaemon(true);
+            return (thread);
+        });
+
+        try {
+
+            // Resolve the blob SHA of every file, mapping each distinct blob to the paths that have that content
+            Map<String, List<String>> blobs = new LinkedHashMap<>();
+            List<Future<Map<String, String>>> listings = new ArrayList<>();
+            for (Map.Entry<String, List<String>> entry : directories.entrySet()) {
+                listings.add(executor.submit(() -> resolve(projectId, refName, entry.getKey(), entry.getValue(), result)));
+            }
+
+            for (Future<Map<String, String>> listing : listings) {
+                for (Map.Entry<String, String> entry : await(listing).entrySet()) {
+                    blobs.computeIfAbsent(entry.getValue(), key -> new ArrayList<>()).add(entry.getKey());
+                }
+            }
+
+            List<Future<?>> fetches = new ArrayList<>();
+            for (Map.Entry<String, List<String>> entry : blobs.entrySet()) {
+                fetches.add(executor.submit(() -> fetchBlob(projectId, entry.getKey(), entry.getValue(), handler, result)));
+            }
+
+            for (Future<?> fetch : fetches) {
+                await(fetch);
+            }
+
+            return (result);
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Lists the directory and returns the blob SHA of each of the requested files in it, files that
+     * cannot be resolved are recorded as failures.
+     */
+    private Map<String, String> resolve(Integer projectId, String refName, String directory, List<String> paths, Result result) {
+
+        Map<String, String> shas = new LinkedHashMap<>();
+        Map<String, TreeItem> items = new LinkedHashMap<>();
+        try {
+
+            Pager<TreeItem> pager = repositoryApi.getTree(projectId, directory.isEmpty() ? null : directory, refName, false, itemsPerPage);
+            while (pager.hasNext()) {
+                for (TreeItem item : pager.next()) {
+                    items.put(item.getName(), item);
+                }
+            }
+
+        } catch (Exception e) {
+            Exception cause = (e instanceof RuntimeException && e.getCause() instanceof GitLabApiException ? (Exception) e.getCause() : e);
+            for (String path : paths) {
+                result.failures.put(path, cause);
+            }
+
+            return (shas);
+        }
+
+        for (String path : paths) {
+
+            TreeItem item = items.get(path.substring(path.lastIndexOf('/') + 1));
+            if (item == null) {
+                result.failures.put(path, new GitLabApiException("File not found: " + path));
+            } else if (item.getType() != TreeItem.Type.BLOB) {
+                result.failures.put(path, new GitLabApiException("Not a file: " + path));
+            } else {
+                shas.put(path, item.getId());
+            }
+        }
+
+        return (shas);
+    }
+
+    /**
+     * Fetches a blob once and passes its content to the handler for each of the paths that have that content.
+     */
+    private void fetchBlob(Integer projectId, String sha, List<String> paths, FileHandler handler, Result result) {
+
+        byte[] content = null;
+        try (InputStream in = repositoryApi.getRawBlobContent(projectId, sha)) {
+
+            result.blobsFetched.incrementAndGet();
+            if (paths.size() == 1) {
+                handle(paths.get(0), in, handler, result);
+                return;
+            }
+
+            // The content is shared by several paths, buffer it so it is only downloaded once
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, count);
+            }
+
+            content = out.toByteArray();
+
+        } catch (Exception e) {
+            for (String path : paths) {
+                result.failures.putIfAbsent(path, e);
+            }
+
+            return;
+        }
+
+        for (String path : paths) {
+            handle(path, new ByteArrayInputStream(content), handler, result);
+        }
+    }
+
+    private void handle(String path, InputStream content, FileHandler handler, Result result) {
+
+        try {
+            handler.onFile(path, content);
+            result.fetched.add(path);
+        } catch (Exception e) {
+            result.failures.put(path, e);
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws GitLabApiException {
+
+        try {
+            return (future.get());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new GitLabApiException(ie);
+        } catch (ExecutionException ee) {
+            // The tasks record their own failures, so this only happens on an unexpected error
+            Throwable cause = ee.getCause();
+            throw new GitLabApiException(cause instanceof Exception ? (Exception) cause : ee);
+        }
+    }
+
+    private static String trimSlashes(String path) {
+
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+
+        return (path.substring(start, end));
+    }
+}
@@ -0,0 +1,47 @@
+package org.gitlab4j.api;
+
+/**
+ * The key of a cached lookup, made of the identity the lookup was made as, see {@link GitLabApiClient#getIdentity()},
+ * and the ID or normalized path that was looked up. Lookups made as different identities are cached apart, as
+ * what a lookup returns depends on who makes it.
+ */
+class CacheKey {
+
+    private final String identity;
+    private final Object id;
+
+    /**
+     * Create a CacheKey.
+     *
+     * @param identity the identity the lookup is made as, null for the default identity
+     * @param id the ID or normalized path looked up
+     */
+    CacheKey(String identity, Object id) {
+        this.identity = identity;
+        this.id = id;
+    }
+
+    String getIdentity() {
+        return (identity);
+    }
+
+    Object getId() {
+        return (id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        if (!(obj instanceof CacheKey)) {
+            return (false);
+        }
+
+        CacheKey other = (CacheKey)obj;
+        return (id.equals(other.id) && (identity == null ? other.identity == null : identity.equals(other.identity)));
+    }
+
+    @Override
+    public int hashCode() {
+        return (31 * id.hashCode() + (identity != null ? identity.hashCode() : 0));
+    }
+}
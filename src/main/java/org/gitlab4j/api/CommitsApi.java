@@ -230,8 +230,7 @@ public class CommitsApi extends AbstractApi {
      * @throws GitLabApiException GitLabApiException if any exception occurs during execution
      */
     public Commit getCommit(int projectId, String sha) throws GitLabApiException {
-        Response response = get(Response.Status.OK, getDefaultPerPageParam(), "projects", projectId, "repository", "commits", sha);
-        return (response.readEntity(Commit.class));
+        return (get(commitRequest(projectId, sha)));
     }
 
     /**
@@ -244,11 +243,11 @@ public class CommitsApi extends AbstractApi {
      * @return the Commit for the specified project ID/sha pair as an Optional instance
      */
     public Optional<Commit> getOptionalCommit(int projectId, String sha) {
-        try {
-            return (Optional.ofNullable(getCommit(projectId, sha)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
-        }
+        return (getOptional(commitRequest(projectId, sha)));
+    }
+
+    private EntityRequest<Commit> commitRequest(int projectId, String sha) {
+        return (new EntityRequest<>(Commit.class, getDefaultPerPageParam(), "projects", projectId, "repository", "commits", sha));
     }
 
     /**
@@ -31,6 +31,12 @@ public interface Constants {
     /** Page param HTTP header key. */
     public static final String PAGE_PARAM = "page";
 
+    /** The links to the other pages HTTP header key, used by keyset pagination. */
+    public static final String LINK_HEADER = "Link";
+
+    /** Pagination method param, "keyset" selects keyset pagination. */
+    public static final String PAGINATION_PARAM = "pagination";
+
     /** Used to specify the type of authentication token. */
     public enum TokenType {
         ACCESS, PRIVATE;
@@ -126,17 +126,7 @@ public class DeployKeysApi extends AbstractApi {
      * @throws GitLabApiException if any exception occurs
      */
     public DeployKey getDeployKey(Integer projectId, Integer keyId) throws GitLabApiException {
-
-        if (projectId == null) {
-            throw new RuntimeException("projectId cannot be null");
-        }
-
-        if (keyId == null) {
-            throw new RuntimeException("keyId cannot be null");
-        }
-
-        Response response = get(Response.Status.OK, null, "projects", projectId, "deploy_keys", keyId);
-        return (response.readEntity(DeployKey.class));
+        return (get(deployKeyRequest(projectId, keyId)));
     }
 
     /**
@@ -149,11 +139,20 @@ public class DeployKeysApi extends AbstractApi {
      * @return the DeployKey for the specified project ID and key ID as an Optional instance
      */
     public Optional<DeployKey> getOptionalDeployKey(Integer projectId, Integer keyId) {
-        try {
-            return (Optional.ofNullable(getDeployKey(projectId, keyId)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
+        return (getOptional(deployKeyRequest(projectId, keyId)));
+    }
+
+    private EntityRequest<DeployKey> deployKeyRequest(Integer projectId, Integer keyId) {
+
+        if (projectId == null) {
+            throw new RuntimeException("projectId cannot be null");
         }
+
+        if (keyId == null) {
+            throw new RuntimeException("keyId cannot be null");
+        }
+
+        return (new EntityRequest<>(DeployKey.class, null, "projects", projectId, "deploy_keys", keyId));
     }
 
     /**
@@ -0,0 +1,90 @@
+package org.gitlab4j.api;
+
+/**
+ * This class holds the settings used when downloading large files such as repository archives and
+ * job artifacts to a directory. Downloads are written to a temporary file, resumed with HTTP Range
+ * requests after a connection failure, verified against the expected length, and then atomically
+ * renamed to their final name.
+ *
+ * <pre><code>
+ * DownloadOptions options = new DownloadOptions().withMaxRetries(5).withParallelSegments(4);
+ * File file = gitLabApi.getJobApi().downloadArtifactsFile(projectId, "master", "build", directory, options);
+ * </code></pre>
+ */
+public class DownloadOptions {
+
+    /** The default number of times a failed download will be resumed. */
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    /** The default delay in milliseconds before a failed download is resumed. */
+    public static final long DEFAULT_RETRY_DELAY_MILLIS = 1000;
+
+    /** The default minimum size of a parallel download segment, 8 MB. */
+    public static final long DEFAULT_MIN_SEGMENT_SIZE = 8 * 1024 * 1024L;
+
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private long retryDelayMillis = DEFAULT_RETRY_DELAY_MILLIS;
+    private int parallelSegments = 1;
+    private long minSegmentSize = DEFAULT_MIN_SEGMENT_SIZE;
+
+    /**
+     * Set the maximum number of times a failed download segment will be resumed.
+     *
+     * @param maxRetries the maximum number of times a failed download segment will be resumed
+     * @return this DownloadOptions instance
+     */
+    public DownloadOptions withMaxRetries(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+        return (this);
+    }
+
+    /**
+     * Set the delay in milliseconds before a failed download segment is resumed.
+     *
+     * @param retryDelayMillis the delay in milliseconds before a failed download segment is resumed
+     * @return this DownloadOptions instance
+     */
+    public DownloadOptions withRetryDelayMillis(long retryDelayMillis) {
+        this.retryDelayMillis = Math.max(0, retryDelayMillis);
+        return (this);
+    }
+
+    /**
+     * Set the maximum number of range segments that are downloaded in parallel. Downloads are only
+     * split when the server supports range requests and reports the total length.
+     *
+     * @param parallelSegments the maximum number of range segments downloaded in parallel, 1 disables splitting
+     * @return this DownloadOptions instance
+     */
+    public DownloadOptions withParallelSegments(int parallelSegments) {
+        this.parallelSegments = Math.max(1, parallelSegments);
+        return (this);
+    }
+
+    /**
+     * Set the minimum size in bytes of a parallel download segment, smaller downloads are not split.
+     *
+     * @param minSegmentSize the minimum size in bytes of a parallel download segment
+     * @return this DownloadOptions instance
+     */
+    public DownloadOptions withMinSegmentSize(long minSegmentSize) {
+        this.minSegmentSize = Math.max(1, minSegmentSize);
+        return (this);
+    }
+
+    public int getMaxRetries() {
+        return (maxRetries);
+    }
+
+    public long getRetryDelayMillis() {
+        return (retryDelayMillis);
+    }
+
+    public int getParallelSegments() {
+        return (parallelSegments);
+    }
+
+    public long getMinSegmentSize() {
+        return (minSegmentSize);
+    }
+}
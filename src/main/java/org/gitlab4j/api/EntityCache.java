@@ -0,0 +1,225 @@
+package org.gitlab4j.api;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * This class provides a bounded, time limited, least recently used cache of entities looked up by ID or path.
+ * It is used as a read-through cache in front of entity lookups, when set on {@link ProjectApi} it is consulted
+ * by {@link ProjectApi#getProject(Integer)} and {@link ProjectApi#getProject(String, String)}, and when set on
+ * {@link GroupApi} it is consulted by {@link GroupApi#getGroup(Integer)} and {@link GroupApi#getGroup(String)}.
+ * Each entity type has its own cache, so each can be sized separately.
+ *
+ * <pre><code>
+ * gitLabApi.getProjectApi().setProjectCache(new EntityCache&lt;&gt;(50000, 60000));
+ * gitLabApi.getGroupApi().setGroupCache(new EntityCache&lt;&gt;());
+ * systemHookManager.addListener(new EntityCacheInvalidator(gitLabApi));
+ * </code></pre>
+ *
+ * Lookups are cached separately for each set of credentials and sudo user they are made as, as what a lookup
+ * returns depends on who makes it. Entities updated or deleted through the same API instance are removed from the
+ * cache, other changes are not seen until their entry expires, use {@link #invalidate(Object)}, {@link #clear()}
+ * or an {@link EntityCacheInvalidator} if changes must be seen sooner. String keys are case insensitive.
+ *
+ * @param <T> the type of the cached entities
+ */
+public class EntityCache<T> {
+
+    /** The default maximum number of cached entities. */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    /** The default time in milliseconds an entity is cached, 5 minutes. */
+    public static final long DEFAULT_TTL_MILLIS = 5 * 60 * 1000L;
+
+    /**
+     * Looks up an entity on a cache miss.
+     *
+     * @param <T> the type of the entity
+     */
+    public interface Loader<T> {
+
+        /**
+         * Looks up the entity.
+         *
+         * @return the entity, null results are not cached
+         * @throws GitLabApiException if any exception occurs
+         */
+        T load() throws GitLabApiException;
+    }
+
+    private static class Entry<T> {
+
+        private final T entity;
+        private final long expiresAt;
+
+        Entry(T entity, long expiresAt) {
+            this.entity = entity;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    // LRU ordered entries, guarded by itself
+    private final LinkedHashMap<CacheKey, Entry<T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create an EntityCache with the default size and expiration time.
+     */
+    public EntityCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Create an EntityCache with the specified size and expiration time.
+     *
+     * @param maxSize the maximum number of cached entities
+     * @param ttlMillis the time in milliseconds an entity is cached
+     */
+    public EntityCache(int maxSize, long ttlMillis) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = Math.max(0, ttlMillis);
+    }
+
+    /**
+     * Get the entity with the specified key, calling the loader if the entity is not cached.
+     *
+     * @param key the ID or path of the entity
+     * @param loader the Loader called to look up the entity on a cache miss
+     * @return the entity with the specified key
+     * @throws GitLabApiException if the loader fails
+     */
+    public T get(Object key, Loader<T> loader) throws GitLabApiException {
+        return (get(null, key, loader));
+    }
+
+    /**
+     * Get the entity with the specified key as looked up by the specified identity, calling the loader if
+     * the entity is not cached.
+     *
+     * @param identity the credentials and sudo user the lookup is made as, null for the default identity
+     * @param key the ID or path of the entity
+     * @param loader the Loader called to look up the entity on a cache miss
+     * @return the entity with the specified key
+     * @throws GitLabApiException if the loader fails
+     */
+    T get(String identity, Object key, Loader<T> loader) throws GitLabApiException {
+
+        CacheKey cacheKey = new CacheKey(identity, normalize(key));
+        synchronized (entries) {
+
+            Entry<T> entry = entries.get(cacheKey);
+            if (entry != null && entry.expiresAt - System.currentTimeMillis() > 0) {
+                hits.increment();
+                return (entry.entity);
+            }
+
+            if (entry != null) {
+                entries.remove(cacheKey);
+            }
+
+            misses.increment();
+        }
+
+        T entity = loader.load();
+        store(cacheKey, entity);
+        return (entity);
+    }
+
+    private void store(CacheKey key, T entity) {
+
+        if (entity == null || ttlMillis <= 0) {
+            return;
+        }
+
+        Entry<T> entry = new Entry<>(entity, System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+
+            entries.put(key, entry);
+
+            Iterator<CacheKey> iterator = entries.keySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes the entity with the specified key from the cache, for all identities.
+     *
+     * @param key the ID or path of the entity to remove
+     */
+    public void invalidate(Object key) {
+
+        if (key == null) {
+            return;
+        }
+
+        Object id = normalize(key);
+        synchronized (entries) {
+            entries.keySet().removeIf(cacheKey -> id.equals(cacheKey.getId()));
+        }
+    }
+
+    /**
+     * Removes the cached entities that match the specified predicate, whatever key and identity they are cached under.
+     *
+     * @param predicate the predicate matching the entities to remove
+     */
+    void invalidateIf(Predicate<? super T> predicate) {
+        synchronized (entries) {
+            entries.values().removeIf(entry -> predicate.test(entry.entity));
+        }
+    }
+
+    /**
+     * Removes all the cached entities.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the number of cached entities, including expired entities that have not been removed yet.
+     *
+     * @return the number of cached entities
+     */
+    public int size() {
+        synchronized (entries) {
+            return (entries.size());
+        }
+    }
+
+    /**
+     * Get the number of lookups that were answered from the cache.
+     *
+     * @return the number of lookups that were answered from the cache
+     */
+    public long getHits() {
+        return (hits.sum());
+    }
+
+    /**
+     * Get the number of lookups that had to call the loader.
+     *
+     * @return the number of lookups that had to call the loader
+     */
+    public long getMisses() {
+        return (misses.sum());
+    }
+
+    // Paths are case insensitive
+    private static Object normalize(Object key) {
+        return (key instanceof String ? ((String)key).trim().toLowerCase(Locale.ROOT) : key);
+    }
+}
@@ -0,0 +1,120 @@
+package org.gitlab4j.api;
+
+import org.gitlab4j.api.models.Group;
+import org.gitlab4j.api.models.Project;
+import org.gitlab4j.api.systemhooks.GroupMemberSystemHookEvent;
+import org.gitlab4j.api.systemhooks.GroupSystemHookEvent;
+import org.gitlab4j.api.systemhooks.KeySystemHookEvent;
+import org.gitlab4j.api.systemhooks.ProjectSystemHookEvent;
+import org.gitlab4j.api.systemhooks.PushSystemHookEvent;
+import org.gitlab4j.api.systemhooks.RepositorySystemHookEvent;
+import org.gitlab4j.api.systemhooks.SystemHookListener;
+import org.gitlab4j.api.systemhooks.TagPushSystemHookEvent;
+import org.gitlab4j.api.systemhooks.TeamMemberSystemHookEvent;
+import org.gitlab4j.api.systemhooks.UserSystemHookEvent;
+
+/**
+ * This class is a SystemHookListener that removes changed users, groups and projects from the caches
+ * set on the {@link UserApi}, {@link GroupApi} and {@link ProjectApi} of a GitLabApi instance. Add it
+ * to a {@link org.gitlab4j.api.systemhooks.SystemHookManager} to see changes before cached entries expire.
+ *
+ * <pre><code>
+ * systemHookManager.addListener(new EntityCacheInvalidator(gitLabApi));
+ * </code></pre>
+ */
+public class EntityCacheInvalidator implements SystemHookListener {
+
+    private final GitLabApi gitLabApi;
+
+    /**
+     * Create an EntityCacheInvalidator for the caches of the specified GitLabApi instance.
+     *
+     * @param gitLabApi the GitLabApi instance whose caches are invalidated
+     */
+    public EntityCacheInvalidator(GitLabApi gitLabApi) {
+        this.gitLabApi = gitLabApi;
+    }
+
+    @Override
+    public void onProjectEvent(ProjectSystemHookEvent event) {
+
+        EntityCache<Project> projectCache = gitLabApi.getProjectApi().getProjectCache();
+        if (projectCache != null) {
+            projectCache.invalidate(event.getProjectId());
+            projectCache.invalidate(event.getPathWithNamespace());
+            projectCache.invalidate(event.getOldPathWithNamespace());
+        }
+    }
+
+    @Override
+    public void onUserEvent(UserSystemHookEvent event) {
+
+        UserCache userCache = gitLabApi.getUserApi().getUserCache();
+        if (userCache != null) {
+
+            if (event.getUserId() != null) {
+                userCache.invalidate(event.getUserId().intValue());
+            }
+
+            if (event.getUsername() != null) {
+                userCache.invalidate(event.getUsername());
+            }
+
+            if (event.getOldUsername() != null) {
+                userCache.invalidate(event.getOldUsername());
+            }
+        }
+    }
+
+    @Override
+    public void onGroupEvent(GroupSystemHookEvent event) {
+
+        EntityCache<Group> groupCache = gitLabApi.getGroupApi().getGroupCache();
+        if (groupCache == null) {
+            return;
+        }
+
+        // Groups are cached by the string form of their ID as well as by their path
+        if (event.getGroupId() != null) {
+            groupCache.invalidate(event.getGroupId().toString());
+        }
+
+        groupCache.invalidate(event.getPath());
+        groupCache.invalidate(event.getFullPath());
+        groupCache.invalidate(event.getOldPath());
+        groupCache.invalidate(event.getOldFullPath());
+
+        // Renaming a group changes the path of all the subgroups and projects in it
+        if (GroupSystemHookEvent.GROUP_RENAME_EVENT.equals(event.getEventName())) {
+            groupCache.clear();
+            EntityCache<Project> projectCache = gitLabApi.getProjectApi().getProjectCache();
+            if (projectCache != null) {
+                projectCache.clear();
+            }
+        }
+    }
+
+    @Override
+    public void onTeamMemberEvent(TeamMemberSystemHookEvent event) {
+    }
+
+    @Override
+    public void onKeyEvent(KeySystemHookEvent event) {
+    }
+
+    @Override
+    public void onGroupMemberEvent(GroupMemberSystemHookEvent event) {
+    }
+
+    @Override
+    public void onPushEvent(PushSystemHookEvent event) {
+    }
+
+    @Override
+    public void onTagPushEvent(TagPushSystemHookEvent event) {
+    }
+
+    @Override
+    public void onRepositoryEvent(RepositorySystemHookEvent event) {
+    }
+}
@@ -47,6 +47,7 @@ public class GitLabApi {
     private Map<String, Object> clientConfigProperties;
     private int defaultPerPage = DEFAULT_PER_PAGE;
     private Session session;
+    private volatile ServerCapabilities serverCapabilities;
 
     private CommitsApi commitsApi;
     private DeployKeysApi deployKeysApi;
@@ -85,10 +86,31 @@ public class GitLabApi {
 
     /**
      * Create a new GitLabApi instance that is logically a duplicate of this instance, with the exception off sudo state.
+     * The new instance shares the Jersey Client, its connections and its Jackson provider with this instance, so
+     * creating it is cheap. The sudo user and the default per page of the new instance are its own, the transport
+     * settings such as ignoring certificate errors belong to this instance. Use {@link #duplicate(boolean)} to
+     * create a duplicate with a Jersey Client of its own.
      *
      * @return a new GitLabApi instance that is logically a duplicate of this instance, with the exception off sudo state.
      */
     public final GitLabApi duplicate() {
+        return (duplicate(false));
+    }
+
+    /**
+     * Create a new GitLabApi instance that is logically a duplicate of this instance, with the exception off sudo state.
+     * If isolated is true the new instance has its own Jersey Client, so changing its transport settings does not
+     * affect this instance, otherwise it shares the Jersey Client with this instance as {@link #duplicate()} does.
+     * In both cases it uses the same TokenPool, ProjectIdCache, NotFoundCache and ServerCapabilities as this instance.
+     *
+     * @param isolated if true the new instance gets a Jersey Client of its own
+     * @return a new GitLabApi instance that is logically a duplicate of this instance, with the exception off sudo state.
+     */
+    public final GitLabApi duplicate(boolean isolated) {
+
+        if (!isolated) {
+            return (new GitLabApi(this, new GitLabApiClient(apiClient, getSudoAsId())));
+        }
 
         Integer sudoUserId = this.getSudoAsId();
         GitLabApi gitLabApi = new GitLabApi(apiVersion, gitLabServerUrl,
@@ -102,9 +124,27 @@ public class GitLabApi {
         }
 
         gitLabApi.defaultPerPage = this.defaultPerPage;
+        gitLabApi.setTokenPool(getTokenPool());
+        gitLabApi.setProjectIdCache(getProjectIdCache());
+        gitLabApi.setNotFoundCache(getNotFoundCache());
+        gitLabApi.setRequestCoalescing(getRequestCoalescing());
+        gitLabApi.serverCapabilities = getServerCapabilities();
         return (gitLabApi);
     }
 
+    /**
+     * Create a new GitLabApi instance for the same GitLab server that authenticates with the specified token,
+     * for example to make calls on behalf of a different tenant. The new instance shares the Jersey Client
+     * and its connections with this instance, so creating it is cheap.
+     *
+     * @param tokenType the type of auth the token is for, PRIVATE or ACCESS
+     * @param authToken the token to use for access to the API
+     * @return a new GitLabApi instance that authenticates with the specified token
+     */
+    public GitLabApi withAuthToken(TokenType tokenType, String authToken) {
+        return (new GitLabApi(this, new GitLabApiClient(apiClient, tokenType, authToken, null)));
+    }
+
     /**
      * <p>Logs into GitLab using OAuth2 with the provided {@code username} and {@code password},
      * and creates a new {@code GitLabApi} instance using returned access token.</p>
@@ -633,6 +673,43 @@ public class GitLabApi {
         apiClient = new GitLabApiClient(apiVersion, hostUrl, tokenType, authToken, secretToken, clientConfigProperties);
     }
 
+    /**
+     * Constructs a GitLabApi instance that uses the provided GitLabApiClient with the settings of the provided GitLabApi instance.
+     *
+     * @param gitLabApi the GitLabApi instance to copy the settings from
+     * @param apiClient the GitLabApiClient to communicate through
+     */
+    private GitLabApi(GitLabApi gitLabApi, GitLabApiClient apiClient) {
+        this.apiVersion = gitLabApi.apiVersion;
+        this.gitLabServerUrl = gitLabApi.gitLabServerUrl;
+        this.clientConfigProperties = gitLabApi.clientConfigProperties;
+        this.defaultPerPage = gitLabApi.defaultPerPage;
+        this.apiClient = apiClient;
+        this.serverCapabilities = gitLabApi.getServerCapabilities();
+    }
+
+    /**
+     * Get a GitLabApi instance that makes all its calls as the specified user, using the Sudo header.
+     * Unlike {@link #sudo(String)} and {@link #setSudoAsId(Integer)} this does not change the state of this
+     * instance, so it is safe to use from many threads at once, each acting as a different user. The
+     * returned instance is lightweight, it shares the Jersey Client and its connections with this instance.
+     * The transport settings, such as {@link #setIgnoreCertificateErrors(boolean)}, belong to this instance
+     * and cannot be changed on the returned instance.
+     *
+     * <pre><code>
+     * List&lt;Issue&gt; issues = gitLabApi.as(userId).getIssuesApi().getIssues(projectId);
+     * </code></pre>
+     *
+     * The user is not looked up, if the user does not exist or the authenticated user is not an admin
+     * the calls made with the returned instance will fail.
+     *
+     * @param sudoAsId the ID of the user to make the calls as, null to make the calls as the authenticated user
+     * @return a GitLabApi instance that makes all its calls as the specified user
+     */
+    public GitLabApi as(Integer sudoAsId) {
+        return (new GitLabApi(this, new GitLabApiClient(apiClient, sudoAsId)));
+    }
+
     /**
      * Sets up all future calls to the GitLab API to be done as another user specified by sudoAsUsername.
      * To revert back to normal non-sudo operation you must call unsudo(), or pass null as the username.
@@ -648,7 +725,7 @@ public class GitLabApi {
         }
 
         // Get the User specified by username, if you are not an admin or the username is not found, this will fail
-        User user = getUserApi().getUser(sudoAsUsername);
+        User user = getAuthenticatedUserApi().getUser(sudoAsUsername);
         if (user == null || user.getId() == null) {
             throw new GitLabApiException("the specified username was not found");
         }
@@ -679,7 +756,7 @@ public class GitLabApi {
         }
 
         // Get the User specified by the sudoAsId, if you are not an admin or the username is not found, this will fail
-        User user = getUserApi().getUser(sudoAsId);
+        User user = getAuthenticatedUserApi().getUser(sudoAsId);
         if (user == null || !user.getId().equals(sudoAsId)) {
             throw new GitLabApiException("the specified user ID was not found");
         }
@@ -687,6 +764,24 @@ public class GitLabApi {
         apiClient.setSudoAsId(sudoAsId);
     }
 
+    /**
+     * Get a UserApi that makes its calls as the authenticated user, whatever the current sudo user is, and
+     * that uses the UserCache of this instance. The user to sudo as is looked up with it.
+     *
+     * @return a UserApi that makes its calls as the authenticated user
+     */
+    private UserApi getAuthenticatedUserApi() {
+
+        UserApi userApi = getUserApi();
+        if (getSudoAsId() == null) {
+            return (userApi);
+        }
+
+        UserApi authenticatedUserApi = as(null).getUserApi();
+        authenticatedUserApi.setUserCache(userApi.getUserCache());
+        return (authenticatedUserApi);
+    }
+
     /**
      * Get the current sudo as ID, will return null if not in sudo mode.
      *
@@ -779,9 +874,94 @@ public class GitLabApi {
     }
 
     /**
-     * Sets up the Jersey system ignore SSL certificate errors or not.
+     * Get the ProjectIdCache used to resolve project paths to project IDs.
+     *
+     * @return the ProjectIdCache used to resolve project paths to project IDs, or null if not caching project IDs
+     */
+    public ProjectIdCache getProjectIdCache() {
+        return (apiClient.getProjectIdCache());
+    }
+
+    /**
+     * Set the ProjectIdCache used to resolve project paths to project IDs. The cache is populated from every
+     * Project read from the server, and paths of cached projects are sent as project IDs. Sudo contexts created
+     * after the cache is set use the cache as well, as do instances created with {@link #duplicate()}.
+     *
+     * @param projectIdCache the ProjectIdCache to use, null to not cache project IDs
+     */
+    public void setProjectIdCache(ProjectIdCache projectIdCache) {
+        apiClient.setProjectIdCache(projectIdCache);
+    }
+
+    /**
+     * Get the NotFoundCache of getOptional*() lookups that recently failed with a 404 status.
+     *
+     * @return the NotFoundCache in use, or null if not caching 404 results
+     */
+    public NotFoundCache getNotFoundCache() {
+        return (apiClient.getNotFoundCache());
+    }
+
+    /**
+     * Set the NotFoundCache of getOptional*() lookups that recently failed with a 404 status. While a 404 result
+     * is cached, the same getOptional*() lookup returns an empty Optional again without a call to the server, the
+     * get*() methods always call the server. Sudo contexts created after the cache is set use the cache as well, as do instances
+     * created with {@link #duplicate()}, cached results are kept separately for each user.
+     *
+     * @param notFoundCache the NotFoundCache to use, null to not cache 404 results
+     */
+    public void setNotFoundCache(NotFoundCache notFoundCache) {
+        apiClient.setNotFoundCache(notFoundCache);
+    }
+
+    /**
+     * Returns true if concurrent identical GET requests are collapsed into a single call.
+     *
+     * @return true if concurrent identical GET requests are collapsed into a single call
+     */
+    public boolean getRequestCoalescing() {
+        return (apiClient.getRequestCoalescing());
+    }
+
+    /**
+     * Sets whether concurrent identical GET requests are collapsed into a single call. When enabled, a GET request
+     * for the same URL and query parameters, made with the same credentials and sudo user as a request that is
+     * already in flight, waits for that request and is given a copy of its response instead of making its own call.
+     * This is disabled by default, the setting is shared with sudo contexts and copied to instances created with {@link #duplicate()}.
+     *
+     * @param requestCoalescing if true concurrent identical GET requests are collapsed into a single call
+     */
+    public void setRequestCoalescing(boolean requestCoalescing) {
+        apiClient.setRequestCoalescing(requestCoalescing);
+    }
+
+    /**
+     * Get the TokenPool the auth tokens of the calls are drawn from.
+     *
+     * @return the TokenPool the auth tokens of the calls are drawn from, or null if not using a token pool
+     */
+    public TokenPool getTokenPool() {
+        return (apiClient.getTokenPool());
+    }
+
+    /**
+     * Set the TokenPool to draw the auth tokens of the calls from, spreading the calls over the tokens
+     * by their remaining rate limit budget. Sudo contexts created with {@link #as(Integer)} after the pool
+     * is set use the pool as well, as do instances created with {@link #duplicate()}.
+     *
+     * @param tokenPool the TokenPool to draw the auth tokens from, null to use the token this instance was created with
+     */
+    public void setTokenPool(TokenPool tokenPool) {
+        apiClient.setTokenPool(tokenPool);
+    }
+
+    /**
+     * Sets up the Jersey system ignore SSL certificate errors or not. This can only be changed on the instance
+     * that owns the Jersey Client, not on the instances created from it with {@link #as(Integer)},
+     * {@link #withAuthToken(TokenType, String)} or {@link #duplicate()}.
      *
      * @param ignoreCertificateErrors if true will set up the Jersey system ignore SSL certificate errors
+     * @throws IllegalStateException if this instance shares the Jersey Client of another instance and the setting differs
      */
     public void setIgnoreCertificateErrors(boolean ignoreCertificateErrors) {
         apiClient.setIgnoreCertificateErrors(ignoreCertificateErrors);
@@ -805,6 +985,39 @@ public class GitLabApi {
         return (response.readEntity(Version.class));
     }
 
+    /**
+     * Get the ServerCapabilities of the GitLab server, which fetches the server version once and caches it
+     * along with the capabilities derived from it. Sudo contexts and instances created with {@link #duplicate()}
+     * share the ServerCapabilities of the instance they were created from.
+     *
+     * @return the ServerCapabilities of the GitLab server
+     */
+    public ServerCapabilities getServerCapabilities() {
+
+        ServerCapabilities capabilities = serverCapabilities;
+        if (capabilities == null) {
+            synchronized (this) {
+                capabilities = serverCapabilities;
+                if (capabilities == null) {
+                    capabilities = new ServerCapabilities(this);
+                    serverCapabilities = capabilities;
+                }
+            }
+        }
+
+        return (capabilities);
+    }
+
+    /**
+     * Set the ServerCapabilities of the GitLab server, for example to cache the server version for
+     * a different time than {@link ServerCapabilities#DEFAULT_TTL_MILLIS}.
+     *
+     * @param serverCapabilities the ServerCapabilities to use
+     */
+    public void setServerCapabilities(ServerCapabilities serverCapabilities) {
+        this.serverCapabilities = serverCapabilities;
+    }
+
     /**
      * Gets the CommitsApi instance owned by this GitLabApi instance. The CommitsApi is used
      * to perform all commit related API calls.
@@ -6,12 +6,18 @@ import java.io.File;
 import java.io.IOException;
 import java.net.Socket;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
@@ -33,9 +39,11 @@ import javax.ws.rs.core.StreamingOutput;
 import org.gitlab4j.api.Constants.TokenType;
 import org.gitlab4j.api.GitLabApi.ApiVersion;
 import org.gitlab4j.api.utils.JacksonJson;
+import org.gitlab4j.api.utils.SecretTokenVerifier;
 import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
 import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
 import org.glassfish.jersey.media.multipart.FormDataMultiPart;
 import org.glassfish.jersey.media.multipart.MultiPart;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
@@ -51,18 +59,29 @@ public class GitLabApiClient {
     protected static final String SUDO_HEADER           = "Sudo";
     protected static final String AUTHORIZATION_HEADER  = "Authorization";
     protected static final String X_GITLAB_TOKEN_HEADER = "X-Gitlab-Token";
+    protected static final String RANGE_HEADER          = "Range";
 
     private ClientConfig clientConfig;
-    private Client apiClient;
+    private volatile Client apiClient;
+
+    // The client whose Jersey Client is used by this client, null if this client owns its Jersey Client
+    private GitLabApiClient sharedClient;
     private String baseUrl;
     private String hostUrl;
     private TokenType tokenType = TokenType.PRIVATE;
     private String authToken;
+    private volatile String authTokenHash;
     private String secretToken;
+    private SecretTokenVerifier secretTokenVerifier;
     private boolean ignoreCertificateErrors;
     private SSLContext openSslContext;
     private HostnameVerifier openHostnameVerifier;
     private Integer sudoAsId;
+    private volatile TokenPool tokenPool;
+    private volatile ProjectIdCache projectIdCache;
+    private volatile boolean requestCoalescing;
+    private volatile NotFoundCache notFoundCache;
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
 
     /**
      * Construct an instance to communicate with a GitLab API server using the specified GitLab API version,
@@ -220,6 +239,7 @@ public class GitLabApiClient {
         }
 
         this.secretToken = secretToken;
+        this.secretTokenVerifier = (secretToken != null ? new SecretTokenVerifier(secretToken) : null);
 
         clientConfig = new ClientConfig();
         if (clientConfigProperties != null) {
@@ -235,6 +255,47 @@ public class GitLabApiClient {
 
         clientConfig.register(JacksonJson.class);
         clientConfig.register(MultiPartFeature.class);
+        clientConfig.register(TokenPool.RESPONSE_FILTER);
+        clientConfig.register(ProjectIdCache.READER_INTERCEPTOR);
+        clientConfig.register(RequestCoalescer.REPLAY_FILTER);
+        clientConfig.register(NotFoundCache.RESPONSE_FILTER);
+    }
+
+    /**
+     * Construct an instance that makes calls as the specified user with the same server, credentials and
+     * Jersey Client as the specified client. Creating an instance this way is cheap, no new Jersey Client
+     * is created and the connections are shared with the specified client.
+     *
+     * @param client the GitLabApiClient to share the configuration and Jersey Client of
+     * @param sudoAsId the ID of the user to make the calls as, null to make the calls as the authenticated user
+     */
+    GitLabApiClient(GitLabApiClient client, Integer sudoAsId) {
+        this(client, client.tokenType, client.authToken, sudoAsId);
+        this.tokenPool = client.tokenPool;
+    }
+
+    /**
+     * Construct an instance that authenticates with the specified token and makes calls as the specified user,
+     * with the same server and Jersey Client as the specified client. Creating an instance this way is cheap,
+     * no new Jersey Client is created and the connections are shared with the specified client.
+     *
+     * @param client the GitLabApiClient to share the configuration and Jersey Client of
+     * @param tokenType the type of auth the token is for, PRIVATE or ACCESS
+     * @param authToken the token to authenticate with
+     * @param sudoAsId the ID of the user to make the calls as, null to make the calls as the authenticated user
+     */
+    GitLabApiClient(GitLabApiClient client, TokenType tokenType, String authToken, Integer sudoAsId) {
+        this.sharedClient = (client.sharedClient != null ? client.sharedClient : client);
+        this.clientConfig = client.clientConfig;
+        this.baseUrl = client.baseUrl;
+        this.hostUrl = client.hostUrl;
+        this.tokenType = tokenType;
+        this.authToken = authToken;
+        this.secretToken = client.secretToken;
+        this.secretTokenVerifier = client.secretTokenVerifier;
+        this.sudoAsId = sudoAsId;
+        this.projectIdCache = client.projectIdCache;
+        this.notFoundCache = client.notFoundCache;
     }
 
     /**
@@ -281,6 +342,118 @@ public class GitLabApiClient {
         this.sudoAsId = sudoAsId;
     }
 
+    /**
+     * Get a key identifying the credentials and the sudo user the calls of this client are made as, for
+     * caches whose content depends on who makes the calls. The auth token is only included as a hash, and
+     * calls made with pooled tokens are identified by the ID of the TokenPool.
+     *
+     * @return a key identifying the credentials and the sudo user the calls are made as
+     */
+    String getIdentity() {
+
+        TokenPool pool = tokenPool;
+        if (pool != null) {
+            return ("pool:" + pool.getId() + "|sudo:" + sudoAsId);
+        }
+
+        String hash = authTokenHash;
+        if (hash == null) {
+            hash = (authToken != null ? sha256(authToken) : "");
+            authTokenHash = hash;
+        }
+
+        return (tokenType + ":" + hash + "|sudo:" + sudoAsId);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return (Base64.getEncoder().encodeToString(digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Get the TokenPool the auth tokens of the calls are drawn from.
+     *
+     * @return the TokenPool the auth tokens of the calls are drawn from, or null if not using a token pool
+     */
+    TokenPool getTokenPool() {
+        return (tokenPool);
+    }
+
+    /**
+     * Set the TokenPool to draw the auth tokens of the calls from, null to authenticate with the token
+     * this client was created with.
+     *
+     * @param tokenPool the TokenPool to draw the auth tokens of the calls from
+     */
+    void setTokenPool(TokenPool tokenPool) {
+        this.tokenPool = tokenPool;
+    }
+
+    /**
+     * Get the ProjectIdCache populated from the Projects read from the server.
+     *
+     * @return the ProjectIdCache populated from the Projects read from the server, or null if not caching project IDs
+     */
+    ProjectIdCache getProjectIdCache() {
+        return (projectIdCache);
+    }
+
+    /**
+     * Set the ProjectIdCache to populate from the Projects read from the server, null to not cache project IDs.
+     *
+     * @param projectIdCache the ProjectIdCache to populate from the Projects read from the server
+     */
+    void setProjectIdCache(ProjectIdCache projectIdCache) {
+        this.projectIdCache = projectIdCache;
+    }
+
+    /**
+     * Get the NotFoundCache of getOptional*() lookups that recently failed with a 404 status.
+     *
+     * @return the NotFoundCache in use, or null if not caching 404 results
+     */
+    NotFoundCache getNotFoundCache() {
+        return (notFoundCache);
+    }
+
+    /**
+     * Set the NotFoundCache of getOptional*() lookups that recently failed with a 404 status, null to not cache 404 results.
+     *
+     * @param notFoundCache the NotFoundCache to use
+     */
+    void setNotFoundCache(NotFoundCache notFoundCache) {
+        this.notFoundCache = notFoundCache;
+    }
+
+    /**
+     * Returns true if concurrent identical GET requests are collapsed into a single call.
+     *
+     * @return true if concurrent identical GET requests are collapsed into a single call
+     */
+    public boolean getRequestCoalescing() {
+        return (sharedClient != null ? sharedClient.getRequestCoalescing() : requestCoalescing);
+    }
+
+    /**
+     * Sets whether concurrent identical GET requests, requests for the same URL and query parameters made with
+     * the same credentials and sudo user, are collapsed into a single call whose response is shared by all the
+     * callers. The setting is shared with all the clients that share the Jersey Client of this client.
+     *
+     * @param requestCoalescing if true concurrent identical GET requests are collapsed into a single call
+     */
+    public void setRequestCoalescing(boolean requestCoalescing) {
+
+        if (sharedClient != null) {
+            sharedClient.setRequestCoalescing(requestCoalescing);
+        } else {
+            this.requestCoalescing = requestCoalescing;
+        }
+    }
+
     /**
      * Construct a REST URL with the specified path arguments.
      *
@@ -319,21 +492,18 @@ public class GitLabApiClient {
 
     /**
      * Validates the secret token (X-GitLab-Token) header against the expected secret token, returns true if valid,
-     * otherwise returns false.
+     * otherwise returns false. The comparison is done in constant time.
      *
      * @param response the Response instance sent from the GitLab server
      * @return true if the response's secret token is valid, otherwise returns false
      */
     protected boolean validateSecretToken(Response response) {
 
-        if (this.secretToken == null)
+        if (this.secretTokenVerifier == null)
             return (true);
 
         String secretToken = response.getHeaderString(X_GITLAB_TOKEN_HEADER);
-        if (secretToken == null)
-            return (false);
-
-        return (this.secretToken.equals(secretToken));
+        return (secretTokenVerifier.matches(secretToken));
     }
 
     /**
@@ -359,7 +529,50 @@ public class GitLabApiClient {
      * @return a ClientResponse instance with the data returned from the endpoint
      */
     protected Response get(MultivaluedMap<String, String> queryParams, URL url) {
-        return (invocation(url, queryParams).get());
+
+        if (!getRequestCoalescing()) {
+            return (withFailover(() -> invocation(url, queryParams).get()));
+        }
+
+        RequestCoalescer coalescer = (sharedClient != null ? sharedClient.requestCoalescer : requestCoalescer);
+        return (coalescer.execute(getRequestKey(url, queryParams),
+                () -> withFailover(() -> invocation(url, queryParams).get()),
+                flight -> replay(url, flight)));
+    }
+
+    /**
+     * Get the key identifying identical GET requests, the URL, the query parameters in name order, and the
+     * identity the request is made as.
+     *
+     * @param url the fully formed path to the GitLab API endpoint
+     * @param queryParams multivalue map of request parameters
+     * @return the key identifying identical GET requests
+     */
+    String getRequestKey(URL url, MultivaluedMap<String, String> queryParams) {
+
+        StringBuilder key = new StringBuilder(url.toExternalForm());
+        if (queryParams != null) {
+            for (Map.Entry<String, List<String>> param : new TreeMap<>(queryParams).entrySet()) {
+                key.append('&').append(param.getKey()).append('=').append(param.getValue());
+            }
+        }
+
+        return (key.append('|').append(getIdentity()).toString());
+    }
+
+    /**
+     * Replays the buffered response of a coalesced request through the Jersey Client, without making a call,
+     * so the caller gets a response of its own to read.
+     */
+    private Response replay(URL url, RequestCoalescer.Flight flight) {
+
+        Invocation.Builder builder = getClient().target(url.toExternalForm()).request().property(RequestCoalescer.REPLAY_PROPERTY, flight);
+        ProjectIdCache cache = projectIdCache;
+        if (cache != null) {
+            builder = builder.property(ProjectIdCache.CACHE_PROPERTY, cache);
+        }
+
+        return (builder.get());
     }
 
     /**
@@ -387,7 +600,47 @@ public class GitLabApiClient {
      * @return a ClientResponse instance with the data returned from the endpoint
      */
     protected Response getWithAccepts(MultivaluedMap<String, String> queryParams, URL url, String accepts) {
-        return (invocation(url, queryParams, accepts).get());
+        return (withFailover(() -> invocation(url, queryParams, accepts).get()));
+    }
+
+    /**
+     * Perform an HTTP GET call for a byte range with the specified query parameters and URL, returning
+     * a ClientResponse instance with the data returned from the endpoint. The server responds with
+     * a 206 (Partial Content) status if it honored the range, or a 200 status with the complete content.
+     *
+     * @param queryParams multivalue map of request parameters
+     * @param url the fully formed path to the GitLab API endpoint
+     * @param accepts if non-empty will set the Accepts header to this value
+     * @param start the offset of the first byte to get
+     * @param end the offset of the last byte to get, or -1 to get through the end of the content
+     * @return a ClientResponse instance with the data returned from the endpoint
+     */
+    protected Response getRange(MultivaluedMap<String, String> queryParams, URL url, String accepts, long start, long end) {
+        String range = "bytes=" + start + "-" + (end >= 0 ? Long.toString(end) : "");
+        return (withFailover(() -> invocation(url, queryParams, accepts).header(RANGE_HEADER, range).get()));
+    }
+
+    /**
+     * Performs a GET request, repeating it with the next token from the token pool while it is rejected
+     * with a 401 (Unauthorized) status. Once every pooled token has been revoked the request is made one
+     * last time with the token this client was created with.
+     */
+    private Response withFailover(Supplier<Response> request) {
+
+        TokenPool pool = tokenPool;
+        if (pool == null || pool.getActiveCount() == 0) {
+            return (request.get());
+        }
+
+        Response response = request.get();
+        boolean pooled = true;
+        while (pooled && response.getStatus() == Response.Status.UNAUTHORIZED.getStatusCode()) {
+            pooled = (pool.getActiveCount() > 0);
+            response.close();
+            response = request.get();
+        }
+
+        return (response);
     }
 
     /**
@@ -475,6 +728,42 @@ public class GitLabApiClient {
         return (invocation(url, null).post(Entity.entity(stream, mediaType)));
     }
 
+    /**
+     * Perform an HTTP POST call with the specified StreamingOutput, MediaType, and path objects, returning
+     * a ClientResponse instance with the data returned from the endpoint. The POST data is sent with
+     * chunked transfer encoding so that it is never buffered as a whole.
+     *
+     * @param stream the StreamingOutput instance that contains the POST data
+     * @param mediaType the content-type of the POST data
+     * @param pathArgs variable list of arguments used to build the URI
+     * @return a ClientResponse instance with the data returned from the endpoint
+     * @throws IOException if an error occurs while constructing the URL
+     */
+    protected Response postStreaming(StreamingOutput stream, String mediaType, Object... pathArgs) throws IOException {
+        URL url = getApiUrl(pathArgs);
+        return (chunked(invocation(url, null)).post(Entity.entity(stream, mediaType)));
+    }
+
+    /**
+     * Perform an HTTP PUT call with the specified StreamingOutput, MediaType, and path objects, returning
+     * a ClientResponse instance with the data returned from the endpoint. The PUT data is sent with
+     * chunked transfer encoding so that it is never buffered as a whole.
+     *
+     * @param stream the StreamingOutput instance that contains the PUT data
+     * @param mediaType the content-type of the PUT data
+     * @param pathArgs variable list of arguments used to build the URI
+     * @return a ClientResponse instance with the data returned from the endpoint
+     * @throws IOException if an error occurs while constructing the URL
+     */
+    protected Response putStreaming(StreamingOutput stream, String mediaType, Object... pathArgs) throws IOException {
+        URL url = getApiUrl(pathArgs);
+        return (chunked(invocation(url, null)).put(Entity.entity(stream, mediaType)));
+    }
+
+    private Invocation.Builder chunked(Invocation.Builder builder) {
+        return (builder.property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.CHUNKED));
+    }
+
     /**
      * Perform a file upload as part of the , returning
      * a ClientResponse instance with the data returned from the endpoint.
@@ -605,28 +894,38 @@ public class GitLabApiClient {
 
     protected Invocation.Builder invocation(URL url, MultivaluedMap<String, String> queryParams, String accept) {
 
-        if (apiClient == null) {
-            if (ignoreCertificateErrors) {
-                apiClient = ClientBuilder.newBuilder()
-                        .withConfig(clientConfig)
-                        .sslContext(openSslContext)
-                        .hostnameVerifier(openHostnameVerifier)
-                        .build();
-            } else {
-                apiClient = ClientBuilder.newBuilder().withConfig(clientConfig).build();
-            }
-        }
-
-        WebTarget target = apiClient.target(url.toExternalForm()).property(ClientProperties.FOLLOW_REDIRECTS, true);
+        WebTarget target = getClient().target(url.toExternalForm()).property(ClientProperties.FOLLOW_REDIRECTS, true);
         if (queryParams != null) {
             for (Map.Entry<String, List<String>> param : queryParams.entrySet()) {
                 target = target.queryParam(param.getKey(), param.getValue().toArray());
             }
         }
 
-        String authHeader = (tokenType == TokenType.ACCESS ? AUTHORIZATION_HEADER : PRIVATE_TOKEN_HEADER);
-        String authValue = (tokenType == TokenType.ACCESS ? "Bearer " + authToken : authToken);
+        // Draw the token from the token pool if one is set, the response filter updates its budget
+        TokenPool pool = tokenPool;
+        TokenPool.Token pooledToken = (pool != null ? pool.nextToken() : null);
+        TokenType requestTokenType = (pooledToken != null ? pooledToken.getTokenType() : tokenType);
+        String requestAuthToken = (pooledToken != null ? pooledToken.getAuthToken() : authToken);
+
+        String authHeader = (requestTokenType == TokenType.ACCESS ? AUTHORIZATION_HEADER : PRIVATE_TOKEN_HEADER);
+        String authValue = (requestTokenType == TokenType.ACCESS ? "Bearer " + requestAuthToken : requestAuthToken);
         Invocation.Builder builder = target.request();
+        if (pooledToken != null) {
+            builder = builder.property(TokenPool.TOKEN_PROPERTY, pooledToken);
+        }
+
+        // If caching project IDs the reader interceptor adds the Projects in the response to the cache
+        ProjectIdCache cache = projectIdCache;
+        if (cache != null) {
+            builder = builder.property(ProjectIdCache.CACHE_PROPERTY, cache);
+        }
+
+        // If caching 404 results the response filter clears the cache when a modifying call succeeds
+        NotFoundCache notFoundCache = this.notFoundCache;
+        if (notFoundCache != null) {
+            builder = builder.property(NotFoundCache.CACHE_PROPERTY, notFoundCache);
+        }
+
         if (accept == null || accept.trim().length() == 0) {
             builder = builder.header(authHeader, authValue);
         } else {
@@ -640,22 +939,68 @@ public class GitLabApiClient {
         return (builder);
     }
 
+    /**
+     * Get the Jersey Client used to make the calls, creating it on first use. Clients created with
+     * {@link #GitLabApiClient(GitLabApiClient, Integer)} use the Jersey Client of the client they were created from.
+     *
+     * @return the Jersey Client used to make the calls
+     */
+    Client getClient() {
+
+        if (sharedClient != null) {
+            return (sharedClient.getClient());
+        }
+
+        Client client = apiClient;
+        if (client == null) {
+            synchronized (this) {
+                client = apiClient;
+                if (client == null) {
+                    if (ignoreCertificateErrors) {
+                        client = ClientBuilder.newBuilder()
+                                .withConfig(clientConfig)
+                                .sslContext(openSslContext)
+                                .hostnameVerifier(openHostnameVerifier)
+                                .build();
+                    } else {
+                        client = ClientBuilder.newBuilder().withConfig(clientConfig).build();
+                    }
+
+                    apiClient = client;
+                }
+            }
+        }
+
+        return (client);
+    }
+
     /**
      * Returns true if the API is setup to ignore SSL certificate errors, otherwise returns false.
      *
      * @return true if the API is setup to ignore SSL certificate errors, otherwise returns false
      */
     public boolean getIgnoreCertificateErrors() {
-        return (ignoreCertificateErrors);
+        return (sharedClient != null ? sharedClient.getIgnoreCertificateErrors() : ignoreCertificateErrors);
     }
 
     /**
-     * Sets up the Jersey system ignore SSL certificate errors or not.
+     * Sets up the Jersey system ignore SSL certificate errors or not. A client that shares the Jersey Client
+     * of another client cannot change the setting, as it belongs to the Jersey Client.
      *
      * @param ignoreCertificateErrors if true will set up the Jersey system ignore SSL certificate errors
+     * @throws IllegalStateException if this client shares the Jersey Client of another client and the setting differs
      */
     public void setIgnoreCertificateErrors(boolean ignoreCertificateErrors) {
 
+        // The setting belongs to the Jersey Client, which is owned by the shared client
+        if (sharedClient != null) {
+            if (sharedClient.getIgnoreCertificateErrors() != ignoreCertificateErrors) {
+                throw new IllegalStateException("Cannot change the certificate settings of a client that shares the Jersey Client of another client");
+            }
+
+            return;
+        }
+
         if (this.ignoreCertificateErrors == ignoreCertificateErrors) {
             return;
         }
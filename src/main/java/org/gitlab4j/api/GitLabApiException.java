@@ -26,14 +26,51 @@ public class GitLabApiException extends Exception {
         this.message = message;
     }
 
+    /**
+     * Create a GitLabApiException instance with the specified message and HTTP status, used when
+     * a previously received error response is reported again without making the call.
+     *
+     * @param message the message for the exception
+     * @param httpStatus the HTTP status code of the error response
+     */
+    GitLabApiException(String message, int httpStatus) {
+        this(message, httpStatus, true);
+    }
+
+    /**
+     * Create a GitLabApiException instance with the specified message and HTTP status, optionally without
+     * capturing a stack trace, used for expected error responses such as a 404 for an Optional lookup.
+     *
+     * @param message the message for the exception
+     * @param httpStatus the HTTP status code of the error response
+     * @param writableStackTrace if false the stack trace is not captured
+     */
+    GitLabApiException(String message, int httpStatus, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.message = message;
+        this.httpStatus = httpStatus;
+        this.statusInfo = Response.Status.fromStatusCode(httpStatus);
+    }
+
     /**
      * Create a GitLabApiException instance based on the ClientResponse.
      * 
      * @param response the JAX-RS response that caused the exception
      */
     public GitLabApiException(Response response) {
+        this(response, true);
+    }
+
+    /**
+     * Create a GitLabApiException instance based on the ClientResponse, optionally without capturing a
+     * stack trace, used for expected error responses such as a 404 for an Optional lookup.
+     *
+     * @param response the JAX-RS response that caused the exception
+     * @param writableStackTrace if false the stack trace is not captured
+     */
+    GitLabApiException(Response response, boolean writableStackTrace) {
 
-        super();
+        super(null, null, writableStackTrace, writableStackTrace);
         statusInfo = response.getStatusInfo();
         httpStatus = response.getStatus();
 
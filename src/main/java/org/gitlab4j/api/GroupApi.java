@@ -20,10 +20,31 @@ import org.gitlab4j.api.models.Visibility;
  */
 public class GroupApi extends AbstractApi {
 
+    private volatile EntityCache<Group> groupCache;
+
     public GroupApi(GitLabApi gitLabApi) {
         super(gitLabApi);
     }
 
+    /**
+     * Set the EntityCache consulted by {@link #getGroup(Integer)} and {@link #getGroup(String)} before looking up
+     * a group on the GitLab server, null disables group caching. Group caching is disabled by default.
+     *
+     * @param groupCache the EntityCache to use, or null to disable group caching
+     */
+    public void setGroupCache(EntityCache<Group> groupCache) {
+        this.groupCache = groupCache;
+    }
+
+    /**
+     * Get the EntityCache consulted by {@link #getGroup(Integer)} and {@link #getGroup(String)}.
+     *
+     * @return the EntityCache in use, or null if group caching is disabled
+     */
+    public EntityCache<Group> getGroupCache() {
+        return (groupCache);
+    }
+
     /**
      * Get a list of groups. (As user: my groups, as admin: all groups)
      *
@@ -303,8 +324,21 @@ public class GroupApi extends AbstractApi {
      * @throws GitLabApiException if any exception occurs
      */
     public Group getGroup(String groupPath) throws GitLabApiException {
-      Response response = get(Response.Status.OK, null, "groups", urlEncode(groupPath));
-      return (response.readEntity(Group.class));
+
+        EntityCache<Group> groupCache = this.groupCache;
+        if (groupCache != null && groupPath != null) {
+            return (groupCache.get(getApiClient().getIdentity(), groupPath, () -> fetchGroup(groupPath)));
+        }
+
+        return (fetchGroup(groupPath));
+    }
+
+    private Group fetchGroup(String groupPath) throws GitLabApiException {
+        return (get(groupRequest(groupPath)));
+    }
+
+    private EntityRequest<Group> groupRequest(String groupPath) throws GitLabApiException {
+        return (new EntityRequest<>(Group.class, null, "groups", urlEncode(groupPath)));
     }
 
     /**
@@ -316,8 +350,19 @@ public class GroupApi extends AbstractApi {
      * @return the Group for the specified group path as an Optional instance
      */
     public Optional<Group> getOptionalGroup(String groupPath) {
+
+        EntityCache<Group> groupCache = this.groupCache;
         try {
-            return (Optional.ofNullable(getGroup(groupPath)));
+
+            if (groupCache == null || groupPath == null) {
+                return (getOptional(groupRequest(groupPath)));
+            }
+
+            // Cache misses take the same path as uncached lookups
+            EntityRequest<Group> request = groupRequest(groupPath);
+            return (Optional.ofNullable(groupCache.get(getApiClient().getIdentity(), groupPath,
+                    () -> getExpectingNotFound(request))));
+
         } catch (GitLabApiException glae) {
             return (GitLabApi.createOptionalFromException(glae));
         }
@@ -400,6 +445,7 @@ public class GroupApi extends AbstractApi {
                 .withParam("request_access_enabled", requestAccessEnabled)
                 .withParam("parent_id", isApiVersion(ApiVersion.V3) ? null : parentId);
         Response response = put(Response.Status.OK, formData.asMap(), "groups", groupId);
+        invalidateCachedGroup(groupId);
         return (response.readEntity(Group.class));
     }
 
@@ -479,6 +525,7 @@ public class GroupApi extends AbstractApi {
                 .withParam("parent_id", parentId)
                 .withParam("shared_runners_minutes_limit", sharedRunnersMinutesLimit);
         Response response = put(Response.Status.OK, formData.asMap(), "groups", groupId);
+        invalidateCachedGroup(groupId);
         return (response.readEntity(Group.class));
     }
 
@@ -498,6 +545,15 @@ public class GroupApi extends AbstractApi {
 
         Response.Status expectedStatus = (isApiVersion(ApiVersion.V3) ? Response.Status.OK : Response.Status.NO_CONTENT);
         delete(expectedStatus, null, "groups", groupId);
+        invalidateCachedGroup(groupId);
+    }
+
+    // Removes the group from the group cache, under its ID and its paths
+    private void invalidateCachedGroup(Integer groupId) {
+        EntityCache<Group> groupCache = this.groupCache;
+        if (groupCache != null && groupId != null) {
+            groupCache.invalidateIf(group -> groupId.equals(group.getId()));
+        }
     }
 
     /**
@@ -567,8 +623,7 @@ public class GroupApi extends AbstractApi {
      * @throws GitLabApiException if any exception occurs
      */
     public Member getMember(int groupId, int userId) throws GitLabApiException {
-        Response response = get(Response.Status.OK, getDefaultPerPageParam(), "groups", groupId, "members", userId);
-        return (response.readEntity(new GenericType<Member>() {}));
+        return (get(memberRequest(groupId, userId)));
     }
 
     /**
@@ -581,11 +636,11 @@ public class GroupApi extends AbstractApi {
      * @return a member viewable by the authenticated user as an Optional instance
      */
     public Optional<Member> getOptionalMember(int groupId, int userId) {
-        try {
-            return (Optional.ofNullable(getMember(groupId, userId)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
-        }
+        return (getOptional(memberRequest(groupId, userId)));
+    }
+
+    private EntityRequest<Member> memberRequest(int groupId, int userId) {
+        return (new EntityRequest<>(Member.class, getDefaultPerPageParam(), "groups", groupId, "members", userId));
     }
 
     /**
@@ -1,20 +1,30 @@
 
 package org.gitlab4j.api;
 
+import java.util.logging.Logger;
+
 import javax.servlet.http.HttpServletRequest;
 
+import org.gitlab4j.api.utils.SecretTokenVerifier;
+
 /**
  * This class provides a base class handler for processing GitLab Web Hook and System Hook callouts.
  */
 public abstract class HookManager {
 
-    private String secretToken;
+    /** The HTTP header GitLab uses to send the secret token with a hook callout. */
+    public static final String X_GITLAB_TOKEN_HEADER = "X-Gitlab-Token";
+
+    /** The HTTP header GitLab uses to send the event name with a hook callout. */
+    public static final String X_GITLAB_EVENT_HEADER = "X-Gitlab-Event";
+
+    private volatile SecretTokenVerifier secretTokenVerifier;
 
     /**
      * Create a HookManager to handle GitLab hook events.
      */
     public HookManager() {
-        this.secretToken = null;
+        this.secretTokenVerifier = null;
     }
 
     /**
@@ -24,7 +34,7 @@ public abstract class HookManager {
      * @param secretToken the secret token to verify against
      */
     public HookManager(String secretToken) {
-        this.secretToken = secretToken;
+        setSecretToken(secretToken);
     }
 
     /**
@@ -33,23 +43,36 @@ public abstract class HookManager {
      * @param secretToken the secret token to verify against
      */
     public void setSecretToken(String secretToken) {
-        this.secretToken = secretToken;
+        this.secretTokenVerifier = (secretToken != null ? new SecretTokenVerifier(secretToken) : null);
+    }
+
+    /**
+     * Set the secret tokens that received hook events should be validated against, a received
+     * secret token is valid if it matches any of them. This allows the secret token to be
+     * rotated without rejecting hook events that are still sent with the old token.
+     *
+     * @param secretTokens the secret tokens to verify against, null or empty disables validation
+     */
+    public void setSecretTokens(String... secretTokens) {
+        SecretTokenVerifier verifier = new SecretTokenVerifier(secretTokens);
+        this.secretTokenVerifier = (verifier.isEmpty() ? null : verifier);
     }
 
     /**
-     * Validate the provided secret token against the reference secret token. Returns true if
+     * Validate the provided secret token against the reference secret tokens. Returns true if
      * the secret token is valid or there is no reference secret token to validate against,
-     * otherwise returns false.
+     * otherwise returns false. The comparison is done in constant time.
      * 
      * @param secretToken the token to validate
      * @return true if the secret token is valid or there is no reference secret token to validate against
      */
     public boolean isValidSecretToken(String secretToken) {
-        return (this.secretToken == null || this.secretToken.equals(secretToken) ? true : false);
+        SecretTokenVerifier verifier = this.secretTokenVerifier;
+        return (verifier == null || verifier.matches(secretToken));
     }
 
     /**
-     * Validate the provided secret token found in the HTTP header against the reference secret token.
+     * Validate the provided secret token found in the HTTP header against the reference secret tokens.
      * Returns true if the secret token is valid or there is no reference secret token to validate
      * against, otherwise returns false.
      * 
@@ -58,14 +81,31 @@ public abstract class HookManager {
      */
     public boolean isValidSecretToken(HttpServletRequest request) {
 
-        if (this.secretToken != null) {
-            String secretToken = request.getHeader("X-Gitlab-Token");
-            return (isValidSecretToken(secretToken));
+        SecretTokenVerifier verifier = this.secretTokenVerifier;
+        if (verifier != null) {
+            String secretToken = request.getHeader(X_GITLAB_TOKEN_HEADER);
+            return (verifier.matches(secretToken));
         }
 
         return (true);
     }
 
+    /**
+     * Validates the provided secret token against the reference secret tokens, throwing a
+     * GitLabApiException with a 401 (Unauthorized) status if it is not valid.
+     *
+     * @param secretToken the token to validate
+     * @throws GitLabApiException if the secret token is not valid
+     */
+    protected void checkSecretToken(String secretToken) throws GitLabApiException {
+
+        if (!isValidSecretToken(secretToken)) {
+            String message = "X-Gitlab-Token mismatch!";
+            Logger.getLogger(getClass().getName()).warning(message);
+            throw new GitLabApiException(message, 401);
+        }
+    }
+
     /**
      * Parses and verifies an Event instance from the HTTP request and
      * fires it off to the registered listeners.
@@ -74,4 +114,25 @@ public abstract class HookManager {
      * @throws GitLabApiException if the parsed event is not supported
      */
     public abstract void handleEvent(HttpServletRequest request) throws GitLabApiException;
-}
\ No newline at end of file
+
+    /**
+     * Parses and verifies an Event instance from the raw POST data of a hook callout and
+     * fires it off to the registered listeners. This allows hook callouts to be received
+     * without a servlet container, see {@link HookReceiver}. Implementations are expected to validate
+     * the secret token with {@link #checkSecretToken(String)}.
+     *
+     * The default implementation does not support raw hook callouts and always throws a GitLabApiException,
+     * subclasses that support them override this method.
+     *
+     * @param eventName the value of the X-Gitlab-Event header
+     * @param secretToken the value of the X-Gitlab-Token header, may be null
+     * @param data the buffer holding the raw POST data
+     * @param offset the offset in data of the first byte of the POST data
+     * @param length the number of bytes of POST data
+     * @throws GitLabApiException if the secret token is invalid or the parsed event is not supported
+     */
+    public void handleEvent(String eventName, String secretToken, byte[] data, int offset, int length) throws GitLabApiException {
+        checkSecretToken(secretToken);
+        throw new GitLabApiException(getClass().getSimpleName() + " does not support raw hook callouts");
+    }
+}
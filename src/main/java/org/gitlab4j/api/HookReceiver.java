@@ -0,0 +1,254 @@
+package org.gitlab4j.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * This class provides a lightweight, embeddable HTTP endpoint for receiving GitLab Web Hook and
+ * System Hook callouts without the need for a servlet container. It is built on the JDK's
+ * built-in HTTP server, and feeds the raw POST data directly into the
+ * {@link HookManager#handleEvent(String, String, byte[], int, int)} decoding path.
+ *
+ * <pre><code>
+ * WebHookManager webHookManager = new WebHookManager("my-secret-token");
+ * webHookManager.addListener(myListener);
+ * HookReceiver receiver = new HookReceiver(webHookManager, 8080, "/webhook");
+ * receiver.start();
+ * </code></pre>
+ */
+public class HookReceiver {
+
+    private final static Logger LOG = Logger.getLogger(HookReceiver.class.getName());
+
+    /** The default maximum size of a received hook payload, 16 MB. */
+    public static final int DEFAULT_MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+
+    /** The number of threads processing callouts when no Executor is provided. */
+    public static final int DEFAULT_THREAD_COUNT = 4;
+
+    private final HookManager hookManager;
+    private final InetSocketAddress address;
+    private final String contextPath;
+    private final Executor executor;
+    private int maxPayloadSize = DEFAULT_MAX_PAYLOAD_SIZE;
+    private HttpServer server;
+    private ExecutorService defaultExecutor;
+
+    /**
+     * Create a HookReceiver that will listen on the specified port on all interfaces
+     * and hand received hook callouts to the provided HookManager.
+     *
+     * @param hookManager the HookManager (WebHookManager or SystemHookManager) that will process the callouts
+     * @param port the port to listen on
+     * @param contextPath the URL path that hook callouts will be POSTed to, for example "/webhook"
+     */
+    public HookReceiver(HookManager hookManager, int port, String contextPath) {
+        this(hookManager, new InetSocketAddress(port), contextPath, null);
+    }
+
+    /**
+     * Create a HookReceiver that will listen on the specified address and hand received hook
+     * callouts to the provided HookManager.
+     *
+     * @param hookManager the HookManager (WebHookManager or SystemHookManager) that will process the callouts
+     * @param address the address to listen on
+     * @param contextPath the URL path that hook callouts will be POSTed to, for example "/webhook"
+     * @param executor the Executor used to process requests, if null a pool of {@link #DEFAULT_THREAD_COUNT} threads
+     * is created on start and shut down on stop
+     */
+    public HookReceiver(HookManager hookManager, InetSocketAddress address, String contextPath, Executor executor) {
+
+        if (hookManager == null) {
+            throw new IllegalArgumentException("hookManager cannot be null");
+        }
+
+        this.hookManager = hookManager;
+        this.address = address;
+        this.contextPath = (contextPath == null || contextPath.trim().length() == 0 ? "/" : contextPath.trim());
+        this.executor = executor;
+    }
+
+    /**
+     * Get the maximum size in bytes of a hook payload that will be accepted.
+     *
+     * @return the maximum size in bytes of a hook payload that will be accepted
+     */
+    public int getMaxPayloadSize() {
+        return (maxPayloadSize);
+    }
+
+    /**
+     * Set the maximum size in bytes of a hook payload that will be accepted, larger
+     * payloads are rejected with a 413 status.
+     *
+     * @param maxPayloadSize the maximum size in bytes of a hook payload that will be accepted
+     */
+    public void setMaxPayloadSize(int maxPayloadSize) {
+        this.maxPayloadSize = maxPayloadSize;
+    }
+
+    /**
+     * Starts listening for hook callouts.
+     *
+     * @throws IOException if the server cannot be bound to the configured address
+     */
+    public synchronized void start() throws IOException {
+
+        if (server != null) {
+            return;
+        }
+
+        server = HttpServer.create(address, 0);
+        server.createContext(contextPath, new HookHandler());
+        if (executor != null) {
+            server.setExecutor(executor);
+        } else {
+            defaultExecutor = Executors.newFixedThreadPool(DEFAULT_THREAD_COUNT);
+            server.setExecutor(defaultExecutor);
+        }
+
+        server.start();
+        LOG.info("HookReceiver listening on " + server.getAddress() + contextPath);
+    }
+
+    /**
+     * Stops listening for hook callouts, waiting up to delaySeconds for in-progress callouts to complete.
+     *
+     * @param delaySeconds the maximum number of seconds to wait for in-progress callouts to complete
+     */
+    public synchronized void stop(int delaySeconds) {
+
+        if (server != null) {
+            server.stop(delaySeconds);
+            server = null;
+        }
+
+        if (defaultExecutor != null) {
+            defaultExecutor.shutdown();
+            defaultExecutor = null;
+        }
+    }
+
+    /**
+     * Get the address this receiver is bound to, will return null if the receiver is not started.
+     *
+     * @return the address this receiver is bound to, or null if the receiver is not started
+     */
+    public synchronized InetSocketAddress getAddress() {
+        return (server != null ? server.getAddress() : null);
+    }
+
+    /**
+     * Reads the request body into a byte array sized from the Content-Length header when present,
+     * avoiding any intermediate buffering.
+     */
+    private byte[] readPayload(HttpExchange exchange, int[] length) throws IOException {
+
+        Headers headers = exchange.getRequestHeaders();
+        String contentLength = headers.getFirst("Content-Length");
+        int expected = -1;
+        if (contentLength != null) {
+            try {
+                expected = Integer.parseInt(contentLength.trim());
+            } catch (NumberFormatException ignore) {
+            }
+        }
+
+        if (expected > maxPayloadSize) {
+            return (null);
+        }
+
+        byte[] buffer = new byte[expected >= 0 ? expected : 8192];
+        int count = 0;
+        try (InputStream in = exchange.getRequestBody()) {
+
+            int read;
+            while (true) {
+
+                if (count == buffer.length) {
+
+                    if (expected >= 0) {
+                        break;
+                    }
+
+                    if (buffer.length >= maxPayloadSize) {
+                        return (null);
+                    }
+
+                    buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, maxPayloadSize));
+                }
+
+                if ((read = in.read(buffer, count, buffer.length - count)) < 0) {
+                    break;
+                }
+
+                count += read;
+            }
+        }
+
+        length[0] = count;
+        return (buffer);
+    }
+
+    private void sendStatus(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    /**
+     * The HttpHandler that validates and dispatches the hook callouts.
+     */
+    private class HookHandler implements HttpHandler {
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+
+            try {
+
+                if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                    sendStatus(exchange, 405);
+                    return;
+                }
+
+                // Reject callouts with an invalid secret token before reading or allocating for the payload
+                Headers headers = exchange.getRequestHeaders();
+                String secretToken = headers.getFirst(HookManager.X_GITLAB_TOKEN_HEADER);
+                if (!hookManager.isValidSecretToken(secretToken)) {
+                    LOG.warning("X-Gitlab-Token mismatch!");
+                    sendStatus(exchange, 401);
+                    return;
+                }
+
+                int[] length = new int[1];
+                byte[] payload = readPayload(exchange, length);
+                if (payload == null) {
+                    LOG.warning("Hook payload exceeds maximum size of " + maxPayloadSize + " bytes");
+                    sendStatus(exchange, 413);
+                    return;
+                }
+
+                String eventName = headers.getFirst(HookManager.X_GITLAB_EVENT_HEADER);
+                hookManager.handleEvent(eventName, secretToken, payload, 0, length[0]);
+                sendStatus(exchange, 200);
+
+            } catch (GitLabApiException glae) {
+                sendStatus(exchange, glae.getHttpStatus() == 401 ? 401 : 400);
+            } catch (RuntimeException re) {
+                LOG.log(Level.WARNING, "Error processing hook callout", re);
+                sendStatus(exchange, 500);
+            }
+        }
+    }
+}
@@ -139,13 +139,7 @@ public class IssuesApi extends AbstractApi implements Constants {
      * @throws GitLabApiException if any exception occurs
      */
     public Issue getIssue(Integer projectId, Integer issueId) throws GitLabApiException {
-        
-        if (projectId == null) {
-            throw new RuntimeException("projectId cannot be null");
-        }
-
-        Response response = get(Response.Status.OK, getDefaultPerPageParam(), "projects", projectId, "issues", issueId);
-        return (response.readEntity(Issue.class));
+        return (get(issueRequest(projectId, issueId)));
     }
 
     /**
@@ -158,11 +152,16 @@ public class IssuesApi extends AbstractApi implements Constants {
      * @return the specified Issue as an Optional instance
      */
     public Optional<Issue> getOptionalIssue(Integer projectId, Integer issueId) {
-        try {
-            return (Optional.ofNullable(getIssue(projectId, issueId)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
+        return (getOptional(issueRequest(projectId, issueId)));
+    }
+
+    private EntityRequest<Issue> issueRequest(Integer projectId, Integer issueId) {
+
+        if (projectId == null) {
+            throw new RuntimeException("projectId cannot be null");
         }
+
+        return (new EntityRequest<>(Issue.class, getDefaultPerPageParam(), "projects", projectId, "issues", issueId));
     }
 
     /**
@@ -490,17 +489,7 @@ public class IssuesApi extends AbstractApi implements Constants {
      * @throws GitLabApiException if any exception occurs
      */
     public TimeStats getTimeTrackingStats(Integer projectId, Integer issueIid) throws GitLabApiException {
-
-       if (projectId == null) {
-            throw new RuntimeException("projectId cannot be null");
-        }
-
-        if (issueIid == null) {
-            throw new RuntimeException("issue IID cannot be null");
-        }
-
-        Response response = get(Response.Status.OK, new GitLabApiForm().asMap(), "projects", projectId, "issues", issueIid, "time_stats");
-        return (response.readEntity(TimeStats.class));
+        return (get(timeTrackingStatsRequest(projectId, issueIid)));
     }
 
     /**
@@ -513,10 +502,19 @@ public class IssuesApi extends AbstractApi implements Constants {
      * @return a TimeStats as an Optional instance
      */
     public Optional<TimeStats> getOptionalTimeTrackingStats(Integer projectId, Integer issueIid) {
-        try {
-            return (Optional.ofNullable(getTimeTrackingStats(projectId, issueIid)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
+        return (getOptional(timeTrackingStatsRequest(projectId, issueIid)));
+    }
+
+    private EntityRequest<TimeStats> timeTrackingStatsRequest(Integer projectId, Integer issueIid) {
+
+        if (projectId == null) {
+            throw new RuntimeException("projectId cannot be null");
         }
+
+        if (issueIid == null) {
+            throw new RuntimeException("issue IID cannot be null");
+        }
+
+        return (new EntityRequest<>(TimeStats.class, new GitLabApiForm().asMap(), "projects", projectId, "issues", issueIid, "time_stats"));
     }
 }
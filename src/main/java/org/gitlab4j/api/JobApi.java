@@ -3,8 +3,6 @@ package org.gitlab4j.api;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +13,7 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
 import org.gitlab4j.api.models.Job;
+import org.gitlab4j.api.utils.ZipExtractor;
 
 /**
  * This class provides an entry point to all the GitLab API job calls.
@@ -131,8 +130,7 @@ public class JobApi extends AbstractApi implements Constants {
      * @throws GitLabApiException if any exception occurs during execution
      */
     public Job getJob(int projectId, int jobId) throws GitLabApiException {
-        Response response = get(Response.Status.OK, null, "projects", projectId, "jobs", jobId);
-        return (response.readEntity(Job.class));
+        return (get(jobRequest(projectId, jobId)));
     }
 
     /**
@@ -145,11 +143,11 @@ public class JobApi extends AbstractApi implements Constants {
      * @return a single job for the specified project ID as an Optional intance
      */
     public Optional<Job> getOptionalJob(int projectId, int jobId) {
-        try {
-            return (Optional.ofNullable(getJob(projectId, jobId)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
-        }
+        return (getOptional(jobRequest(projectId, jobId)));
+    }
+
+    private EntityRequest<Job> jobRequest(int projectId, int jobId) {
+        return (new EntityRequest<>(Job.class, null, "projects", projectId, "jobs", jobId));
     }
 
     /**
@@ -167,26 +165,29 @@ public class JobApi extends AbstractApi implements Constants {
      * @throws GitLabApiException if any exception occurs
      */
     public File downloadArtifactsFile(Integer projectId, String ref, String jobName, File directory) throws GitLabApiException {
+        return (downloadArtifactsFile(projectId, ref, jobName, directory, null));
+    }
 
+    /**
+     * Download the artifacts file from the given reference name and job provided the job finished successfully.
+     * The file will be saved to the specified directory. If the file already exists in the directory it will
+     * be overwritten. The file is downloaded to a temporary file, resumed after connection failures, and
+     * renamed once it is complete.
+     *
+     * GET /projects/:id/jobs/artifacts/:ref_name/download?job=name
+     *
+     * @param projectId the ID of the project
+     * @param ref the ref from a repository
+     * @param jobName the name of the job to download the artifacts for
+     * @param directory the File instance of the directory to save the file to, if null will use "java.io.tmpdir"
+     * @param options the DownloadOptions controlling retries and parallel segments, if null the defaults are used
+     * @return a File instance pointing to the download of the specified artifacts file
+     * @throws GitLabApiException if any exception occurs
+     */
+    public File downloadArtifactsFile(Integer projectId, String ref, String jobName, File directory, DownloadOptions options) throws GitLabApiException {
         Form formData = new GitLabApiForm().withParam("job", jobName, true);
-        Response response = getWithAccepts(Response.Status.OK, formData.asMap(), MediaType.MEDIA_TYPE_WILDCARD,
-                "projects", projectId, "jobs", "artifacts", ref, "download");
-
-        try {
-
-            if (directory == null)
-                directory = new File(System.getProperty("java.io.tmpdir"));
-
-            String filename = jobName + "-artifacts.zip";
-            File file = new File(directory, filename);
-
-            InputStream in = response.readEntity(InputStream.class);
-            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
-            return (file);
-
-        } catch (IOException ioe) {
-            throw new GitLabApiException(ioe);
-        }
+        return (new RangedDownloader(this, options).download(directory, response -> jobName + "-artifacts.zip",
+                formData.asMap(), "projects", projectId, "jobs", "artifacts", ref, "download"));
     }
 
     /**
@@ -209,6 +210,55 @@ public class JobApi extends AbstractApi implements Constants {
         return (response.readEntity(InputStream.class));
     }
 
+    /**
+     * Download the artifacts file from the given reference name and job provided the job finished successfully,
+     * and extract the entries selected by the ZipExtractor to the specified directory. The archive is extracted
+     * as it is downloaded, it is never saved to disk. Existing files in the directory will be overwritten.
+     *
+     * GET /projects/:id/jobs/artifacts/:ref_name/download?job=name
+     *
+     * @param projectId the ID of the project
+     * @param ref the ref from a repository
+     * @param jobName the name of the job to download the artifacts for
+     * @param extractor the ZipExtractor that selects the entries to extract, if null all entries are extracted
+     * @param directory the File instance of the directory to extract the entries to
+     * @return a List of the extracted files
+     * @throws GitLabApiException if any exception occurs
+     */
+    public List<File> extractArtifactsFile(Integer projectId, String ref, String jobName, ZipExtractor extractor, File directory) throws GitLabApiException {
+
+        try (InputStream in = downloadArtifactsFile(projectId, ref, jobName)) {
+            return ((extractor != null ? extractor : new ZipExtractor()).extract(in, directory));
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+    }
+
+    /**
+     * Download the artifacts file from the given reference name and job provided the job finished successfully,
+     * and pass the content of the entries selected by the ZipExtractor to the handler. The archive is extracted
+     * as it is downloaded, it is never saved to disk.
+     *
+     * GET /projects/:id/jobs/artifacts/:ref_name/download?job=name
+     *
+     * @param projectId the ID of the project
+     * @param ref the ref from a repository
+     * @param jobName the name of the job to download the artifacts for
+     * @param extractor the ZipExtractor that selects the entries to extract, if null all entries are extracted
+     * @param handler the EntryHandler that is passed the content of each selected entry
+     * @return the number of entries passed to the handler
+     * @throws GitLabApiException if any exception occurs
+     */
+    public int extractArtifactsFile(Integer projectId, String ref, String jobName, ZipExtractor extractor,
+            ZipExtractor.EntryHandler handler) throws GitLabApiException {
+
+        try (InputStream in = downloadArtifactsFile(projectId, ref, jobName)) {
+            return ((extractor != null ? extractor : new ZipExtractor()).extract(in, handler));
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+    }
+
     /**
      * Get a trace of a specific job of a project
      *
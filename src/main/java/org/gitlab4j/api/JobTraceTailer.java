@@ -0,0 +1,302 @@
+package org.gitlab4j.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.ws.rs.NotAuthorizedException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.gitlab4j.api.models.Job;
+import org.gitlab4j.api.models.JobStatus;
+
+/**
+ * This class follows the trace (log) of a job. It keeps track of how many bytes of the trace have been
+ * read and only requests the bytes appended since the last poll with an HTTP Range request, passing
+ * the new text to a consumer. While a job is producing output the trace is polled at the minimum
+ * interval, the interval doubles up to the maximum interval while there is no new output, and
+ * following stops once the job has finished and the rest of the trace has been read.
+ *
+ * <pre><code>
+ * JobTraceTailer tailer = new JobTraceTailer(gitLabApi.getJobApi(), projectId, jobId);
+ * Job job = tailer.follow(System.out::print);
+ * </code></pre>
+ *
+ * To follow many jobs with few threads use {@link #followAsync(ScheduledExecutorService, Consumer)},
+ * which schedules each poll on the provided executor instead of blocking a thread per job.
+ */
+public class JobTraceTailer {
+
+    /** The default minimum interval between polls in milliseconds. */
+    public static final long DEFAULT_MIN_POLL_INTERVAL_MILLIS = 1000;
+
+    /** The default maximum interval between polls in milliseconds. */
+    public static final long DEFAULT_MAX_POLL_INTERVAL_MILLIS = 30000;
+
+    private static final int RANGE_NOT_SATISFIABLE = 416;
+
+    private final JobApi jobApi;
+    private final int projectId;
+    private final int jobId;
+    private long minPollIntervalMillis = DEFAULT_MIN_POLL_INTERVAL_MILLIS;
+    private long maxPollIntervalMillis = DEFAULT_MAX_POLL_INTERVAL_MILLIS;
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    // Holds the bytes of a UTF-8 character that is split across two polls
+    private final ByteBuffer pending = ByteBuffer.allocate(8);
+    private long offset;
+
+    // Whether the last poll read any new bytes, used to adapt the poll interval
+    private volatile boolean lastPollHadOutput;
+
+    /**
+     * Create a JobTraceTailer for the specified job, starting at the beginning of the trace.
+     *
+     * @param jobApi the JobApi instance to communicate through
+     * @param projectId the project ID that the job belongs to
+     * @param jobId the ID of the job to follow the trace of
+     */
+    public JobTraceTailer(JobApi jobApi, int projectId, int jobId) {
+        this.jobApi = jobApi;
+        this.projectId = projectId;
+        this.jobId = jobId;
+    }
+
+    /**
+     * Set the byte offset in the trace to continue from, for example to resume following a trace
+     * after a restart. Must be at a character boundary.
+     *
+     * @param offset the byte offset in the trace to continue from
+     * @return this JobTraceTailer instance
+     */
+    public JobTraceTailer withOffset(long offset) {
+        this.offset = Math.max(0, offset);
+        return (this);
+    }
+
+    /**
+     * Set the interval between polls while the job is producing output.
+     *
+     * @param minPollIntervalMillis the minimum interval between polls in milliseconds
+     * @return this JobTraceTailer instance
+     */
+    public JobTraceTailer withMinPollInterval(long minPollIntervalMillis) {
+        this.minPollIntervalMillis = Math.max(1, minPollIntervalMillis);
+        return (this);
+    }
+
+    /**
+     * Set the interval the polls back off to while the job is not producing output.
+     *
+     * @param maxPollIntervalMillis the maximum interval between polls in milliseconds
+     * @return this JobTraceTailer instance
+     */
+    public JobTraceTailer withMaxPollInterval(long maxPollIntervalMillis) {
+        this.maxPollIntervalMillis = Math.max(1, maxPollIntervalMillis);
+        return (this);
+    }
+
+    /**
+     * Get the number of bytes of the trace that have been read.
+     *
+     * @return the number of bytes of the trace that have been read
+     */
+    public synchronized long getOffset() {
+        return (offset);
+    }
+
+    /**
+     * Requests the bytes appended to the trace since the last poll and passes them to the consumer as text.
+     *
+     * GET /projects/:id/jobs/:id/trace
+     *
+     * @param consumer the Consumer that is passed the text appended to the trace, not called if nothing was appended
+     * @return the number of bytes appended to the trace since the last poll
+     * @throws GitLabApiException if any exception occurs
+     */
+    public synchronized long poll(Consumer<String> consumer) throws GitLabApiException {
+
+        Response response;
+        try {
+            URL url = jobApi.getApiClient().getApiUrl("projects", projectId, "jobs", jobId, "trace");
+            response = jobApi.getApiClient().getRange(null, url, MediaType.MEDIA_TYPE_WILDCARD, offset, -1);
+        } catch (Exception e) {
+            throw jobApi.handle(e);
+        }
+
+        try {
+
+            int status = response.getStatus();
+            if (status == RANGE_NOT_SATISFIABLE) {
+                return (0);
+            } else if (status != Response.Status.OK.getStatusCode() && status != Response.Status.PARTIAL_CONTENT.getStatusCode()) {
+                throw new GitLabApiException(response);
+            }
+
+            if (!jobApi.getApiClient().validateSecretToken(response)) {
+                throw new GitLabApiException(new NotAuthorizedException("Invalid secret token in response."));
+            }
+
+            // The server sent the complete trace, skip the part that was already read
+            long skip = (status == Response.Status.OK.getStatusCode() ? offset : 0);
+            return (read(response.readEntity(InputStream.class), skip, consumer));
+
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Follows the trace until the job has finished, passing the appended text to the consumer. Blocks the
+     * calling thread until the job has finished.
+     *
+     * @param consumer the Consumer that is passed the text appended to the trace
+     * @return the finished Job
+     * @throws GitLabApiException if any exception occurs
+     */
+    public Job follow(Consumer<String> consumer) throws GitLabApiException {
+
+        long interval = minPollIntervalMillis;
+        while (true) {
+
+            Job job = pollOnce(consumer);
+            if (job != null) {
+                return (job);
+            }
+
+            interval = nextInterval(interval);
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new GitLabApiException(ie);
+            }
+        }
+    }
+
+    /**
+     * Follows the trace until the job has finished without blocking the calling thread, each poll is
+     * scheduled on the provided executor. The consumer is called from the executor's threads.
+     *
+     * @param executor the ScheduledExecutorService to schedule the polls on
+     * @param consumer the Consumer that is passed the text appended to the trace
+     * @return a CompletableFuture that is completed with the finished Job, or exceptionally if a poll fails
+     */
+    public CompletableFuture<Job> followAsync(ScheduledExecutorService executor, Consumer<String> consumer) {
+        CompletableFuture<Job> future = new CompletableFuture<>();
+        executor.execute(() -> schedulePoll(executor, consumer, future, minPollIntervalMillis));
+        return (future);
+    }
+
+    private void schedulePoll(ScheduledExecutorService executor, Consumer<String> consumer, CompletableFuture<Job> future, long interval) {
+
+        if (future.isDone()) {
+            return;
+        }
+
+        try {
+
+            Job job = pollOnce(consumer);
+            if (job != null) {
+                future.complete(job);
+                return;
+            }
+
+            long nextInterval = nextInterval(interval);
+            executor.schedule(() -> schedulePoll(executor, consumer, future, nextInterval), nextInterval, TimeUnit.MILLISECONDS);
+
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Polls the trace, returning the Job if it has finished and the complete trace has been read, otherwise null.
+     */
+    private Job pollOnce(Consumer<String> consumer) throws GitLabApiException {
+
+        lastPollHadOutput = (poll(consumer) > 0);
+        if (lastPollHadOutput) {
+            return (null);
+        }
+
+        // Only check the status when there was no output, a job producing output is still running
+        Job job = jobApi.getJob(projectId, jobId);
+        if (job.getStatus() == JobStatus.RUNNING || job.getStatus() == JobStatus.PENDING) {
+            return (null);
+        }
+
+        // Read anything appended between the last poll and the job finishing
+        while (poll(consumer) > 0) {
+        }
+
+        return (job);
+    }
+
+    private long nextInterval(long interval) {
+        return (lastPollHadOutput ? minPollIntervalMillis : Math.min(maxPollIntervalMillis, Math.max(minPollIntervalMillis, interval * 2)));
+    }
+
+    /**
+     * Reads the new bytes, decoding them to text while keeping any incomplete character for the next poll.
+     */
+    private long read(InputStream in, long skip, Consumer<String> consumer) throws IOException {
+
+        try (InputStream input = in) {
+
+            while (skip > 0) {
+                long skipped = input.skip(skip);
+                if (skipped <= 0) {
+                    if (input.read() < 0) {
+                        return (0);
+                    }
+
+                    skipped = 1;
+                }
+
+                skip -= skipped;
+            }
+
+            long count = 0;
+            StringBuilder text = new StringBuilder();
+            byte[] bytes = new byte[8192];
+            ByteBuffer buffer = ByteBuffer.allocate(bytes.length + pending.capacity());
+            CharBuffer chars = CharBuffer.allocate(buffer.capacity());
+            int read;
+            while ((read = input.read(bytes)) >= 0) {
+
+                count += read;
+                pending.flip();
+                buffer.clear();
+                buffer.put(pending).put(bytes, 0, read).flip();
+                pending.clear();
+
+                chars.clear();
+                decoder.decode(buffer, chars, false);
+                text.append(chars.flip());
+                pending.put(buffer);
+            }
+
+            offset += count;
+            if (text.length() > 0) {
+                consumer.accept(text.toString());
+            }
+
+            return (count);
+        }
+    }
+}
@@ -177,8 +177,7 @@ public class MergeRequestApi extends AbstractApi {
      * @throws GitLabApiException if any exception occurs
      */
     public MergeRequest getMergeRequest(Integer projectId, Integer mergeRequestIid) throws GitLabApiException {
-        Response response = get(Response.Status.OK, null, "projects", projectId, "merge_requests", mergeRequestIid);
-        return (response.readEntity(MergeRequest.class));
+        return (get(mergeRequestRequest(projectId, mergeRequestIid)));
     }
 
     /**
@@ -193,11 +192,11 @@ public class MergeRequestApi extends AbstractApi {
      * @return the specified MergeRequest as an Optional instance instance
      */
     public Optional<MergeRequest> getOptionalMergeRequest(Integer projectId, Integer mergeRequestIid) {
-        try {
-            return (Optional.ofNullable(getMergeRequest(projectId, mergeRequestIid)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
-        }
+        return (getOptional(mergeRequestRequest(projectId, mergeRequestIid)));
+    }
+
+    private EntityRequest<MergeRequest> mergeRequestRequest(Integer projectId, Integer mergeRequestIid) {
+        return (new EntityRequest<>(MergeRequest.class, null, "projects", projectId, "merge_requests", mergeRequestIid));
     }
 
     /**
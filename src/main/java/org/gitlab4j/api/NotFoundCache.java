@@ -0,0 +1,173 @@
+package org.gitlab4j.api;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.Response;
+
+/**
+ * This class provides a short lived cache of getOptional*() lookups that failed with a 404 (Not Found) status.
+ * When set on a {@link GitLabApi}, a getOptional*() lookup that recently failed with a 404 status returns an
+ * empty Optional again without a call to the GitLab server. This avoids repeated round trips when probing for
+ * entities that do not exist. Only the status and message of the 404 are cached, each cached result is reported
+ * with a GitLabApiException of its own. The get*() methods that throw on a 404 always call the server.
+ *
+ * <pre><code>
+ * gitLabApi.setNotFoundCache(new NotFoundCache());
+ * </code></pre>
+ *
+ * Requests are identified by their URL, query parameters, credentials and sudo user. Any successful
+ * POST, PUT or DELETE call made through the GitLabApi clears the cache, as it may have created the missing
+ * entity, changes made by others are seen once the cached results expire.
+ */
+public class NotFoundCache {
+
+    /** The default maximum number of cached results. */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    /** The default time in milliseconds a 404 result is cached, 30 seconds. */
+    public static final long DEFAULT_TTL_MILLIS = 30 * 1000L;
+
+    /** The request property holding the NotFoundCache to clear when a modifying call succeeds. */
+    static final String CACHE_PROPERTY = NotFoundCache.class.getName() + ".cache";
+
+    /** The response filter, registered with every Jersey Client, that clears the cache on successful modifying calls. */
+    static final ClientResponseFilter RESPONSE_FILTER = new ResponseFilter();
+
+    private static class ResponseFilter implements ClientResponseFilter {
+
+        @Override
+        public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+
+            Object cache = requestContext.getProperty(CACHE_PROPERTY);
+            if (cache instanceof NotFoundCache && !HttpMethod.GET.equals(requestContext.getMethod()) &&
+                    responseContext.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL) {
+                ((NotFoundCache)cache).clear();
+            }
+        }
+    }
+
+    private static class Entry {
+
+        private final int status;
+        private final String message;
+        private final long expiresAt;
+
+        Entry(int status, String message, long expiresAt) {
+            this.status = status;
+            this.message = message;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    // LRU ordered entries keyed by request key, guarded by itself
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Create a NotFoundCache with the default size and expiration time.
+     */
+    public NotFoundCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Create a NotFoundCache with the specified size and expiration time.
+     *
+     * @param maxSize the maximum number of cached results
+     * @param ttlMillis the time in milliseconds a 404 result is cached
+     */
+    public NotFoundCache(int maxSize, long ttlMillis) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = Math.max(0, ttlMillis);
+    }
+
+    /**
+     * Removes all the cached results.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the number of cached results, including expired results that have not been removed yet.
+     *
+     * @return the number of cached results
+     */
+    public int size() {
+        synchronized (entries) {
+            return (entries.size());
+        }
+    }
+
+    /**
+     * Get the number of requests that were answered from the cache.
+     *
+     * @return the number of requests that were answered from the cache
+     */
+    public long getHits() {
+        return (hits.sum());
+    }
+
+    /**
+     * Get a new GitLabApiException, without a stack trace, for the cached 404 result of the specified request.
+     *
+     * @param key the key of the request
+     * @return a GitLabApiException with the cached status and message, or null if the request is not cached
+     */
+    GitLabApiException get(String key) {
+
+        synchronized (entries) {
+
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return (null);
+            }
+
+            if (entry.expiresAt - System.currentTimeMillis() <= 0) {
+                entries.remove(key);
+                return (null);
+            }
+
+            hits.increment();
+            return (new GitLabApiException(entry.message, entry.status, false));
+        }
+    }
+
+    /**
+     * Caches the status and message of the exception of the specified request if it has a 404 status.
+     *
+     * @param key the key of the request
+     * @param exception the GitLabApiException the request failed with
+     */
+    void put(String key, GitLabApiException exception) {
+
+        if (ttlMillis <= 0 || exception.getHttpStatus() != Response.Status.NOT_FOUND.getStatusCode()) {
+            return;
+        }
+
+        Entry entry = new Entry(exception.getHttpStatus(), exception.getMessage(), System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+
+            entries.put(key, entry);
+
+            Iterator<String> iterator = entries.keySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -2,6 +2,8 @@ package org.gitlab4j.api;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -34,6 +36,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  *       }
  *   }
  * </pre> 
+ *
+ * <p>A Pager that uses keyset pagination follows the link to the next page returned by the server instead
+ * of requesting pages by number, which keeps deep pages as fast as the first one. Such a Pager only supports
+ * iterating forward with hasNext() and next(), and its total number of pages and items are unknown (-1).</p>
  * 
  * @param <T> the GitLab4J type contained in the List.
  */
@@ -47,6 +53,10 @@ public class Pager<T> implements Iterator<List<T>>, Constants {
     private List<String> pageParam = new ArrayList<>(1);
     private List<T> currentItems;
 
+    // The link to the next page when keyset pagination is used, null on the last page
+    private URL nextLink;
+    private boolean keyset;
+
     private AbstractApi api;
     private MultivaluedMap<String, String> queryParams;
     private Object[] pathArgs;
@@ -66,6 +76,23 @@ public class Pager<T> implements Iterator<List<T>>, Constants {
      * @throws GitLabApiException if any error occurs
      */
     Pager(AbstractApi api, Class<T> type, int itemsPerPage, MultivaluedMap<String, String> queryParams, Object... pathArgs) throws GitLabApiException {
+        this(api, type, itemsPerPage, false, queryParams, pathArgs);
+    }
+
+    /**
+     * Creates a Pager instance to access the API through the specified path and query parameters, using keyset
+     * pagination if keyset is true. The query parameters must hold the order_by and sort parameters the
+     * endpoint supports keyset pagination for.
+     * 
+     * @param api the AbstractApi implementation to communicate through
+     * @param type the GitLab4J type that will be contained in the List
+     * @param itemsPerPage items per page
+     * @param keyset if true keyset pagination is used instead of offset pagination
+     * @param queryParams HTTP query params
+     * @param pathArgs HTTP path arguments
+     * @throws GitLabApiException if any error occurs
+     */
+    Pager(AbstractApi api, Class<T> type, int itemsPerPage, boolean keyset, MultivaluedMap<String, String> queryParams, Object... pathArgs) throws GitLabApiException {
 
         javaType = mapper.getTypeFactory().constructCollectionType(List.class, type);
 
@@ -77,14 +104,21 @@ public class Pager<T> implements Iterator<List<T>>, Constants {
             queryParams.add(PER_PAGE_PARAM, Integer.toString(itemsPerPage));
         }
 
-        // Set the page param to 1
-        pageParam = new ArrayList<>();
-        pageParam.add("1");
-        queryParams.put(PAGE_PARAM, pageParam);
+        // Set the page param to 1, keyset pagination starts at the first page without one
+        if (keyset) {
+            queryParams.remove(PAGE_PARAM);
+            queryParams.putSingle(PAGINATION_PARAM, "keyset");
+        } else {
+            pageParam = new ArrayList<>();
+            pageParam.add("1");
+            queryParams.put(PAGE_PARAM, pageParam);
+        }
+
         Response response = api.get(Response.Status.OK, queryParams, pathArgs);
 
         try {
             currentItems = mapper.readValue((InputStream) response.getEntity(), javaType);
+            cacheProjects(api, currentItems);
         } catch (IOException e) {
             throw new GitLabApiException(e);
         }
@@ -92,9 +126,52 @@ public class Pager<T> implements Iterator<List<T>>, Constants {
         this.api = api;
         this.queryParams = queryParams;
         this.pathArgs = pathArgs;
-        this.itemsPerPage = getHeaderValue(response, PER_PAGE);
-        totalPages = getHeaderValue(response, TOTAL_PAGES_HEADER);
-        totalItems = getHeaderValue(response, TOTAL_HEADER);
+        this.keyset = keyset;
+        if (keyset) {
+            this.itemsPerPage = itemsPerPage;
+            totalPages = -1;
+            totalItems = -1;
+            nextLink = getNextLink(response);
+        } else {
+            this.itemsPerPage = getHeaderValue(response, PER_PAGE);
+            totalPages = getHeaderValue(response, TOTAL_PAGES_HEADER);
+            totalItems = getHeaderValue(response, TOTAL_HEADER);
+        }
+    }
+
+    /**
+     * Get the link to the next page from the Link header of the Response instance.
+     *
+     * @param response the Response instance to get the link from
+     * @return the URL of the next page, or null if there is no next page
+     * @throws GitLabApiException if the link is not a valid URL
+     */
+    private static URL getNextLink(Response response) throws GitLabApiException {
+
+        List<String> values = response.getStringHeaders().get(LINK_HEADER);
+        if (values == null) {
+            return (null);
+        }
+
+        // Link: <https://gitlab.example.com/api/v4/projects?id_after=42&...>; rel="next", <...>; rel="first"
+        for (String value : values) {
+            for (String link : value.split(",")) {
+
+                int start = link.indexOf('<');
+                int end = link.indexOf('>', start + 1);
+                if (start < 0 || end < 0 || !link.substring(end + 1).replace(" ", "").contains("rel=\"next\"")) {
+                    continue;
+                }
+
+                try {
+                    return (new URL(link.substring(start + 1, end).trim()));
+                } catch (MalformedURLException mue) {
+                    throw new GitLabApiException(mue);
+                }
+            }
+        }
+
+        return (null);
     }
 
     /**
@@ -119,6 +196,20 @@ public class Pager<T> implements Iterator<List<T>>, Constants {
         }
     }
 
+    /**
+     * Adds the Projects in the page to the ProjectIdCache, if one is set. Pages are read directly
+     * from the response stream so they are not seen by the cache's reader interceptor.
+     *
+     * @param api the AbstractApi implementation the page was read through
+     * @param items the items in the page
+     */
+    private static void cacheProjects(AbstractApi api, List<?> items) {
+        ProjectIdCache cache = api.getApiClient().getProjectIdCache();
+        if (cache != null) {
+            cache.putAll(items);
+        }
+    }
+
     /**
      * Sets the "page" query parameter.
      * 
@@ -138,10 +229,19 @@ public class Pager<T> implements Iterator<List<T>>, Constants {
         return (itemsPerPage);
     }
 
+    /**
+     * Returns true if this Pager uses keyset pagination, in which case it only supports iterating forward.
+     *
+     * @return true if this Pager uses keyset pagination
+     */
+    public boolean isKeyset() {
+        return (keyset);
+    }
+
     /**
      * Get the total number of pages returned by the GitLab API.
      *
-     * @return the total number of pages returned by the GitLab API
+     * @return the total number of pages returned by the GitLab API, -1 when keyset pagination is used
      */
     public int getTotalPages() {
         return (totalPages);
@@ -150,7 +250,7 @@ public class Pager<T> implements Iterator<List<T>>, Constants {
     /**
      * Get the total number of items (T instances) returned by the GitLab API.
      *
-     * @return the total number of items (T instances) returned by the GitLab API
+     * @return the total number of items (T instances) returned by the GitLab API, -1 when keyset pagination is used
      */
     public int getTotalItems() {
         return (totalItems);
@@ -172,7 +272,7 @@ public class Pager<T> implements Iterator<List<T>>, Constants {
      */
     @Override
     public boolean hasNext() {
-        return (currentPage < totalPages);
+        return (keyset ? currentPage == 0 || nextLink != null : currentPage < totalPages);
     }
 
     /**
@@ -247,6 +347,10 @@ public class Pager<T> implements Iterator<List<T>>, Constants {
      */
     public List<T> page(int pageNumber) {
 
+        if (keyset) {
+            return (keysetPage(pageNumber));
+        }
+
         if (pageNumber > totalPages) {
             throw new NoSuchElementException();
         } else if (pageNumber < 1) {
@@ -267,6 +371,50 @@ public class Pager<T> implements Iterator<List<T>>, Constants {
             setPageParam(pageNumber);
             Response response = api.get(Response.Status.OK, queryParams, pathArgs);
             currentItems = mapper.readValue((InputStream) response.getEntity(), javaType);
+            cacheProjects(api, currentItems);
+            currentPage = pageNumber;
+            return (currentItems);
+
+        } catch (GitLabApiException | IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the specified page of List when keyset pagination is used, which only supports the current
+     * and the next page.
+     *
+     * @param pageNumber the page to get
+     * @return the specified page of List
+     * @throws NoSuchElementException if the iteration has no more elements
+     * @throws UnsupportedOperationException if the page is neither the current nor the next page
+     * @throws RuntimeException if a GitLab API error occurs, will contain a wrapped GitLabApiException with the details of the error
+     */
+    private List<T> keysetPage(int pageNumber) {
+
+        if (pageNumber == currentPage && currentPage > 0) {
+            return (currentItems);
+        }
+
+        if (pageNumber != currentPage + 1) {
+            throw new UnsupportedOperationException("Keyset pagination only supports iterating forward");
+        }
+
+        if (currentPage == 0) {
+            currentPage = 1;
+            return (currentItems);
+        }
+
+        if (nextLink == null) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+
+            Response response = api.get(Response.Status.OK, null, nextLink);
+            currentItems = mapper.readValue((InputStream) response.getEntity(), javaType);
+            cacheProjects(api, currentItems);
+            nextLink = getNextLink(response);
             currentPage = pageNumber;
             return (currentItems);
 
@@ -52,10 +52,31 @@ import org.gitlab4j.api.models.Visibility;
  */
 public class ProjectApi extends AbstractApi implements Constants {
 
+    private volatile EntityCache<Project> projectCache;
+
     public ProjectApi(GitLabApi gitLabApi) {
         super(gitLabApi);
     }
 
+    /**
+     * Set the EntityCache consulted by {@link #getProject(Integer)} and {@link #getProject(String, String)} before
+     * looking up a project on the GitLab server, null disables project caching. Project caching is disabled by default.
+     *
+     * @param projectCache the EntityCache to use, or null to disable project caching
+     */
+    public void setProjectCache(EntityCache<Project> projectCache) {
+        this.projectCache = projectCache;
+    }
+
+    /**
+     * Get the EntityCache consulted by {@link #getProject(Integer)} and {@link #getProject(String, String)}.
+     *
+     * @return the EntityCache in use, or null if project caching is disabled
+     */
+    public EntityCache<Project> getProjectCache() {
+        return (projectCache);
+    }
+
     /**
      * Get a list of projects accessible by the authenticated user.
      *
@@ -97,6 +118,27 @@ public class ProjectApi extends AbstractApi implements Constants {
         return (new Pager<Project>(this, Project.class, itemsPerPage, null, "projects"));
     }
 
+    /**
+     * Get a Pager instance of projects accessible by the authenticated user, ordered by ascending ID.
+     * When the server supports it the Pager uses keyset pagination, which stays fast for any number
+     * of projects, otherwise it falls back to offset pagination.
+     *
+     * GET /projects
+     *
+     * @param itemsPerPage the number of Project instances that will be fetched per page
+     * @return a Pager instance of projects accessible by the authenticated user, ordered by ascending ID
+     * @throws GitLabApiException if any exception occurs
+     */
+    public Pager<Project> getProjectsInIdOrder(int itemsPerPage) throws GitLabApiException {
+
+        GitLabApiForm formData = new GitLabApiForm()
+                .withParam("order_by", ProjectOrderBy.ID)
+                .withParam("sort", SortOrder.ASC);
+
+        boolean keyset = getServerCapabilities().supports(ServerCapabilities.KEYSET_PAGINATION);
+        return (new Pager<Project>(this, Project.class, itemsPerPage, keyset, formData.asMap(), "projects"));
+    }
+
     /**
      * Get a list of projects accessible by the authenticated user and matching the supplied filter parameters.
      * All filter parameters are optional.
@@ -473,8 +515,21 @@ public class ProjectApi extends AbstractApi implements Constants {
      * @throws GitLabApiException if any exception occurs
      */
     public Project getProject(Integer projectId) throws GitLabApiException {
-        Response response = get(Response.Status.OK, null, "projects", projectId);
-        return (response.readEntity(Project.class));
+
+        EntityCache<Project> projectCache = this.projectCache;
+        if (projectCache != null && projectId != null) {
+            return (projectCache.get(getApiClient().getIdentity(), projectId, () -> fetchProject(projectId)));
+        }
+
+        return (fetchProject(projectId));
+    }
+
+    private Project fetchProject(Integer projectId) throws GitLabApiException {
+        return (get(projectRequest(projectId)));
+    }
+
+    private EntityRequest<Project> projectRequest(Integer projectId) {
+        return (new EntityRequest<>(Project.class, null, "projects", projectId));
     }
 
     /**
@@ -486,8 +541,16 @@ public class ProjectApi extends AbstractApi implements Constants {
      * @return an Optional instance with the specified project as a value
      */
     public Optional<Project> getOptionalProject(Integer projectId) {
+
+        EntityCache<Project> projectCache = this.projectCache;
+        if (projectCache == null || projectId == null) {
+            return (getOptional(projectRequest(projectId)));
+        }
+
+        // Cache misses take the same path as uncached lookups
         try {
-            return (Optional.ofNullable(getProject(projectId)));
+            return (Optional.ofNullable(projectCache.get(getApiClient().getIdentity(), projectId,
+                    () -> getExpectingNotFound(projectRequest(projectId)))));
         } catch (GitLabApiException glae) {
             return (GitLabApi.createOptionalFromException(glae));
         }
@@ -513,6 +576,16 @@ public class ProjectApi extends AbstractApi implements Constants {
             throw new RuntimeException("project cannot be null");
         }
 
+        EntityCache<Project> projectCache = this.projectCache;
+        if (projectCache != null) {
+            return (projectCache.get(getApiClient().getIdentity(), namespace + "/" + project, () -> fetchProject(namespace, project)));
+        }
+
+        return (fetchProject(namespace, project));
+    }
+
+    private Project fetchProject(String namespace, String project) throws GitLabApiException {
+
         String projectPath = null;
         try {
             projectPath = URLEncoder.encode(namespace + "/" + project, "UTF-8");
@@ -907,6 +980,7 @@ public class ProjectApi extends AbstractApi implements Constants {
         }
 
         Response response = putWithFormData(Response.Status.OK, formData, "projects", id);
+        invalidateCachedProject(id);
         return (response.readEntity(Project.class));
     }
 
@@ -926,6 +1000,15 @@ public class ProjectApi extends AbstractApi implements Constants {
 
         Response.Status expectedStatus = (isApiVersion(ApiVersion.V3) ? Response.Status.OK : Response.Status.ACCEPTED);
         delete(expectedStatus, null, "projects", projectId);
+        invalidateCachedProject(projectId);
+    }
+
+    // Removes the project from the project cache, under its ID and its paths
+    private void invalidateCachedProject(Integer projectId) {
+        EntityCache<Project> projectCache = this.projectCache;
+        if (projectCache != null) {
+            projectCache.invalidateIf(project -> projectId.equals(project.getId()));
+        }
     }
 
     /**
@@ -1065,8 +1148,7 @@ public class ProjectApi extends AbstractApi implements Constants {
      * @throws GitLabApiException if any exception occurs
      */
     public Member getMember(Integer projectId, Integer userId) throws GitLabApiException {
-        Response response = get(Response.Status.OK, null, "projects", projectId, "members", userId);
-        return (response.readEntity(Member.class));
+        return (get(memberRequest(projectId, userId)));
     }
 
     /**
@@ -1080,11 +1162,11 @@ public class ProjectApi extends AbstractApi implements Constants {
      * @throws GitLabApiException if any exception occurs
      */
     public Optional<Member> getOptionalMember(Integer projectId, Integer userId) throws GitLabApiException {
-        try {
-            return (Optional.ofNullable(getMember(projectId, userId)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
-        }
+        return (getOptional(memberRequest(projectId, userId)));
+    }
+
+    private EntityRequest<Member> memberRequest(Integer projectId, Integer userId) {
+        return (new EntityRequest<>(Member.class, null, "projects", projectId, "members", userId));
     }
 
     /**
@@ -1373,8 +1455,7 @@ public class ProjectApi extends AbstractApi implements Constants {
      * @throws GitLabApiException if any exception occurs
      */
     public ProjectHook getHook(Integer projectId, Integer hookId) throws GitLabApiException {
-        Response response = get(Response.Status.OK, null, "projects", projectId, "hooks", hookId);
-        return (response.readEntity(ProjectHook.class));
+        return (get(hookRequest(projectId, hookId)));
     }
 
     /**
@@ -1387,11 +1468,11 @@ public class ProjectApi extends AbstractApi implements Constants {
      * @return the project hook for the specified project ID/hook ID pair as an Optional instance
      */
     public Optional<ProjectHook> getOptionalHook(Integer projectId, Integer hookId) {
-        try {
-            return (Optional.ofNullable(getHook(projectId, hookId)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
-        }
+        return (getOptional(hookRequest(projectId, hookId)));
+    }
+
+    private EntityRequest<ProjectHook> hookRequest(Integer projectId, Integer hookId) {
+        return (new EntityRequest<>(ProjectHook.class, null, "projects", projectId, "hooks", hookId));
     }
 
     /**
@@ -1719,8 +1800,7 @@ public class ProjectApi extends AbstractApi implements Constants {
      * @throws GitLabApiException if any exception occurs
      */
     public Snippet getSnippet(Integer projectId, Integer snippetId) throws GitLabApiException {
-        Response response = get(Response.Status.OK, null, "projects", projectId, "snippets", snippetId);
-        return (response.readEntity(Snippet.class));
+        return (get(snippetRequest(projectId, snippetId)));
     }
 
     /**
@@ -1733,11 +1813,11 @@ public class ProjectApi extends AbstractApi implements Constants {
      * @return the specified project Snippet as an Optional instance
      */
     public Optional<Snippet> getOptionalSnippet(Integer projectId, Integer snippetId) {
-        try {
-            return (Optional.ofNullable(getSnippet(projectId, snippetId)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
-        }
+        return (getOptional(snippetRequest(projectId, snippetId)));
+    }
+
+    private EntityRequest<Snippet> snippetRequest(Integer projectId, Integer snippetId) {
+        return (new EntityRequest<>(Snippet.class, null, "projects", projectId, "snippets", snippetId));
     }
 
     /**
@@ -1822,8 +1902,7 @@ public class ProjectApi extends AbstractApi implements Constants {
      * @throws GitLabApiException if any exception occurs
      */
     public String getRawSnippetContent(Integer projectId, Integer snippetId) throws GitLabApiException {
-        Response response = get(Response.Status.OK, null, "projects", projectId, "snippets", snippetId, "raw");
-        return (response.readEntity(String.class));
+        return (get(rawSnippetContentRequest(projectId, snippetId)));
     }
 
     /**
@@ -1836,11 +1915,11 @@ public class ProjectApi extends AbstractApi implements Constants {
      * @return the raw project snippet plain text as an Optional instance
      */
     public Optional<String> getOptionalRawSnippetContent(Integer projectId, Integer snippetId) {
-        try {
-            return (Optional.ofNullable(getRawSnippetContent(projectId, snippetId)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
-        }
+        return (getOptional(rawSnippetContentRequest(projectId, snippetId)));
+    }
+
+    private EntityRequest<String> rawSnippetContentRequest(Integer projectId, Integer snippetId) {
+        return (new EntityRequest<>(String.class, null, "projects", projectId, "snippets", snippetId, "raw"));
     }
 
     /**
@@ -0,0 +1,350 @@
+package org.gitlab4j.api;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+
+import org.gitlab4j.api.models.Project;
+import org.gitlab4j.api.systemhooks.GroupMemberSystemHookEvent;
+import org.gitlab4j.api.systemhooks.GroupSystemHookEvent;
+import org.gitlab4j.api.systemhooks.KeySystemHookEvent;
+import org.gitlab4j.api.systemhooks.ProjectSystemHookEvent;
+import org.gitlab4j.api.systemhooks.PushSystemHookEvent;
+import org.gitlab4j.api.systemhooks.RepositorySystemHookEvent;
+import org.gitlab4j.api.systemhooks.SystemHookListener;
+import org.gitlab4j.api.systemhooks.TagPushSystemHookEvent;
+import org.gitlab4j.api.systemhooks.TeamMemberSystemHookEvent;
+import org.gitlab4j.api.systemhooks.UserSystemHookEvent;
+
+/**
+ * This class provides a thread safe, bidirectional LRU cache of project IDs and paths with namespace. When set
+ * on a {@link GitLabApi} the cache is populated from every Project and list of Projects read from the
+ * GitLab server, and {@link AbstractApi#getProjectIdOrPath(Object)} resolves the paths of cached projects
+ * to their numeric IDs instead of URL encoding the path.
+ *
+ * <pre><code>
+ * ProjectIdCache projectIdCache = new ProjectIdCache();
+ * gitLabApi.setProjectIdCache(projectIdCache);
+ * systemHookManager.addListener(projectIdCache);
+ * </code></pre>
+ *
+ * Projects keep their ID when they are renamed or transferred, but their path changes. Adding the cache
+ * as a listener to a {@link org.gitlab4j.api.systemhooks.SystemHookManager} updates the cached paths on
+ * project rename and transfer events, removes destroyed projects, and removes the projects of renamed
+ * and destroyed groups.
+ */
+public class ProjectIdCache implements SystemHookListener {
+
+    /** The default maximum number of cached projects. */
+    public static final int DEFAULT_MAX_SIZE = 100000;
+
+    /** The request property holding the ProjectIdCache to populate from the response entity. */
+    static final String CACHE_PROPERTY = ProjectIdCache.class.getName() + ".cache";
+
+    /** The reader interceptor, registered with every Jersey Client, that populates the cache from responses. */
+    static final ReaderInterceptor READER_INTERCEPTOR = new ProjectReaderInterceptor();
+
+    private static class ProjectReaderInterceptor implements ReaderInterceptor {
+
+        @Override
+        public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException, WebApplicationException {
+
+            Object entity = context.proceed();
+            Object cache = context.getProperty(CACHE_PROPERTY);
+            if (cache instanceof ProjectIdCache) {
+                ((ProjectIdCache)cache).putAll(entity);
+            }
+
+            return (entity);
+        }
+    }
+
+    private final int maxSize;
+
+    // LRU ordered ID to path entries, and path to ID entries keyed in lower case, both guarded by the lock
+    private final LinkedHashMap<Integer, String> idToPath;
+    private final HashMap<String, Integer> pathToId = new HashMap<>();
+    private final Object lock = new Object();
+
+    /**
+     * Create a ProjectIdCache with the default maximum size.
+     */
+    public ProjectIdCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Create a ProjectIdCache with the specified maximum size.
+     *
+     * @param maxSize the maximum number of cached projects
+     */
+    public ProjectIdCache(int maxSize) {
+
+        this.maxSize = Math.max(1, maxSize);
+        this.idToPath = new LinkedHashMap<Integer, String>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+
+                if (size() <= ProjectIdCache.this.maxSize) {
+                    return (false);
+                }
+
+                pathToId.remove(pathKey(eldest.getValue()), eldest.getKey());
+                return (true);
+            }
+        };
+    }
+
+    /**
+     * Get the ID of the project with the specified path with namespace.
+     *
+     * @param pathWithNamespace the path with namespace of the project, for example "group/project"
+     * @return the ID of the project, or null if the project is not cached
+     */
+    public Integer getId(String pathWithNamespace) {
+
+        if (pathWithNamespace == null) {
+            return (null);
+        }
+
+        synchronized (lock) {
+
+            // Look up the path of the ID as well, which marks the project as recently used
+            Integer id = pathToId.get(pathKey(pathWithNamespace));
+            if (id != null) {
+                idToPath.get(id);
+            }
+
+            return (id);
+        }
+    }
+
+    /**
+     * Get the path with namespace of the project with the specified ID.
+     *
+     * @param projectId the ID of the project
+     * @return the path with namespace of the project, or null if the project is not cached
+     */
+    public String getPath(Integer projectId) {
+
+        if (projectId == null) {
+            return (null);
+        }
+
+        synchronized (lock) {
+            return (idToPath.get(projectId));
+        }
+    }
+
+    /**
+     * Adds the project to the cache, if both its ID and path with namespace are set.
+     *
+     * @param project the Project to add to the cache
+     */
+    public void put(Project project) {
+        if (project != null) {
+            put(project.getId(), project.getPathWithNamespace());
+        }
+    }
+
+    /**
+     * Adds the project ID and path with namespace to the cache, replacing any previous path of the
+     * project and any previous project with the path.
+     *
+     * @param projectId the ID of the project
+     * @param pathWithNamespace the path with namespace of the project
+     */
+    public void put(Integer projectId, String pathWithNamespace) {
+
+        if (projectId == null || projectId.intValue() <= 0 || pathWithNamespace == null || pathWithNamespace.trim().isEmpty()) {
+            return;
+        }
+
+        String path = pathWithNamespace.trim();
+        String key = pathKey(path);
+        synchronized (lock) {
+
+            // The least recently used project is evicted by the put when the cache is full
+            Integer oldId = pathToId.put(key, projectId);
+            if (oldId != null && !oldId.equals(projectId)) {
+                idToPath.remove(oldId);
+            }
+
+            String oldPath = idToPath.put(projectId, path);
+            if (oldPath != null && !pathKey(oldPath).equals(key)) {
+                pathToId.remove(pathKey(oldPath), projectId);
+            }
+        }
+    }
+
+    /**
+     * Removes the project with the specified ID from the cache.
+     *
+     * @param projectId the ID of the project to remove
+     */
+    public void invalidate(Integer projectId) {
+        if (projectId != null) {
+            synchronized (lock) {
+                remove(projectId);
+            }
+        }
+    }
+
+    /**
+     * Removes the project with the specified path with namespace from the cache.
+     *
+     * @param pathWithNamespace the path with namespace of the project to remove
+     */
+    public void invalidate(String pathWithNamespace) {
+        if (pathWithNamespace != null) {
+            synchronized (lock) {
+                Integer id = pathToId.remove(pathKey(pathWithNamespace));
+                if (id != null) {
+                    idToPath.remove(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all the projects in the namespace with the specified full path, including the projects in
+     * its subgroups, from the cache.
+     *
+     * @param namespacePath the full path of the group or user namespace, for example "group/subgroup"
+     */
+    public void invalidateNamespace(String namespacePath) {
+
+        if (namespacePath == null || namespacePath.trim().isEmpty()) {
+            return;
+        }
+
+        String prefix = pathKey(namespacePath) + "/";
+        synchronized (lock) {
+            Iterator<Map.Entry<String, Integer>> iterator = pathToId.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Integer> entry = iterator.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    idToPath.remove(entry.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all the cached projects.
+     */
+    public void clear() {
+        synchronized (lock) {
+            pathToId.clear();
+            idToPath.clear();
+        }
+    }
+
+    /**
+     * Get the number of cached projects.
+     *
+     * @return the number of cached projects
+     */
+    public int size() {
+        synchronized (lock) {
+            return (idToPath.size());
+        }
+    }
+
+    /**
+     * Adds the Project, or the Projects in the Collection, to the cache. Other objects are ignored.
+     *
+     * @param entity a Project or a Collection that may contain Projects
+     */
+    void putAll(Object entity) {
+
+        if (entity instanceof Project) {
+            put((Project)entity);
+        } else if (entity instanceof Collection) {
+            for (Object item : (Collection<?>)entity) {
+                if (!(item instanceof Project)) {
+                    return;
+                }
+
+                put((Project)item);
+            }
+        }
+    }
+
+    @Override
+    public void onProjectEvent(ProjectSystemHookEvent event) {
+
+        String eventName = event.getEventName();
+        if (ProjectSystemHookEvent.PROJECT_DESTROY_EVENT.equals(eventName)) {
+            invalidate(event.getProjectId());
+            invalidate(event.getPathWithNamespace());
+        } else if (ProjectSystemHookEvent.PROJECT_RENAME_EVENT.equals(eventName) ||
+                ProjectSystemHookEvent.PROJECT_TRANSFER_EVENT.equals(eventName)) {
+            invalidate(event.getOldPathWithNamespace());
+            invalidate(event.getProjectId());
+            put(event.getProjectId(), event.getPathWithNamespace());
+        }
+    }
+
+    @Override
+    public void onTeamMemberEvent(TeamMemberSystemHookEvent event) {
+    }
+
+    @Override
+    public void onUserEvent(UserSystemHookEvent event) {
+    }
+
+    @Override
+    public void onKeyEvent(KeySystemHookEvent event) {
+    }
+
+    @Override
+    public void onGroupEvent(GroupSystemHookEvent event) {
+
+        // Renaming a group changes the path of all the projects in it, destroying it removes them
+        String eventName = event.getEventName();
+        if (GroupSystemHookEvent.GROUP_RENAME_EVENT.equals(eventName)) {
+            invalidateNamespace(event.getOldFullPath());
+        } else if (GroupSystemHookEvent.GROUP_DESTROY_EVENT.equals(eventName)) {
+            invalidateNamespace(event.getFullPath());
+        }
+    }
+
+    @Override
+    public void onGroupMemberEvent(GroupMemberSystemHookEvent event) {
+    }
+
+    @Override
+    public void onPushEvent(PushSystemHookEvent event) {
+    }
+
+    @Override
+    public void onTagPushEvent(TagPushSystemHookEvent event) {
+    }
+
+    @Override
+    public void onRepositoryEvent(RepositorySystemHookEvent event) {
+    }
+
+    private void remove(Integer projectId) {
+        String path = idToPath.remove(projectId);
+        if (path != null) {
+            pathToId.remove(pathKey(path), projectId);
+        }
+    }
+
+    // Project paths are case insensitive
+    private static String pathKey(String path) {
+        return (path.trim().toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,344 @@
+package org.gitlab4j.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import javax.ws.rs.NotAuthorizedException;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+/**
+ * This class downloads the content of a GET endpoint to a file. The content is written to a temporary
+ * file in the target directory through a FileChannel, failed transfers are resumed from where they
+ * left off with HTTP Range requests, large downloads are optionally split into range segments that
+ * are downloaded in parallel, and the completed file is verified against the expected length before
+ * it is atomically renamed to its final name.
+ */
+class RangedDownloader {
+
+    private final static Logger LOG = Logger.getLogger(RangedDownloader.class.getName());
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AbstractApi api;
+    private final DownloadOptions options;
+
+    RangedDownloader(AbstractApi api, DownloadOptions options) {
+        this.api = api;
+        this.options = (options != null ? options : new DownloadOptions());
+    }
+
+    /**
+     * Downloads the content of the endpoint specified by the path arguments to the specified directory.
+     *
+     * @param directory the directory to save the file to, if null will use "java.io.tmpdir"
+     * @param filenameResolver determines the name of the file from the initial response
+     * @param queryParams multivalue map of request parameters
+     * @param pathArgs variable list of arguments used to build the URI
+     * @return a File instance pointing to the downloaded file
+     * @throws GitLabApiException if any exception occurs
+     */
+    File download(File directory, Function<Response, String> filenameResolver,
+            MultivaluedMap<String, String> queryParams, Object... pathArgs) throws GitLabApiException {
+
+        if (directory == null) {
+            directory = new File(System.getProperty("java.io.tmpdir"));
+        }
+
+        URL url;
+        try {
+            url = api.getApiClient().getApiUrl(pathArgs);
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+
+        Response response = request(url, queryParams, 0, -1);
+        Path tempFile = null;
+        try {
+
+            String filename = filenameResolver.apply(response);
+            if (filename == null) {
+                throw new GitLabApiException("Unable to determine the name of the file to download to");
+            }
+
+            File file = new File(directory, filename);
+            tempFile = Files.createTempFile(directory.toPath(), "." + filename + "-", ".part");
+
+            boolean rangesSupported = (response.getStatus() == Response.Status.PARTIAL_CONTENT.getStatusCode());
+            long length = (rangesSupported ? getTotalLength(response) : response.getLength());
+
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+
+                List<Segment> segments = createSegments(rangesSupported, length);
+                download(channel, url, queryParams, segments, response);
+                response = null;
+
+                if (length >= 0 && channel.size() != length) {
+                    throw new IOException("Downloaded " + channel.size() + " bytes, expected " + length + " bytes");
+                }
+
+                channel.force(false);
+            }
+
+            try {
+                Files.move(tempFile, file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException amnse) {
+                Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            return (file);
+
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        } finally {
+
+            if (response != null) {
+                response.close();
+            }
+
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignore) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits the download into segments, the first segment continues on the initial response.
+     */
+    private List<Segment> createSegments(boolean rangesSupported, long length) {
+
+        List<Segment> segments = new ArrayList<>();
+        int count = 1;
+        if (rangesSupported && length > 0 && options.getParallelSegments() > 1) {
+            count = (int) Math.max(1, Math.min(options.getParallelSegments(), length / options.getMinSegmentSize()));
+        }
+
+        if (count == 1) {
+            segments.add(new Segment(0, length > 0 ? length - 1 : -1));
+            return (segments);
+        }
+
+        long segmentSize = (length + count - 1) / count;
+        for (long start = 0; start < length; start += segmentSize) {
+            segments.add(new Segment(start, Math.min(start + segmentSize, length) - 1));
+        }
+
+        return (segments);
+    }
+
+    private void download(FileChannel channel, URL url, MultivaluedMap<String, String> queryParams,
+            List<Segment> segments, Response initialResponse) throws GitLabApiException, IOException {
+
+        if (segments.size() == 1) {
+            downloadSegment(channel, url, queryParams, segments.get(0), initialResponse);
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(segments.size() - 1, runnable -> {
+            Thread thread = new Thread(runnable, "gitlab4j-download-segment");
+            thread.setDaemon(true);
+            return (thread);
+        });
+
+        try {
+
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Segment segment : segments.subList(1, segments.size())) {
+                futures.add(executor.submit(() -> {
+                    downloadSegment(channel, url, queryParams, segment, null);
+                    return (null);
+                }));
+            }
+
+            downloadSegment(channel, url, queryParams, segments.get(0), initialResponse);
+
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ee) {
+                    Throwable cause = ee.getCause();
+                    if (cause instanceof GitLabApiException) {
+                        throw (GitLabApiException) cause;
+                    } else if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+
+                    throw new GitLabApiException(cause instanceof Exception ? (Exception) cause : ee);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for download segments");
+                }
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Downloads a segment, resuming from the current position after a failure.
+     */
+    private void downloadSegment(FileChannel channel, URL url, MultivaluedMap<String, String> queryParams,
+            Segment segment, Response response) throws GitLabApiException, IOException {
+
+        int attempts = 0;
+        while (true) {
+
+            try {
+
+                if (response == null) {
+
+                    response = request(url, queryParams, segment.position, segment.end);
+                    if (response.getStatus() != Response.Status.PARTIAL_CONTENT.getStatusCode()) {
+
+                        // The server sent the complete content, only the first segment can restart from it
+                        if (segment.start != 0) {
+                            throw new GitLabApiException("Server did not honor the range request, unable to resume the download");
+                        }
+
+                        segment.position = 0;
+                    }
+                }
+
+                copy(response, channel, segment);
+                if (segment.end >= 0 && segment.position <= segment.end) {
+                    throw new IOException("Premature end of content at byte " + segment.position);
+                }
+
+                return;
+
+            } catch (IOException | ProcessingException e) {
+
+                if (++attempts > options.getMaxRetries()) {
+                    throw (e instanceof IOException ? (IOException) e : new IOException(e));
+                }
+
+                LOG.warning("Download interrupted at byte " + segment.position + ", resuming (attempt " + attempts +
+                        " of " + options.getMaxRetries() + "), error=" + e.getMessage());
+                sleep(options.getRetryDelayMillis());
+
+            } finally {
+
+                if (response != null) {
+                    response.close();
+                    response = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the response content to the segment's position in the file, stopping at the end of the segment.
+     */
+    private void copy(Response response, FileChannel channel, Segment segment) throws IOException {
+
+        byte[] bytes = new byte[BUFFER_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try (InputStream in = response.readEntity(InputStream.class)) {
+
+            while (segment.end < 0 || segment.position <= segment.end) {
+
+                int max = (int) (segment.end < 0 ? bytes.length : Math.min(bytes.length, segment.end - segment.position + 1));
+                int count = in.read(bytes, 0, max);
+                if (count < 0) {
+                    break;
+                }
+
+                buffer.clear().limit(count);
+                while (buffer.hasRemaining()) {
+                    segment.position += channel.write(buffer, segment.position);
+                }
+            }
+        }
+    }
+
+    private Response request(URL url, MultivaluedMap<String, String> queryParams, long start, long end) throws GitLabApiException {
+
+        Response response;
+        try {
+            response = api.getApiClient().getRange(queryParams, url, MediaType.MEDIA_TYPE_WILDCARD, start, end);
+        } catch (Exception e) {
+            throw api.handle(e);
+        }
+
+        int status = response.getStatus();
+        if (status != Response.Status.OK.getStatusCode() && status != Response.Status.PARTIAL_CONTENT.getStatusCode()) {
+            throw new GitLabApiException(response);
+        }
+
+        if (!api.getApiClient().validateSecretToken(response)) {
+            response.close();
+            throw new GitLabApiException(new NotAuthorizedException("Invalid secret token in response."));
+        }
+
+        return (response);
+    }
+
+    /**
+     * Gets the total length from a Content-Range header such as "bytes 0-1023/4096", returns -1 if it is unknown.
+     */
+    static long getTotalLength(Response response) {
+
+        String contentRange = response.getHeaderString("Content-Range");
+        if (contentRange != null) {
+            int slash = contentRange.lastIndexOf('/');
+            if (slash >= 0) {
+                try {
+                    return (Long.parseLong(contentRange.substring(slash + 1).trim()));
+                } catch (NumberFormatException ignore) {
+                }
+            }
+        }
+
+        return (-1);
+    }
+
+    private static void sleep(long millis) throws IOException {
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to resume the download");
+        }
+    }
+
+    /**
+     * A range of the download, end is inclusive and -1 if the end of the content is unknown.
+     */
+    private static class Segment {
+
+        private final long start;
+        private final long end;
+        private long position;
+
+        Segment(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.position = start;
+        }
+    }
+}
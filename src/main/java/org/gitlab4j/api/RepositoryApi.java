@@ -5,9 +5,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.ws.rs.core.Form;
 import javax.ws.rs.core.GenericType;
@@ -16,21 +17,52 @@ import javax.ws.rs.core.Response;
 
 import org.gitlab4j.api.GitLabApi.ApiVersion;
 import org.gitlab4j.api.models.Branch;
+import org.gitlab4j.api.models.Commit;
 import org.gitlab4j.api.models.CompareResults;
 import org.gitlab4j.api.models.Contributor;
+import org.gitlab4j.api.models.Diff;
 import org.gitlab4j.api.models.Tag;
 import org.gitlab4j.api.models.TreeItem;
 import org.gitlab4j.api.utils.FileUtils;
+import org.gitlab4j.api.utils.JacksonJson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
  * This class provides an entry point to all the GitLab API repository calls.
  */
 public class RepositoryApi extends AbstractApi {
 
+    private static final ObjectMapper objectMapper = new JacksonJson().getObjectMapper();
+
+    private volatile BlobCache blobCache;
+
     public RepositoryApi(GitLabApi gitLabApi) {
         super(gitLabApi);
     }
 
+    /**
+     * Set the BlobCache consulted by {@link #getRawBlobContent(Integer, String)} before fetching a blob
+     * from the GitLab server, null disables blob caching. Blob caching is disabled by default.
+     *
+     * @param blobCache the BlobCache to use, or null to disable blob caching
+     */
+    public void setBlobCache(BlobCache blobCache) {
+        this.blobCache = blobCache;
+    }
+
+    /**
+     * Get the BlobCache consulted before fetching a blob from the GitLab server.
+     *
+     * @return the BlobCache in use, or null if blob caching is disabled
+     */
+    public BlobCache getBlobCache() {
+        return (blobCache);
+    }
+
     /**
      * Get a list of repository branches from a project, sorted by name alphabetically.
      *
@@ -402,6 +434,79 @@ public class RepositoryApi extends AbstractApi {
      * @throws GitLabApiException if any exception occurs
      */
     public InputStream getRawBlobContent(Integer projectId, String sha) throws GitLabApiException {
+
+        BlobCache blobCache = this.blobCache;
+        if (blobCache == null || !BlobCache.isCacheable(sha)) {
+            return (fetchRawBlobContent(projectId, sha));
+        }
+
+        InputStream in = blobCache.get(sha);
+        if (in != null) {
+            return (in);
+        }
+
+        try {
+            return (blobCache.put(sha, fetchRawBlobContent(projectId, sha)));
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+    }
+
+    /**
+     * Get the raw file contents for a blob by blob SHA and transfer them to the provided channel. If the
+     * blob is held in the BlobCache it is transferred directly from the cache, which for blobs on disk
+     * avoids copying the content through user space.
+     *
+     * GET /projects/:id/repository/raw_blobs/:sha
+     *
+     * @param projectId the ID of the project
+     * @param sha the SHA of the file to get the contents for
+     * @param target the channel to transfer the raw file contents to
+     * @return the number of bytes transferred
+     * @throws GitLabApiException if any exception occurs
+     */
+    public long getRawBlobContent(Integer projectId, String sha, WritableByteChannel target) throws GitLabApiException {
+
+        try {
+
+            BlobCache blobCache = this.blobCache;
+            InputStream content;
+            if (blobCache != null && BlobCache.isCacheable(sha)) {
+
+                long transferred = blobCache.transferTo(sha, target);
+                if (transferred >= 0) {
+                    return (transferred);
+                }
+
+                content = blobCache.put(sha, fetchRawBlobContent(projectId, sha));
+
+            } else {
+                content = fetchRawBlobContent(projectId, sha);
+            }
+
+            try (InputStream in = content) {
+
+                long transferred = 0;
+                ByteBuffer buffer = ByteBuffer.allocate(8192);
+                int count;
+                while ((count = in.read(buffer.array())) >= 0) {
+                    buffer.limit(count);
+                    while (buffer.hasRemaining()) {
+                        transferred += target.write(buffer);
+                    }
+
+                    buffer.clear();
+                }
+
+                return (transferred);
+            }
+
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+    }
+
+    private InputStream fetchRawBlobContent(Integer projectId, String sha) throws GitLabApiException {
         Response response = getWithAccepts(Response.Status.OK, null, MediaType.MEDIA_TYPE_WILDCARD,
                 "projects", projectId, "repository", "blobs", sha, "raw");
         return (response.readEntity(InputStream.class));
@@ -438,26 +543,27 @@ public class RepositoryApi extends AbstractApi {
      * @throws GitLabApiException if any exception occurs
      */
     public File getRepositoryArchive(Integer projectId, String sha, File directory) throws GitLabApiException {
+        return (getRepositoryArchive(projectId, sha, directory, null));
+    }
 
+    /**
+     * Get an archive of the complete repository by SHA (optional) and saves to the specified directory.
+     * If the archive already exists in the directory it will be overwritten. The archive is downloaded
+     * to a temporary file, resumed after connection failures, and renamed once it is complete.
+     *
+     * GET /projects/:id/repository/archive
+     *
+     * @param projectId the ID of the project
+     * @param sha the SHA of the archive to get
+     * @param directory the File instance of the directory to save the archive to, if null will use "java.io.tmpdir"
+     * @param options the DownloadOptions controlling retries and parallel segments, if null the defaults are used
+     * @return a File instance pointing to the downloaded instance
+     * @throws GitLabApiException if any exception occurs
+     */
+    public File getRepositoryArchive(Integer projectId, String sha, File directory, DownloadOptions options) throws GitLabApiException {
         Form formData = new GitLabApiForm().withParam("sha", sha);
-        Response response = getWithAccepts(Response.Status.OK, formData.asMap(), MediaType.MEDIA_TYPE_WILDCARD,
-                "projects", projectId, "repository", "archive");
-
-        try {
-
-            if (directory == null)
-                directory = new File(System.getProperty("java.io.tmpdir"));
-
-            String filename = FileUtils.getFilenameFromContentDisposition(response);
-            File file = new File(directory, filename);
-
-            InputStream in = response.readEntity(InputStream.class);
-            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
-            return (file);
-
-        } catch (IOException ioe) {
-            throw new GitLabApiException(ioe);
-        }
+        return (new RangedDownloader(this, options).download(directory, FileUtils::getFilenameFromContentDisposition,
+                formData.asMap(), "projects", projectId, "repository", "archive"));
     }
 
     /**
@@ -476,6 +582,110 @@ public class RepositoryApi extends AbstractApi {
         return (response.readEntity(CompareResults.class));
     }
 
+    /**
+     * Compare branches, tags or commits, streaming the commits and diffs to the provided consumers as they
+     * are read from the response instead of holding them all in memory. This can be accessed without
+     * authentication if the repository is publicly accessible.
+     *
+     * <p>The returned CompareResults holds the head commit and the compare flags, its commits and diffs are
+     * null. If a consumer is null the corresponding entries are skipped without being deserialized. When
+     * includeDiffBodies is false the diff text of each Diff is skipped, leaving only the paths, modes and flags.</p>
+     *
+     * GET /projects/:id/repository/compare
+     *
+     * @param projectId the ID of the project owned by the authenticated user
+     * @param from the commit SHA or branch name
+     * @param to the commit SHA or branch name
+     * @param commitConsumer the Consumer that is passed each Commit, or null to skip the commits
+     * @param diffConsumer the Consumer that is passed each Diff, or null to skip the diffs
+     * @param includeDiffBodies if false the diff text is not read into the Diff instances
+     * @return a CompareResults containing the head commit and flags of the comparison
+     * @throws GitLabApiException if any exception occurs
+     */
+    public CompareResults compare(Integer projectId, String from, String to, Consumer<Commit> commitConsumer,
+            Consumer<Diff> diffConsumer, boolean includeDiffBodies) throws GitLabApiException {
+
+        Form formData = new GitLabApiForm().withParam("from", from, true).withParam("to", to, true);
+        Response response = get(Response.Status.OK, formData.asMap(), "projects", projectId, "repository", "compare");
+
+        try (InputStream in = response.readEntity(InputStream.class)) {
+            return (readCompareResults(in, commitConsumer, diffConsumer, includeDiffBodies));
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+    }
+
+    /**
+     * Reads the CompareResults JSON from the provided InputStream, passing each commit and diff to the
+     * consumers as they are parsed rather than collecting them in the returned CompareResults.
+     */
+    static CompareResults readCompareResults(InputStream in, Consumer<Commit> commitConsumer,
+            Consumer<Diff> diffConsumer, boolean includeDiffBodies) throws IOException {
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object");
+            }
+
+            ObjectNode summary = objectMapper.createObjectNode();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("commits".equals(name) && token == JsonToken.START_ARRAY) {
+
+                    if (commitConsumer == null) {
+                        parser.skipChildren();
+                        continue;
+                    }
+
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        commitConsumer.accept(objectMapper.readValue(parser, Commit.class));
+                    }
+
+                } else if ("diffs".equals(name) && token == JsonToken.START_ARRAY) {
+
+                    if (diffConsumer == null) {
+                        parser.skipChildren();
+                        continue;
+                    }
+
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        diffConsumer.accept(readDiff(objectMapper, parser, includeDiffBodies));
+                    }
+
+                } else {
+                    summary.set(name, objectMapper.readTree(parser));
+                }
+            }
+
+            return (objectMapper.treeToValue(summary, CompareResults.class));
+        }
+    }
+
+    private static Diff readDiff(ObjectMapper objectMapper, JsonParser parser, boolean includeDiffBody) throws IOException {
+
+        if (includeDiffBody) {
+            return (objectMapper.readValue(parser, Diff.class));
+        }
+
+        // The diff text is skipped without being decoded, everything else is small
+        ObjectNode diff = objectMapper.createObjectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if ("diff".equals(name)) {
+                parser.skipChildren();
+            } else {
+                diff.set(name, objectMapper.readTree(parser));
+            }
+        }
+
+        return (objectMapper.treeToValue(diff, Diff.class));
+    }
+
     /**
      * Compare branches, tags or commits. This can be accessed without authentication
      * if the repository is publicly accessible.
@@ -3,21 +3,36 @@ package org.gitlab4j.api;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 
 import javax.ws.rs.core.Form;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.gitlab4j.api.GitLabApi.ApiVersion;
 import org.gitlab4j.api.models.RepositoryFile;
+import org.gitlab4j.api.utils.Base64ContentStreamingOutput;
+import org.gitlab4j.api.utils.JacksonJson;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
  * This class provides an entry point to all the GitLab API repository files calls.
  */
 public class RepositoryFileApi extends AbstractApi {
 
+    private static final ObjectMapper objectMapper = new JacksonJson().getObjectMapper();
+
     public RepositoryFileApi(GitLabApi gitLabApi) {
         super(gitLabApi);
     }
@@ -67,6 +82,82 @@ public class RepositoryFileApi extends AbstractApi {
         return (response.readEntity(RepositoryFile.class));
     }
 
+    /**
+     * Get file from repository and write its decoded content to the provided OutputStream. The Base64 encoded
+     * content is decoded as it is read from the response, so the content is never held in memory as a whole,
+     * regardless of the size of the file. The returned RepositoryFile holds the file info but no content.
+     *
+     * GET /projects/:id/repository/files
+     *
+     * @param filePath (required) - Full path to the file. Ex. lib/class.rb
+     * @param projectId (required) - the project ID
+     * @param ref (required) - The name of branch, tag or commit
+     * @param out the OutputStream to write the decoded file content to
+     * @return a RepositoryFile instance with the file info, the content will be null
+     * @throws GitLabApiException if any exception occurs
+     */
+    public RepositoryFile getFile(String filePath, Integer projectId, String ref, OutputStream out) throws GitLabApiException {
+
+        Form form = new Form();
+        Response response;
+        if (isApiVersion(ApiVersion.V3)) {
+            addFormParam(form, "file_path", filePath, true);
+            addFormParam(form, "ref", ref, true);
+            response = get(Response.Status.OK, form.asMap(), "projects", projectId, "repository", "files");
+        } else {
+            addFormParam(form, "ref", ref, true);
+            response = get(Response.Status.OK, form.asMap(), "projects", projectId, "repository", "files", urlEncode(filePath));
+        }
+
+        try (InputStream in = response.readEntity(InputStream.class)) {
+            return (readFile(in, out));
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+    }
+
+    /**
+     * Reads a RepositoryFile from the JSON on the provided InputStream, decoding the content field straight
+     * from the token stream to the provided OutputStream instead of into the returned RepositoryFile.
+     */
+    static RepositoryFile readFile(InputStream in, OutputStream out) throws IOException {
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object");
+            }
+
+            ObjectNode fileInfo = objectMapper.createObjectNode();
+            String encoding = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("content".equals(name) && token == JsonToken.VALUE_STRING) {
+
+                    // The content is Base64 encoded unless the encoding was given as "text"
+                    if ("text".equals(encoding)) {
+                        out.write(parser.getText().getBytes(StandardCharsets.UTF_8));
+                    } else {
+                        parser.readBinaryValue(Base64Variants.MIME_NO_LINEFEEDS, out);
+                    }
+
+                } else {
+
+                    JsonNode value = objectMapper.readTree(parser);
+                    if ("encoding".equals(name)) {
+                        encoding = value.asText();
+                    }
+
+                    fileInfo.set(name, value);
+                }
+            }
+
+            return (objectMapper.treeToValue(fileInfo, RepositoryFile.class));
+        }
+    }
+
     /**
      * Create new file in repository
      *
@@ -127,6 +218,102 @@ public class RepositoryFileApi extends AbstractApi {
         return (response.readEntity(RepositoryFile.class));
     }
 
+    /**
+     * Create new file in repository with the content read from the provided InputStream. The content is
+     * Base64 encoded as it is streamed into the request body, so it is never held in memory as a whole.
+     * The content field of the provided RepositoryFile is ignored. The InputStream is closed once it has been read.
+     *
+     * POST /projects/:id/repository/files
+     *
+     * @param file a ReposityoryFile instance with info for the file to create
+     * @param projectId the project ID
+     * @param branchName the name of branch
+     * @param commitMessage the commit message
+     * @param content the InputStream to read the file content from
+     * @return a RepositoryFile instance with the created file info
+     * @throws GitLabApiException if any exception occurs
+     */
+    public RepositoryFile createFile(RepositoryFile file, Integer projectId, String branchName, String commitMessage, InputStream content) throws GitLabApiException {
+
+        StreamingOutput stream = createStreamingOutput(file, branchName, commitMessage, content);
+        Response response;
+        if (isApiVersion(ApiVersion.V3)) {
+            response = postStreaming(Response.Status.CREATED, stream, MediaType.APPLICATION_JSON, "projects", projectId, "repository", "files");
+        } else {
+            response = postStreaming(Response.Status.CREATED, stream, MediaType.APPLICATION_JSON,
+                    "projects", projectId, "repository", "files", urlEncode(file.getFilePath()));
+        }
+
+        return (response.readEntity(RepositoryFile.class));
+    }
+
+    /**
+     * Create new file in repository with the content of the specified local file. The content is
+     * Base64 encoded as it is streamed into the request body, so it is never held in memory as a whole.
+     * The content field of the provided RepositoryFile is ignored.
+     *
+     * POST /projects/:id/repository/files
+     *
+     * @param file a ReposityoryFile instance with info for the file to create
+     * @param projectId the project ID
+     * @param branchName the name of branch
+     * @param commitMessage the commit message
+     * @param content the Path of the local file holding the file content
+     * @return a RepositoryFile instance with the created file info
+     * @throws GitLabApiException if any exception occurs
+     */
+    public RepositoryFile createFile(RepositoryFile file, Integer projectId, String branchName, String commitMessage, Path content) throws GitLabApiException {
+        return (createFile(file, projectId, branchName, commitMessage, openContent(content)));
+    }
+
+    /**
+     * Update existing file in repository with the content read from the provided InputStream. The content is
+     * Base64 encoded as it is streamed into the request body, so it is never held in memory as a whole.
+     * The content field of the provided RepositoryFile is ignored. The InputStream is closed once it has been read.
+     *
+     * PUT /projects/:id/repository/files
+     *
+     * @param file a ReposityoryFile instance with info for the file to update
+     * @param projectId the project ID
+     * @param branchName the name of branch
+     * @param commitMessage the commit message
+     * @param content the InputStream to read the file content from
+     * @return a RepositoryFile instance with the updated file info
+     * @throws GitLabApiException if any exception occurs
+     */
+    public RepositoryFile updateFile(RepositoryFile file, Integer projectId, String branchName, String commitMessage, InputStream content) throws GitLabApiException {
+
+        StreamingOutput stream = createStreamingOutput(file, branchName, commitMessage, content);
+        Response response;
+        if (isApiVersion(ApiVersion.V3)) {
+            response = putStreaming(Response.Status.OK, stream, MediaType.APPLICATION_JSON, "projects", projectId, "repository", "files");
+        } else {
+            response = putStreaming(Response.Status.OK, stream, MediaType.APPLICATION_JSON,
+                    "projects", projectId, "repository", "files", urlEncode(file.getFilePath()));
+        }
+
+        return (response.readEntity(RepositoryFile.class));
+    }
+
+    /**
+     * Update existing file in repository with the content of the specified local file. The content is
+     * Base64 encoded as it is streamed into the request body, so it is never held in memory as a whole.
+     * The content field of the provided RepositoryFile is ignored.
+     *
+     * PUT /projects/:id/repository/files
+     *
+     * @param file a ReposityoryFile instance with info for the file to update
+     * @param projectId the project ID
+     * @param branchName the name of branch
+     * @param commitMessage the commit message
+     * @param content the Path of the local file holding the file content
+     * @return a RepositoryFile instance with the updated file info
+     * @throws GitLabApiException if any exception occurs
+     */
+    public RepositoryFile updateFile(RepositoryFile file, Integer projectId, String branchName, String commitMessage, Path content) throws GitLabApiException {
+        return (updateFile(file, projectId, branchName, commitMessage, openContent(content)));
+    }
+
     /**
      * Delete existing file in repository
      *
@@ -215,6 +402,45 @@ public class RepositoryFileApi extends AbstractApi {
         return (response.readEntity(InputStream.class));
     }
 
+    /**
+     * Creates the JSON request body for creating or updating a file with Base64 encoded streamed content.
+     */
+    StreamingOutput createStreamingOutput(RepositoryFile file, String branchName, String commitMessage, InputStream content) {
+
+        if (file.getFilePath() == null) {
+            throw new IllegalArgumentException("filePath cannot be null");
+        }
+
+        if (branchName == null || branchName.trim().length() == 0) {
+            throw new IllegalArgumentException("branchName cannot be empty or null");
+        }
+
+        if (commitMessage == null || commitMessage.trim().length() == 0) {
+            throw new IllegalArgumentException("commitMessage cannot be empty or null");
+        }
+
+        if (content == null) {
+            throw new IllegalArgumentException("content cannot be null");
+        }
+
+        Base64ContentStreamingOutput stream = new Base64ContentStreamingOutput("content", content);
+        if (isApiVersion(ApiVersion.V3)) {
+            stream.withParam("file_path", file.getFilePath()).withParam("branch_name", branchName);
+        } else {
+            stream.withParam("branch", branchName);
+        }
+
+        return (stream.withParam("encoding", "base64").withParam("commit_message", commitMessage));
+    }
+
+    private InputStream openContent(Path content) throws GitLabApiException {
+        try {
+            return (Files.newInputStream(content));
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+    }
+
     private Form createForm(RepositoryFile file, String branchName, String commitMessage) {
 
         Form form = new Form();
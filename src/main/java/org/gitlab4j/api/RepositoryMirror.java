@@ -0,0 +1,343 @@
+package org.gitlab4j.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.gitlab4j.api.models.Commit;
+import org.gitlab4j.api.models.CompareResults;
+import org.gitlab4j.api.models.Diff;
+import org.gitlab4j.api.models.TreeItem;
+
+/**
+ * This class maintains a local snapshot of the files of a project at a ref, without cloning the repository.
+ * The first sync fetches every file, later syncs compare the last synced commit with the current head
+ * of the ref and only fetch the files that were added or modified, and delete the files that were
+ * deleted or renamed. The SHA of the last synced commit is kept in the {@value #STATE_FILENAME} file
+ * in the snapshot directory.
+ *
+ * <p>If a sync fails the last synced commit is left unchanged, so the next sync applies the same
+ * changes again. If the last synced commit is no longer in the repository, for example after a force
+ * push, every file is fetched again.</p>
+ *
+ * <pre><code>
+ * RepositoryMirror mirror = new RepositoryMirror(gitLabApi, projectId, "master", new File("/srv/config"));
+ * RepositoryMirror.SyncResult result = mirror.sync();
+ * </code></pre>
+ */
+public class RepositoryMirror {
+
+    private final static Logger LOG = Logger.getLogger(RepositoryMirror.class.getName());
+
+    /** The name of the file in the snapshot directory that holds the SHA of the last synced commit. */
+    public static final String STATE_FILENAME = ".gitlab4j-mirror";
+
+    // The mode of a submodule entry, submodules are not part of the snapshot
+    private static final String SUBMODULE_MODE = "160000";
+
+    /**
+     * Holds the outcome of a sync.
+     */
+    public static class SyncResult {
+
+        private final String fromSha;
+        private final String toSha;
+        private final boolean fullSync;
+        private final List<String> updated;
+        private final List<String> deleted;
+
+        SyncResult(String fromSha, String toSha, boolean fullSync, List<String> updated, List<String> deleted) {
+            this.fromSha = fromSha;
+            this.toSha = toSha;
+            this.fullSync = fullSync;
+            this.updated = Collections.unmodifiableList(updated);
+            this.deleted = Collections.unmodifiableList(deleted);
+        }
+
+        /**
+         * Get the SHA of the commit the snapshot was at before the sync, null if this was the first sync.
+         *
+         * @return the SHA of the commit the snapshot was at before the sync
+         */
+        public String getFromSha() {
+            return (fromSha);
+        }
+
+        /**
+         * Get the SHA of the commit the snapshot is at after the sync.
+         *
+         * @return the SHA of the commit the snapshot is at after the sync
+         */
+        public String getToSha() {
+            return (toSha);
+        }
+
+        /**
+         * Returns true if every file was fetched, rather than only the changed files.
+         *
+         * @return true if every file was fetched
+         */
+        public boolean isFullSync() {
+            return (fullSync);
+        }
+
+        /**
+         * Get the paths of the files that were added or modified.
+         *
+         * @return the paths of the files that were added or modified
+         */
+        public List<String> getUpdated() {
+            return (updated);
+        }
+
+        /**
+         * Get the paths of the files that were deleted.
+         *
+         * @return the paths of the files that were deleted
+         */
+        public List<String> getDeleted() {
+            return (deleted);
+        }
+    }
+
+    private final GitLabApi gitLabApi;
+    private final Integer projectId;
+    private final String refName;
+    private final Path root;
+    private int parallelism = 4;
+
+    /**
+     * Create a RepositoryMirror that keeps the specified directory in sync with the files of the project at the ref.
+     *
+     * @param gitLabApi the GitLabApi instance to communicate through
+     * @param projectId the ID of the project to mirror
+     * @param refName the name of the branch or tag to mirror
+     * @param directory the directory that holds the snapshot, will be created if it does not exist
+     */
+    public RepositoryMirror(GitLabApi gitLabApi, Integer projectId, String refName, File directory) {
+        this.gitLabApi = gitLabApi;
+        this.projectId = projectId;
+        this.refName = refName;
+        this.root = directory.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * Set the maximum number of requests made concurrently while syncing, the default is 4.
+     *
+     * @param parallelism the maximum number of requests made concurrently while syncing
+     * @return this RepositoryMirror instance
+     */
+    public RepositoryMirror withParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return (this);
+    }
+
+    /**
+     * Get the SHA of the last synced commit.
+     *
+     * @return the SHA of the last synced commit, or null if the snapshot has not been synced
+     * @throws GitLabApiException if the state file cannot be read
+     */
+    public String getSyncedSha() throws GitLabApiException {
+
+        Path stateFile = root.resolve(STATE_FILENAME);
+        if (!Files.isRegularFile(stateFile)) {
+            return (null);
+        }
+
+        try {
+            String sha = new String(Files.readAllBytes(stateFile), StandardCharsets.UTF_8).trim();
+            return (sha.isEmpty() ? null : sha);
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+    }
+
+    /**
+     * Brings the snapshot up to date with the current head of the ref.
+     *
+     * @return the SyncResult describing the changes applied to the snapshot
+     * @throws GitLabApiException if any exception occurs, the snapshot will be synced again on the next call
+     */
+    public SyncResult sync() throws GitLabApiException {
+
+        CommitsApi commitsApi = gitLabApi.getCommitsApi();
+        Commit head = commitsApi.getCommit(projectId, commitsApi.urlEncode(refName));
+        String headSha = head.getId();
+        String syncedSha = getSyncedSha();
+
+        try {
+            Files.createDirectories(root);
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+
+        if (headSha.equals(syncedSha)) {
+            return (new SyncResult(syncedSha, headSha, false, new ArrayList<>(), new ArrayList<>()));
+        }
+
+        SyncResult result = null;
+        if (syncedSha != null) {
+
+            // Only the paths and flags of the diffs are needed, so the diff text is not read
+            List<Diff> diffs = new ArrayList<>();
+            CompareResults compareResults = null;
+            try {
+                compareResults = gitLabApi.getRepositoryApi().compare(projectId, syncedSha, headSha, null, diffs::add, false);
+            } catch (GitLabApiException glae) {
+
+                // The last synced commit is unreachable, for example after a force push
+                if (glae.getHttpStatus() != 404) {
+                    throw glae;
+                }
+
+                LOG.info("Commit " + syncedSha + " not found, doing a full sync");
+            }
+
+            if (compareResults != null) {
+                if (Boolean.TRUE.equals(compareResults.getCompareTimeout())) {
+                    LOG.info("Unable to compare " + syncedSha + " with " + headSha + ", doing a full sync");
+                } else {
+                    result = applyDiffs(syncedSha, headSha, diffs);
+                }
+            }
+        }
+
+        if (result == null) {
+            result = fullSync(syncedSha, headSha);
+        }
+
+        writeSyncedSha(headSha);
+        return (result);
+    }
+
+    private SyncResult applyDiffs(String fromSha, String toSha, List<Diff> diffs) throws GitLabApiException {
+
+        Set<String> updated = new LinkedHashSet<>();
+        Set<String> deleted = new LinkedHashSet<>();
+        for (Diff diff : diffs) {
+
+            // A renamed file is deleted at its old path, and fetched at its new path as it may also have been modified
+            if (Boolean.TRUE.equals(diff.getRenamedFile()) || Boolean.TRUE.equals(diff.getDeletedFile())) {
+                deleted.add(diff.getOldPath());
+            }
+
+            // A file replaced by a submodule is deleted, as submodules are not part of the snapshot
+            if (SUBMODULE_MODE.equals(diff.getBMode()) && !SUBMODULE_MODE.equals(diff.getAMode())) {
+                deleted.add(diff.getOldPath());
+            }
+
+            if (!Boolean.TRUE.equals(diff.getDeletedFile()) && !SUBMODULE_MODE.equals(diff.getBMode())) {
+                updated.add(diff.getNewPath());
+            }
+        }
+
+        // A path can be deleted and then reused by a rename in the same compare
+        deleted.removeAll(updated);
+
+        delete(deleted);
+        fetch(toSha, updated);
+        return (new SyncResult(fromSha, toSha, false, new ArrayList<>(updated), new ArrayList<>(deleted)));
+    }
+
+    private SyncResult fullSync(String fromSha, String toSha) throws GitLabApiException {
+
+        Set<String> paths = new LinkedHashSet<>();
+        new TreeWalker(gitLabApi.getRepositoryApi(), parallelism).withMaxCachedItems(0).walk(projectId, null, toSha, item -> {
+            if (item.getType() == TreeItem.Type.BLOB) {
+                paths.add(item.getPath());
+            }
+        });
+
+        // Delete the local files that are no longer in the repository
+        Set<String> stale = new HashSet<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            stale.addAll(files.filter(Files::isRegularFile)
+                    .map(file -> root.relativize(file).toString().replace(File.separatorChar, '/'))
+                    .filter(path -> !STATE_FILENAME.equals(path) && !paths.contains(path))
+                    .collect(Collectors.toList()));
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+
+        delete(stale);
+        fetch(toSha, paths);
+        return (new SyncResult(fromSha, toSha, true, new ArrayList<>(paths), new ArrayList<>(stale)));
+    }
+
+    private void fetch(String sha, Set<String> paths) throws GitLabApiException {
+
+        if (paths.isEmpty()) {
+            return;
+        }
+
+        BulkFileFetcher.Result result = new BulkFileFetcher(gitLabApi.getRepositoryApi(), parallelism)
+                .fetch(projectId, sha, paths, root.toFile());
+        if (!result.isSuccessful()) {
+            Map.Entry<String, Exception> failure = result.getFailures().entrySet().iterator().next();
+            throw new GitLabApiException("Failed to fetch " + result.getFailures().size() + " file(s), " +
+                    failure.getKey() + ": " + failure.getValue().getMessage());
+        }
+    }
+
+    private void delete(Set<String> paths) throws GitLabApiException {
+
+        try {
+
+            for (String path : paths) {
+
+                Path file = root.resolve(path).normalize();
+                if (!file.startsWith(root) || file.equals(root)) {
+                    continue;
+                }
+
+                Files.deleteIfExists(file);
+
+                // Remove the directories left empty by the delete
+                for (Path dir = file.getParent(); dir != null && !dir.equals(root) && dir.startsWith(root); dir = dir.getParent()) {
+                    try (Stream<Path> entries = Files.list(dir)) {
+                        if (entries.findAny().isPresent()) {
+                            break;
+                        }
+                    }
+
+                    Files.delete(dir);
+                }
+            }
+
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+    }
+
+    private void writeSyncedSha(String sha) throws GitLabApiException {
+
+        try {
+
+            Path tempFile = Files.createTempFile(root, STATE_FILENAME, ".tmp");
+            Files.write(tempFile, sha.getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(tempFile, root.resolve(STATE_FILENAME), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException amnse) {
+                Files.move(tempFile, root.resolve(STATE_FILENAME), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+        } catch (IOException ioe) {
+            throw new GitLabApiException(ioe);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.gitlab4j.api;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
+/**
+ * This class collapses concurrent identical GET requests into a single call to the GitLab server. The
+ * first caller for a request key makes the call, callers with the same key that arrive while the call
+ * is in flight wait for it. If any callers waited, the response body is buffered and every caller,
+ * including the first, receives its own copy of the response to read and decode.
+ *
+ * When no other caller waits the first caller receives the response as is, so uncontended requests
+ * are neither buffered nor delayed.
+ */
+class RequestCoalescer {
+
+    /** The request property holding the Flight whose response is replayed instead of making a call. */
+    static final String REPLAY_PROPERTY = RequestCoalescer.class.getName() + ".replay";
+
+    /** The request filter, registered with every Jersey Client, that replays coalesced responses. */
+    static final ClientRequestFilter REPLAY_FILTER = new ReplayFilter();
+
+    private static class ReplayFilter implements ClientRequestFilter {
+
+        @Override
+        public void filter(ClientRequestContext requestContext) throws IOException {
+            Object flight = requestContext.getProperty(REPLAY_PROPERTY);
+            if (flight instanceof Flight) {
+                requestContext.abortWith(((Flight)flight).toResponse());
+            }
+        }
+    }
+
+    /**
+     * An in flight request and, once it completes, its buffered response.
+     */
+    static class Flight {
+
+        private boolean closed;
+        private boolean done;
+        private boolean failed;
+        private int waiters;
+
+        private int status;
+        private MultivaluedMap<String, String> headers;
+        private byte[] body;
+
+        private synchronized boolean join() {
+
+            if (closed) {
+                return (false);
+            }
+
+            waiters++;
+            return (true);
+        }
+
+        private synchronized int close() {
+            closed = true;
+            return (waiters);
+        }
+
+        private synchronized void complete(Response response, byte[] body) {
+            this.status = response.getStatus();
+            this.headers = new MultivaluedHashMap<>(response.getStringHeaders());
+            this.body = body;
+            done = true;
+            notifyAll();
+        }
+
+        private synchronized void fail() {
+            failed = true;
+            done = true;
+            notifyAll();
+        }
+
+        private synchronized boolean await() throws InterruptedException {
+
+            while (!done) {
+                wait();
+            }
+
+            return (!failed);
+        }
+
+        private synchronized Response toResponse() {
+
+            ResponseBuilder builder = Response.status(status);
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                if (!"Transfer-Encoding".equalsIgnoreCase(header.getKey())) {
+                    for (String value : header.getValue()) {
+                        builder.header(header.getKey(), value);
+                    }
+                }
+            }
+
+            return (builder.entity(body).build());
+        }
+    }
+
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Performs the request, or waits for an identical request that is already in flight.
+     *
+     * @param key the key identifying identical requests
+     * @param request makes the call to the GitLab server
+     * @param replay creates the response of a caller from the completed Flight
+     * @return the response of the request
+     */
+    Response execute(String key, Supplier<Response> request, Function<Flight, Response> replay) {
+
+        Flight flight;
+        while (true) {
+
+            flight = flights.get(key);
+            if (flight != null && flight.join()) {
+                return (await(flight, request, replay));
+            }
+
+            if (flight != null) {
+                flights.remove(key, flight);
+            } else {
+
+                flight = new Flight();
+                if (flights.putIfAbsent(key, flight) == null) {
+                    break;
+                }
+            }
+        }
+
+        Response response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            flights.remove(key, flight);
+            flight.close();
+            flight.fail();
+            throw e;
+        }
+
+        flights.remove(key, flight);
+        if (flight.close() == 0) {
+            return (response);
+        }
+
+        try {
+            byte[] body = (response.hasEntity() ? response.readEntity(byte[].class) : null);
+            flight.complete(response, body);
+        } catch (RuntimeException e) {
+            flight.fail();
+            throw e;
+        }
+
+        return (replay.apply(flight));
+    }
+
+    /**
+     * Get the number of requests currently in flight.
+     *
+     * @return the number of requests currently in flight
+     */
+    int getInFlightCount() {
+        return (flights.size());
+    }
+
+    // Waits for the flight, if it failed or the wait is interrupted the caller makes its own call
+    private Response await(Flight flight, Supplier<Response> request, Function<Flight, Response> replay) {
+
+        try {
+            if (flight.await()) {
+                return (replay.apply(flight));
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+
+        return (request.get());
+    }
+}
@@ -0,0 +1,237 @@
+package org.gitlab4j.api;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.gitlab4j.api.models.Version;
+
+/**
+ * This class provides the version of the GitLab server and the capabilities derived from it, fetching
+ * the version once and caching it for a configurable time. Code that needs to choose between endpoints
+ * or features by server version can use it instead of calling {@link GitLabApi#getVersion()} each time,
+ * for example {@link ProjectApi#getProjectsInIdOrder(int)} uses keyset pagination when the server supports it.
+ *
+ * <pre><code>
+ * ServerCapabilities capabilities = gitLabApi.getServerCapabilities();
+ * if (capabilities.supports(ServerCapabilities.KEYSET_PAGINATION)) {
+ *     ...
+ * }
+ * </code></pre>
+ *
+ * Capabilities not defined by this class can be defined by the caller with {@link Capability#Capability(String, String)}.
+ */
+public class ServerCapabilities {
+
+    /** The default time in milliseconds the server version is cached, 1 hour. */
+    public static final long DEFAULT_TTL_MILLIS = 60 * 60 * 1000L;
+
+    /**
+     * A capability of the GitLab server that is available from a minimum version and, optionally,
+     * up to the version it was removed in.
+     */
+    public static class Capability {
+
+        private final String name;
+        private final String minimumVersion;
+        private final String removedInVersion;
+
+        /**
+         * Create a Capability available from the specified version.
+         *
+         * @param name the name of the capability
+         * @param minimumVersion the first version the capability is available in, null if available in all versions
+         */
+        public Capability(String name, String minimumVersion) {
+            this(name, minimumVersion, null);
+        }
+
+        /**
+         * Create a Capability available from the specified version up to the version it was removed in.
+         *
+         * @param name the name of the capability
+         * @param minimumVersion the first version the capability is available in, null if available in all earlier versions
+         * @param removedInVersion the first version the capability is no longer available in, null if not removed
+         */
+        public Capability(String name, String minimumVersion, String removedInVersion) {
+            this.name = name;
+            this.minimumVersion = minimumVersion;
+            this.removedInVersion = removedInVersion;
+        }
+
+        public String getName() {
+            return (name);
+        }
+
+        public String getMinimumVersion() {
+            return (minimumVersion);
+        }
+
+        public String getRemovedInVersion() {
+            return (removedInVersion);
+        }
+
+        @Override
+        public String toString() {
+            return (name);
+        }
+    }
+
+    /** Keyset pagination of the projects list, ordered by ID, available since GitLab 13.0. */
+    public static final Capability KEYSET_PAGINATION = new Capability("Keyset pagination", "13.0");
+
+    // The fetched version, the numbers parsed from it, and the capabilities derived from it
+    private static class Snapshot {
+
+        private final Version version;
+        private final int[] numbers;
+        private final long expiresAt;
+        private final ConcurrentHashMap<Capability, Boolean> capabilities = new ConcurrentHashMap<>();
+
+        Snapshot(Version version, long expiresAt) {
+            this.version = version;
+            this.numbers = parseVersion(version.getVersion());
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return (expiresAt - System.currentTimeMillis() <= 0);
+        }
+    }
+
+    private final GitLabApi gitLabApi;
+    private final long ttlMillis;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Create a ServerCapabilities instance for the server of the specified GitLabApi instance.
+     *
+     * @param gitLabApi the GitLabApi instance used to fetch the server version
+     */
+    ServerCapabilities(GitLabApi gitLabApi) {
+        this(gitLabApi, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Create a ServerCapabilities instance for the server of the specified GitLabApi instance.
+     *
+     * @param gitLabApi the GitLabApi instance used to fetch the server version
+     * @param ttlMillis the time in milliseconds the server version is cached
+     */
+    public ServerCapabilities(GitLabApi gitLabApi, long ttlMillis) {
+        this.gitLabApi = gitLabApi;
+        this.ttlMillis = Math.max(0, ttlMillis);
+    }
+
+    /**
+     * Get the version of the GitLab server, fetching it if it is not cached or the cached version expired.
+     *
+     * @return the version of the GitLab server
+     * @throws GitLabApiException if any exception occurs while fetching the version
+     */
+    public Version getVersion() throws GitLabApiException {
+        return (getSnapshot().version);
+    }
+
+    /**
+     * Returns true if the version of the GitLab server is the specified version or later.
+     *
+     * @param minimumVersion the version to compare to, for example "10.4"
+     * @return true if the version of the GitLab server is the specified version or later
+     * @throws GitLabApiException if any exception occurs while fetching the version
+     */
+    public boolean isAtLeast(String minimumVersion) throws GitLabApiException {
+        return (compare(getSnapshot().numbers, parseVersion(minimumVersion)) >= 0);
+    }
+
+    /**
+     * Returns true if the GitLab server has the specified capability. The result is cached until the
+     * cached server version expires.
+     *
+     * @param capability the Capability to check for
+     * @return true if the GitLab server has the specified capability
+     * @throws GitLabApiException if any exception occurs while fetching the version
+     */
+    public boolean supports(Capability capability) throws GitLabApiException {
+
+        Snapshot snapshot = getSnapshot();
+        Boolean supported = snapshot.capabilities.get(capability);
+        if (supported == null) {
+            int[] numbers = snapshot.numbers;
+            supported = (capability.minimumVersion == null || compare(numbers, parseVersion(capability.minimumVersion)) >= 0) &&
+                    (capability.removedInVersion == null || compare(numbers, parseVersion(capability.removedInVersion)) < 0);
+            snapshot.capabilities.put(capability, supported);
+        }
+
+        return (supported);
+    }
+
+    /**
+     * Discards the cached server version and capabilities, the version is fetched again on next use.
+     */
+    public void refresh() {
+        snapshot = null;
+    }
+
+    private Snapshot getSnapshot() throws GitLabApiException {
+
+        Snapshot snapshot = this.snapshot;
+        if (snapshot != null && !snapshot.isExpired()) {
+            return (snapshot);
+        }
+
+        synchronized (this) {
+
+            snapshot = this.snapshot;
+            if (snapshot == null || snapshot.isExpired()) {
+                snapshot = new Snapshot(gitLabApi.getVersion(), System.currentTimeMillis() + ttlMillis);
+                this.snapshot = snapshot;
+            }
+
+            return (snapshot);
+        }
+    }
+
+    /**
+     * Parses the major, minor and patch numbers from a version string such as "10.4.2-ee". Missing
+     * numbers are returned as 0.
+     *
+     * @param version the version string to parse
+     * @return an array holding the major, minor and patch numbers
+     */
+    static int[] parseVersion(String version) {
+
+        int[] numbers = new int[3];
+        if (version == null) {
+            return (numbers);
+        }
+
+        int index = 0;
+        int length = version.length();
+        for (int i = 0; i < numbers.length && index < length; i++) {
+
+            int value = 0;
+            while (index < length && Character.isDigit(version.charAt(index))) {
+                value = value * 10 + (version.charAt(index++) - '0');
+            }
+
+            numbers[i] = value;
+            if (index >= length || version.charAt(index) != '.') {
+                break;
+            }
+
+            index++;
+        }
+
+        return (numbers);
+    }
+
+    private static int compare(int[] a, int[] b) {
+
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) {
+                return (a[i] < b[i] ? -1 : 1);
+            }
+        }
+
+        return (0);
+    }
+}
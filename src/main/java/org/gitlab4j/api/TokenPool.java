@@ -0,0 +1,277 @@
+package org.gitlab4j.api;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.Response;
+
+import org.gitlab4j.api.Constants.TokenType;
+
+/**
+ * This class provides a pool of auth tokens that requests are spread over, to raise the aggregate
+ * throughput of large crawls beyond the rate limit of a single account. Each request is made with the
+ * token that has the most remaining rate limit budget, as reported by the RateLimit-Remaining and
+ * RateLimit-Reset response headers. A token that is rejected with a 401 (Unauthorized) is marked as
+ * revoked and no longer used, failed GET requests are retried with another token.
+ *
+ * <pre><code>
+ * TokenPool tokenPool = new TokenPool()
+ *         .withToken(TokenType.PRIVATE, "token-1")
+ *         .withToken(TokenType.PRIVATE, "token-2");
+ * gitLabApi.setTokenPool(tokenPool);
+ * </code></pre>
+ *
+ * If every token in the pool has been revoked, requests are made with the token the GitLabApi was
+ * created with.
+ */
+public class TokenPool {
+
+    private final static Logger LOG = Logger.getLogger(TokenPool.class.getName());
+
+    static final String RATE_LIMIT_REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET_HEADER = "RateLimit-Reset";
+    static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    /** The request property holding the pooled Token a request was made with. */
+    static final String TOKEN_PROPERTY = TokenPool.class.getName() + ".token";
+
+    /** The response filter, registered with every Jersey Client, that reports responses to the pool. */
+    static final ClientResponseFilter RESPONSE_FILTER = new ResponseFilter();
+
+    /**
+     * A token in the pool and its rate limit budget, all state is guarded by the pool.
+     */
+    static class Token {
+
+        private final TokenPool pool;
+        private final TokenType tokenType;
+        private final String authToken;
+
+        // The remaining number of requests, -1 if not known
+        private long remaining = -1;
+
+        // The time in milliseconds the rate limit budget is reset, 0 if not known
+        private long resetAt;
+        private boolean revoked;
+
+        Token(TokenPool pool, TokenType tokenType, String authToken) {
+            this.pool = pool;
+            this.tokenType = tokenType;
+            this.authToken = authToken;
+        }
+
+        TokenType getTokenType() {
+            return (tokenType);
+        }
+
+        String getAuthToken() {
+            return (authToken);
+        }
+    }
+
+    private static class ResponseFilter implements ClientResponseFilter {
+
+        @Override
+        public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+            Object token = requestContext.getProperty(TOKEN_PROPERTY);
+            if (token instanceof Token) {
+                ((Token)token).pool.update((Token)token, responseContext);
+            }
+        }
+    }
+
+    // The sequence the IDs of the pools are taken from
+    private static final AtomicLong POOL_IDS = new AtomicLong();
+
+    private final long id = POOL_IDS.incrementAndGet();
+    private final List<Token> tokens = new ArrayList<>();
+    private int nextIndex;
+
+    /**
+     * Get the ID that uniquely identifies this pool, unlike its identity hash code.
+     *
+     * @return the ID that uniquely identifies this pool
+     */
+    long getId() {
+        return (id);
+    }
+
+    /**
+     * Adds a token to the pool.
+     *
+     * @param tokenType the type of auth the token is for, PRIVATE or ACCESS
+     * @param authToken the token to authenticate with
+     * @return this TokenPool instance
+     */
+    public synchronized TokenPool withToken(TokenType tokenType, String authToken) {
+
+        if (authToken == null || authToken.trim().isEmpty()) {
+            throw new IllegalArgumentException("authToken cannot be empty");
+        }
+
+        tokens.add(new Token(this, (tokenType != null ? tokenType : TokenType.PRIVATE), authToken));
+        return (this);
+    }
+
+    /**
+     * Adds a private token to the pool.
+     *
+     * @param privateToken the private token to authenticate with
+     * @return this TokenPool instance
+     */
+    public TokenPool withToken(String privateToken) {
+        return (withToken(TokenType.PRIVATE, privateToken));
+    }
+
+    /**
+     * Get the number of tokens in the pool, including revoked tokens.
+     *
+     * @return the number of tokens in the pool
+     */
+    public synchronized int size() {
+        return (tokens.size());
+    }
+
+    /**
+     * Get the number of tokens in the pool that have not been revoked.
+     *
+     * @return the number of tokens in the pool that have not been revoked
+     */
+    public synchronized int getActiveCount() {
+
+        int count = 0;
+        for (Token token : tokens) {
+            if (!token.revoked) {
+                count++;
+            }
+        }
+
+        return (count);
+    }
+
+    /**
+     * Returns true if the specified token was rejected by the server and is no longer used.
+     *
+     * @param authToken the token to check
+     * @return true if the specified token was rejected by the server, otherwise false
+     */
+    public synchronized boolean isRevoked(String authToken) {
+        Token token = find(authToken);
+        return (token != null && token.revoked);
+    }
+
+    /**
+     * Get the estimated number of requests the specified token can make before it is rate limited.
+     *
+     * @param authToken the token to get the remaining budget of
+     * @return the estimated number of remaining requests, or -1 if not known
+     */
+    public synchronized long getRemaining(String authToken) {
+        Token token = find(authToken);
+        return (token != null ? token.remaining : -1);
+    }
+
+    /**
+     * Draws the token to make the next request with, the token with the most remaining budget. Tokens
+     * with an unknown budget are preferred and tokens with equal budgets are used in turn. If every token
+     * has run out of budget the token whose budget is reset first is returned.
+     *
+     * @return the token to make the next request with, or null if every token has been revoked
+     */
+    synchronized Token nextToken() {
+
+        long now = System.currentTimeMillis();
+        int size = tokens.size();
+        Token best = null;
+        long bestScore = -1;
+
+        for (int i = 0; i < size; i++) {
+
+            Token token = tokens.get((nextIndex + i) % size);
+            if (token.revoked) {
+                continue;
+            }
+
+            // Once the reset time has passed the budget is no longer known
+            if (token.resetAt > 0 && token.resetAt <= now) {
+                token.remaining = -1;
+                token.resetAt = 0;
+            }
+
+            long score = (token.remaining < 0 ? Long.MAX_VALUE : token.remaining);
+            if (best == null || score > bestScore || (score == 0 && bestScore == 0 && token.resetAt < best.resetAt)) {
+                best = token;
+                bestScore = score;
+            }
+        }
+
+        if (best == null) {
+            return (null);
+        }
+
+        nextIndex = (tokens.indexOf(best) + 1) % size;
+        if (best.remaining > 0) {
+            best.remaining--;
+        }
+
+        return (best);
+    }
+
+    private synchronized void update(Token token, ClientResponseContext responseContext) {
+
+        int status = responseContext.getStatus();
+        if (status == Response.Status.UNAUTHORIZED.getStatusCode()) {
+            if (!token.revoked) {
+                token.revoked = true;
+                LOG.warning("Removing a " + token.tokenType + " token from the token pool, it was rejected with a 401 (Unauthorized) status");
+            }
+
+            return;
+        }
+
+        long remaining = parseLong(responseContext.getHeaderString(RATE_LIMIT_REMAINING_HEADER));
+        if (remaining >= 0) {
+            token.remaining = remaining;
+        } else if (status == 429) {
+            token.remaining = 0;
+        }
+
+        long reset = parseLong(responseContext.getHeaderString(RATE_LIMIT_RESET_HEADER));
+        if (reset >= 0) {
+            token.resetAt = reset * 1000;
+        } else if (status == 429) {
+            long retryAfter = parseLong(responseContext.getHeaderString(RETRY_AFTER_HEADER));
+            token.resetAt = System.currentTimeMillis() + Math.max(1, retryAfter) * 1000;
+        }
+    }
+
+    private Token find(String authToken) {
+
+        for (Token token : tokens) {
+            if (token.authToken.equals(authToken)) {
+                return (token);
+            }
+        }
+
+        return (null);
+    }
+
+    private static long parseLong(String value) {
+
+        if (value == null) {
+            return (-1);
+        }
+
+        try {
+            return (Long.parseLong(value.trim()));
+        } catch (NumberFormatException nfe) {
+            return (-1);
+        }
+    }
+}
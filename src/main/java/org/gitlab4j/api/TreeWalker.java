@@ -0,0 +1,346 @@
+package org.gitlab4j.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.gitlab4j.api.models.TreeItem;
+
+/**
+ * This class walks the complete tree of a repository, splitting the walk into subtrees that are
+ * fetched concurrently. Directories shallower than the split depth are listed one level at a time,
+ * each directory at the split depth is listed with a single recursive listing, and these listings
+ * are done in parallel by up to parallelism threads.
+ *
+ * <p>Trees are content-addressed, so the recursive listing of a directory is cached keyed by the SHA
+ * of its tree. Walking a ref again only fetches the directories that changed, and identical
+ * directories at different paths are only fetched once.</p>
+ *
+ * <pre><code>
+ * TreeWalker treeWalker = new TreeWalker(gitLabApi.getRepositoryApi(), 8);
+ * treeWalker.walk(projectId, null, "master", item -&gt; System.out.println(item.getPath()));
+ * </code></pre>
+ *
+ * TreeItems are passed to the consumer as they arrive, one at a time, in no particular order.
+ */
+public class TreeWalker {
+
+    /** The default maximum number of TreeItems held in the subtree cache. */
+    public static final int DEFAULT_MAX_CACHED_ITEMS = 200000;
+
+    /** The default number of TreeItems fetched per page. */
+    public static final int DEFAULT_ITEMS_PER_PAGE = 100;
+
+    private final RepositoryApi repositoryApi;
+    private final int parallelism;
+    private int splitDepth = 1;
+    private int itemsPerPage = DEFAULT_ITEMS_PER_PAGE;
+    private int maxCachedItems = DEFAULT_MAX_CACHED_ITEMS;
+
+    // LRU cache of tree SHA to the recursive listing of the tree with paths relative to it, guarded by itself
+    private final LinkedHashMap<String, List<TreeItem>> subtreeCache = new LinkedHashMap<>(16, 0.75f, true);
+    private int cachedItems;
+
+    /**
+     * Create a TreeWalker that will fetch up to parallelism subtrees concurrently.
+     *
+     * @param repositoryApi the RepositoryApi used to list the trees
+     * @param parallelism the maximum number of subtrees fetched concurrently
+     */
+    public TreeWalker(RepositoryApi repositoryApi, int parallelism) {
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be greater than 0");
+        }
+
+        this.repositoryApi = repositoryApi;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Set the depth at which directories are listed recursively, shallower directories are listed one
+     * level at a time so their subdirectories can be fetched in parallel. The default is 1, which splits
+     * the walk per top-level directory.
+     *
+     * @param splitDepth the depth at which directories are listed recursively
+     * @return this TreeWalker instance
+     */
+    public TreeWalker withSplitDepth(int splitDepth) {
+        this.splitDepth = Math.max(0, splitDepth);
+        return (this);
+    }
+
+    /**
+     * Set the number of TreeItems fetched per page.
+     *
+     * @param itemsPerPage the number of TreeItems fetched per page
+     * @return this TreeWalker instance
+     */
+    public TreeWalker withItemsPerPage(int itemsPerPage) {
+        this.itemsPerPage = Math.max(1, itemsPerPage);
+        return (this);
+    }
+
+    /**
+     * Set the maximum number of TreeItems held in the subtree cache, 0 disables caching.
+     *
+     * @param maxCachedItems the maximum number of TreeItems held in the subtree cache
+     * @return this TreeWalker instance
+     */
+    public TreeWalker withMaxCachedItems(int maxCachedItems) {
+        this.maxCachedItems = Math.max(0, maxCachedItems);
+        return (this);
+    }
+
+    /**
+     * Walks the tree under the specified path and passes every TreeItem to the consumer. The consumer is
+     * never called concurrently.
+     *
+     * @param projectId the ID of the project to walk the tree for
+     * @param filePath the path inside repository to start the walk at, null or empty for the root
+     * @param refName the name of a repository branch or tag, or a commit SHA, if null the default branch
+     * @param consumer the Consumer that is passed every TreeItem
+     * @throws GitLabApiException if any exception occurs
+     */
+    public void walk(Integer projectId, String filePath, String refName, Consumer<TreeItem> consumer) throws GitLabApiException {
+
+        Walk walk = new Walk(projectId, refName, consumer);
+        try {
+            walk.submitDirectory(filePath, 0);
+            walk.await();
+        } finally {
+            walk.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Walks the tree under the specified path and returns every TreeItem.
+     *
+     * @param projectId the ID of the project to walk the tree for
+     * @param filePath the path inside repository to start the walk at, null or empty for the root
+     * @param refName the name of a repository branch or tag, or a commit SHA, if null the default branch
+     * @return a List of all the TreeItems under the specified path
+     * @throws GitLabApiException if any exception occurs
+     */
+    public List<TreeItem> getTree(Integer projectId, String filePath, String refName) throws GitLabApiException {
+        List<TreeItem> items = new ArrayList<>();
+        walk(projectId, filePath, refName, items::add);
+        return (items);
+    }
+
+    /**
+     * Removes all the subtree listings from the cache.
+     */
+    public void clearCache() {
+        synchronized (subtreeCache) {
+            subtreeCache.clear();
+            cachedItems = 0;
+        }
+    }
+
+    /**
+     * Get the number of TreeItems held in the subtree cache.
+     *
+     * @return the number of TreeItems held in the subtree cache
+     */
+    public int getCachedItems() {
+        synchronized (subtreeCache) {
+            return (cachedItems);
+        }
+    }
+
+    private List<TreeItem> getCachedSubtree(String sha) {
+        synchronized (subtreeCache) {
+            return (sha != null ? subtreeCache.get(sha) : null);
+        }
+    }
+
+    private void cacheSubtree(String sha, List<TreeItem> items) {
+
+        if (sha == null || items.size() > maxCachedItems) {
+            return;
+        }
+
+        synchronized (subtreeCache) {
+
+            List<TreeItem> previous = subtreeCache.put(sha, Collections.unmodifiableList(items));
+            cachedItems += items.size() - (previous != null ? previous.size() : 0);
+
+            Iterator<List<TreeItem>> iterator = subtreeCache.values().iterator();
+            while (cachedItems > maxCachedItems && iterator.hasNext()) {
+                cachedItems -= iterator.next().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static String joinPath(String parent, String child) {
+        return (parent == null || parent.isEmpty() ? child : parent + "/" + child);
+    }
+
+    private static TreeItem copyWithPath(TreeItem item, String path) {
+        TreeItem copy = new TreeItem();
+        copy.setId(item.getId());
+        copy.setMode(item.getMode());
+        copy.setName(item.getName());
+        copy.setType(item.getType());
+        copy.setPath(path);
+        return (copy);
+    }
+
+    /**
+     * Holds the state of a single walk.
+     */
+    private class Walk {
+
+        private final Integer projectId;
+        private final String refName;
+        private final Consumer<TreeItem> consumer;
+        private final ExecutorService executor;
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+        private int pending;
+
+        Walk(Integer projectId, String refName, Consumer<TreeItem> consumer) {
+            this.projectId = projectId;
+            this.refName = refName;
+            this.consumer = consumer;
+            this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "gitlab4j-tree-walker");
+                thread.setDaemon(true);
+                return (thread);
+            });
+        }
+
+        /**
+         * Lists the directory one level deep, emitting its items and submitting its subdirectories.
+         */
+        private void submitDirectory(String path, int depth) {
+            submit(() -> {
+
+                for (TreeItem item : list(path, false)) {
+
+                    emit(item);
+                    if (item.getType() == TreeItem.Type.TREE) {
+                        String itemPath = joinPath(path, item.getName());
+                        if (depth + 1 < splitDepth) {
+                            submitDirectory(itemPath, depth + 1);
+                        } else {
+                            submitSubtree(itemPath, item.getId());
+                        }
+                    }
+                }
+            });
+        }
+
+        /**
+         * Emits all the items under the directory from the cache, or from a single recursive listing.
+         */
+        private void submitSubtree(String path, String sha) {
+            submit(() -> {
+
+                List<TreeItem> subtree = getCachedSubtree(sha);
+                if (subtree != null) {
+                    for (TreeItem item : subtree) {
+                        emit(copyWithPath(item, joinPath(path, item.getPath())));
+                    }
+
+                    return;
+                }
+
+                // Remember the items with paths relative to the subtree, so the listing can be reused at any path
+                String prefix = path + "/";
+                List<TreeItem> relativeItems = new ArrayList<>();
+                for (TreeItem item : list(path, true)) {
+                    String itemPath = item.getPath();
+                    String relativePath = (itemPath != null && itemPath.startsWith(prefix) ? itemPath.substring(prefix.length()) : item.getName());
+                    relativeItems.add(copyWithPath(item, relativePath));
+                    emit(item);
+                }
+
+                cacheSubtree(sha, relativeItems);
+            });
+        }
+
+        private List<TreeItem> list(String path, boolean recursive) throws GitLabApiException {
+
+            List<TreeItem> items = new ArrayList<>();
+            Pager<TreeItem> pager = repositoryApi.getTree(projectId, path, refName, recursive, itemsPerPage);
+            try {
+                while (pager.hasNext()) {
+                    items.addAll(pager.next());
+                }
+            } catch (RuntimeException re) {
+                if (re.getCause() instanceof GitLabApiException) {
+                    throw (GitLabApiException) re.getCause();
+                }
+
+                throw re;
+            }
+
+            return (items);
+        }
+
+        private void emit(TreeItem item) {
+            synchronized (consumer) {
+                consumer.accept(item);
+            }
+        }
+
+        private void submit(Task task) {
+
+            synchronized (this) {
+                if (failure.get() != null) {
+                    return;
+                }
+
+                pending++;
+            }
+
+            executor.execute(() -> {
+                try {
+                    if (failure.get() == null) {
+                        task.run();
+                    }
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    synchronized (this) {
+                        pending--;
+                        notifyAll();
+                    }
+                }
+            });
+        }
+
+        private synchronized void await() throws GitLabApiException {
+
+            while (pending > 0 && failure.get() == null) {
+                try {
+                    wait();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new GitLabApiException(ie);
+                }
+            }
+
+            Exception e = failure.get();
+            if (e instanceof GitLabApiException) {
+                throw (GitLabApiException) e;
+            } else if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            } else if (e != null) {
+                throw new GitLabApiException(e);
+            }
+        }
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+}
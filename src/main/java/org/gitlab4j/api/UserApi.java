@@ -1,11 +1,13 @@
 package org.gitlab4j.api;
 
+import java.io.IOException;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 import javax.ws.rs.core.Form;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 
 import org.gitlab4j.api.GitLabApi.ApiVersion;
@@ -19,10 +21,32 @@ import org.gitlab4j.api.models.User;
  */
 public class UserApi extends AbstractApi {
 
+    private volatile UserCache userCache;
+
     UserApi(GitLabApi gitLabApi) {
         super(gitLabApi);
     }
 
+    /**
+     * Set the UserCache consulted by {@link #getUser(int)} and {@link #getUser(String)} before looking up a user
+     * on the GitLab server, null disables user caching. {@link GitLabApi#sudo(String)} and {@link GitLabApi#setSudoAsId(Integer)}
+     * look up the user they switch to through the cache as well, as the authenticated user. User caching is disabled by default.
+     *
+     * @param userCache the UserCache to use, or null to disable user caching
+     */
+    public void setUserCache(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    /**
+     * Get the UserCache consulted by {@link #getUser(int)} and {@link #getUser(String)}.
+     *
+     * @return the UserCache in use, or null if user caching is disabled
+     */
+    public UserCache getUserCache() {
+        return (userCache);
+    }
+
     /**
      * Get a list of users. Only returns the first page
      *
@@ -206,8 +230,13 @@ public class UserApi extends AbstractApi {
      * @throws GitLabApiException if any exception occurs
      */
     public User getUser(int userId) throws GitLabApiException {
-        Response response = get(Response.Status.OK, null, "users", userId);
-        return (response.readEntity(User.class));
+
+        UserCache userCache = this.userCache;
+        if (userCache != null) {
+            return (userCache.getUser(getApiClient().getIdentity(), userId, () -> get(userRequest(userId))));
+        }
+
+        return (get(userRequest(userId)));
     }
 
     /**
@@ -219,13 +248,24 @@ public class UserApi extends AbstractApi {
      * @return the User for the specified user ID as an Optional instance
      */
     public Optional<User> getOptionalUser(int userId) {
+
+        UserCache userCache = this.userCache;
+        if (userCache == null) {
+            return (getOptional(userRequest(userId)));
+        }
+
+        // Cache misses take the same path as uncached lookups
         try {
-            return (Optional.ofNullable(getUser(userId)));
+            return (Optional.ofNullable(userCache.getUser(getApiClient().getIdentity(), userId, () -> getExpectingNotFound(userRequest(userId)))));
         } catch (GitLabApiException glae) {
             return (GitLabApi.createOptionalFromException(glae));
         }
     }
 
+    private EntityRequest<User> userRequest(int userId) {
+        return (new EntityRequest<>(User.class, null, "users", userId));
+    }
+
     /**
      * Lookup a user by username.
      *
@@ -238,8 +278,17 @@ public class UserApi extends AbstractApi {
      * @throws GitLabApiException if any exception occurs
      */
     public User getUser(String username) throws GitLabApiException {
-        GitLabApiForm formData = new GitLabApiForm().withParam("username", username, true);
-        Response response = get(Response.Status.OK, formData.asMap(), "users");
+
+        UserCache userCache = this.userCache;
+        if (userCache != null && username != null) {
+            return (userCache.getUser(getApiClient().getIdentity(), username, () -> fetchUser(username)));
+        }
+
+        return (fetchUser(username));
+    }
+
+    private User fetchUser(String username) throws GitLabApiException {
+        Response response = get(Response.Status.OK, usernameQuery(username), "users");
         List<User> users = response.readEntity(new GenericType<List<User>>() {});
         return (users.isEmpty() ? null : users.get(0));
     }
@@ -255,13 +304,35 @@ public class UserApi extends AbstractApi {
      * @return the User for the specified username as an Optional instance
      */
     public Optional<User> getOptionalUser(String username) {
+
         try {
-            return (Optional.ofNullable(getUser(username)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
+
+            // A username that was recently not found is answered from the NotFoundCache
+            NotFoundCache notFoundCache = getApiClient().getNotFoundCache();
+            String key = null;
+            if (notFoundCache != null && username != null) {
+                key = getApiClient().getRequestKey(getApiClient().getApiUrl("users"), usernameQuery(username));
+                if (notFoundCache.get(key) != null) {
+                    return (Optional.empty());
+                }
+            }
+
+            User user = getUser(username);
+            if (user == null && key != null) {
+                notFoundCache.put(key, new GitLabApiException("404 User Not Found", Response.Status.NOT_FOUND.getStatusCode(), false));
+            }
+
+            return (Optional.ofNullable(user));
+
+        } catch (GitLabApiException | IOException e) {
+            return (GitLabApi.createOptionalFromException(handle(e)));
         }
     }
 
+    private MultivaluedMap<String, String> usernameQuery(String username) {
+        return (new GitLabApiForm().withParam("username", username, true).asMap());
+    }
+
     /**
      * Search users by Email or username
      *
@@ -587,8 +658,7 @@ public class UserApi extends AbstractApi {
      * @throws GitLabApiException if any exception occurs
      */
     public SshKey getSshKey(Integer keyId) throws GitLabApiException {
-        Response response = get(Response.Status.OK, null, "user", "keys", keyId);
-        return (response.readEntity(SshKey.class));
+        return (get(sshKeyRequest(keyId)));
     }
 
     /**
@@ -600,11 +670,11 @@ public class UserApi extends AbstractApi {
      * @return an SshKey as an Optional instance holding the info on the SSH key specified by keyId
      */
     public Optional<SshKey> getOptionalSshKey(Integer keyId) {
-        try {
-            return (Optional.ofNullable(getSshKey(keyId)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
-        }
+        return (getOptional(sshKeyRequest(keyId)));
+    }
+
+    private EntityRequest<SshKey> sshKeyRequest(Integer keyId) {
+        return (new EntityRequest<>(SshKey.class, null, "user", "keys", keyId));
     }
 
     /**
@@ -739,17 +809,7 @@ public class UserApi extends AbstractApi {
      * @throws GitLabApiException if any exception occurs
      */
     public ImpersonationToken getImpersonationToken(Integer userId, Integer tokenId) throws GitLabApiException {
-
-        if (userId == null) {
-            throw new RuntimeException("userId cannot be null");
-        }
-
-        if (tokenId == null) {
-            throw new RuntimeException("tokenId cannot be null");
-        }
-
-        Response response = get(Response.Status.OK, null, "users", userId, "impersonation_tokens", tokenId);
-        return (response.readEntity(ImpersonationToken.class));
+        return (get(impersonationTokenRequest(userId, tokenId)));
     }
 
     /**
@@ -762,11 +822,20 @@ public class UserApi extends AbstractApi {
      * @return the specified impersonation token as an Optional instance
      */
     public Optional<ImpersonationToken> getOptionalImpersonationToken(Integer userId, Integer tokenId) {
-        try {
-            return (Optional.ofNullable(getImpersonationToken(userId, tokenId)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
+        return (getOptional(impersonationTokenRequest(userId, tokenId)));
+    }
+
+    private EntityRequest<ImpersonationToken> impersonationTokenRequest(Integer userId, Integer tokenId) {
+
+        if (userId == null) {
+            throw new RuntimeException("userId cannot be null");
+        }
+
+        if (tokenId == null) {
+            throw new RuntimeException("tokenId cannot be null");
         }
+
+        return (new EntityRequest<>(ImpersonationToken.class, null, "users", userId, "impersonation_tokens", tokenId));
     }
 
     /**
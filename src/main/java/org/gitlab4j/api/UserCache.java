@@ -0,0 +1,287 @@
+package org.gitlab4j.api;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.ws.rs.core.Response;
+
+import org.gitlab4j.api.models.User;
+
+/**
+ * This class provides a bounded, time limited cache of User lookups by username and by user ID. Lookups
+ * of users that do not exist are cached as well, for a shorter time. When set on a {@link UserApi} the
+ * cache is consulted by {@link UserApi#getUser(String)} and {@link UserApi#getUser(int)}. Lookups are cached
+ * separately for each set of credentials and sudo user they are made as, as what a lookup returns depends
+ * on who makes it. {@link GitLabApi#sudo(String)} and {@link GitLabApi#setSudoAsId(Integer)} look up the user
+ * they switch to through the cache, as the authenticated user rather than the current sudo user.
+ *
+ * <pre><code>
+ * gitLabApi.getUserApi().setUserCache(new UserCache());
+ * User user = gitLabApi.getUserApi().getUser("jsmith");
+ * </code></pre>
+ *
+ * Cached users are not updated when they change on the server until their entry expires, use
+ * {@link #invalidate(String)} or {@link #clear()} if a change must be seen immediately.
+ */
+public class UserCache {
+
+    /** The default maximum number of cached lookups. */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    /** The default time in milliseconds a found user is cached, 5 minutes. */
+    public static final long DEFAULT_TTL_MILLIS = 5 * 60 * 1000L;
+
+    /** The default time in milliseconds a user that was not found is cached, 30 seconds. */
+    public static final long DEFAULT_NEGATIVE_TTL_MILLIS = 30 * 1000L;
+
+    /**
+     * Looks up a user on a cache miss.
+     */
+    interface Loader {
+
+        /**
+         * Looks up the user.
+         *
+         * @return the User, or null if the user does not exist
+         * @throws GitLabApiException if any exception occurs
+         */
+        User load() throws GitLabApiException;
+    }
+
+    private static class Entry {
+
+        private final User user;
+        private final long expiresAt;
+
+        Entry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+
+    // LRU ordered entries keyed by lower case username (String) or user ID (Integer), guarded by itself
+    private final LinkedHashMap<CacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create a UserCache with the default size and expiration times.
+     */
+    public UserCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS);
+    }
+
+    /**
+     * Create a UserCache with the specified size and expiration times.
+     *
+     * @param maxSize the maximum number of cached lookups
+     * @param ttlMillis the time in milliseconds a found user is cached
+     * @param negativeTtlMillis the time in milliseconds a user that was not found is cached, 0 disables negative caching
+     */
+    public UserCache(int maxSize, long ttlMillis, long negativeTtlMillis) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = Math.max(0, ttlMillis);
+        this.negativeTtlMillis = Math.max(0, negativeTtlMillis);
+    }
+
+    /**
+     * Get the user with the specified username as looked up by the specified identity, calling the loader
+     * if the lookup is not cached.
+     *
+     * @param identity the credentials and sudo user the lookup is made as, see {@link GitLabApiClient#getIdentity()}
+     * @param username the username of the user to get
+     * @param loader the Loader called to look up the user on a cache miss
+     * @return the User with the specified username, or null if the user does not exist
+     * @throws GitLabApiException if the loader fails
+     */
+    User getUser(String identity, String username, Loader loader) throws GitLabApiException {
+
+        CacheKey key = new CacheKey(identity, usernameKey(username));
+        Entry entry = getEntry(key);
+        if (entry != null) {
+            return (entry.user);
+        }
+
+        User user = loader.load();
+        store(key, user);
+        return (user);
+    }
+
+    /**
+     * Get the user with the specified user ID as looked up by the specified identity, calling the loader
+     * if the lookup is not cached. A user that does not exist is reported with a GitLabApiException with an
+     * HTTP status of 404, the same as an uncached lookup, created without capturing a stack trace when cached.
+     *
+     * @param identity the credentials and sudo user the lookup is made as, see {@link GitLabApiClient#getIdentity()}
+     * @param userId the ID of the user to get
+     * @param loader the Loader called to look up the user on a cache miss
+     * @return the User with the specified user ID
+     * @throws GitLabApiException if the user does not exist or the loader fails
+     */
+    User getUser(String identity, int userId, Loader loader) throws GitLabApiException {
+
+        CacheKey key = new CacheKey(identity, Integer.valueOf(userId));
+        Entry entry = getEntry(key);
+        if (entry != null) {
+            if (entry.user == null) {
+                throw new GitLabApiException("404 User Not Found", Response.Status.NOT_FOUND.getStatusCode(), false);
+            }
+
+            return (entry.user);
+        }
+
+        try {
+
+            User user = loader.load();
+            store(key, user);
+            return (user);
+
+        } catch (GitLabApiException glae) {
+            if (glae.getHttpStatus() == Response.Status.NOT_FOUND.getStatusCode()) {
+                store(key, null);
+            }
+
+            throw glae;
+        }
+    }
+
+    /**
+     * Removes the cached lookups of the specified username, for all identities.
+     *
+     * @param username the username to remove the cached lookups of
+     */
+    public void invalidate(String username) {
+        invalidate(usernameKey(username), null);
+    }
+
+    /**
+     * Removes the cached lookups of the specified user ID, for all identities.
+     *
+     * @param userId the user ID to remove the cached lookups of
+     */
+    public void invalidate(int userId) {
+        invalidate(null, Integer.valueOf(userId));
+    }
+
+    // Removes the entries of the specified username or user ID, and of the user they hold
+    private void invalidate(Object username, Integer userId) {
+
+        synchronized (entries) {
+
+            Iterator<Map.Entry<CacheKey, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+
+                Map.Entry<CacheKey, Entry> mapEntry = iterator.next();
+                Object id = mapEntry.getKey().getId();
+                User user = mapEntry.getValue().user;
+                if (id.equals(username) || id.equals(userId) || (user != null &&
+                        ((userId != null && userId.equals(user.getId())) ||
+                        (username != null && user.getUsername() != null && username.equals(usernameKey(user.getUsername())))))) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all the cached lookups.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the number of cached lookups, including expired lookups that have not been removed yet.
+     *
+     * @return the number of cached lookups
+     */
+    public int size() {
+        synchronized (entries) {
+            return (entries.size());
+        }
+    }
+
+    /**
+     * Get the number of lookups that were answered from the cache.
+     *
+     * @return the number of lookups that were answered from the cache
+     */
+    public long getHits() {
+        return (hits.sum());
+    }
+
+    /**
+     * Get the number of lookups that had to call the loader.
+     *
+     * @return the number of lookups that had to call the loader
+     */
+    public long getMisses() {
+        return (misses.sum());
+    }
+
+    private Entry getEntry(CacheKey key) {
+
+        synchronized (entries) {
+
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.currentTimeMillis() <= 0) {
+                entries.remove(key);
+                entry = null;
+            }
+
+            if (entry != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+
+            return (entry);
+        }
+    }
+
+    private void store(CacheKey key, User user) {
+
+        long ttl = (user != null ? ttlMillis : negativeTtlMillis);
+        if (ttl <= 0) {
+            return;
+        }
+
+        Entry entry = new Entry(user, System.currentTimeMillis() + ttl);
+        synchronized (entries) {
+
+            entries.put(key, entry);
+
+            // A found user is cached under both its username and its ID
+            if (user != null) {
+                if (user.getId() != null) {
+                    entries.put(new CacheKey(key.getIdentity(), user.getId()), entry);
+                }
+
+                if (user.getUsername() != null) {
+                    entries.put(new CacheKey(key.getIdentity(), usernameKey(user.getUsername())), entry);
+                }
+            }
+
+            Iterator<CacheKey> iterator = entries.keySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    // Usernames are case insensitive
+    private static Object usernameKey(String username) {
+        return (username.trim().toLowerCase(Locale.ROOT));
+    }
+}
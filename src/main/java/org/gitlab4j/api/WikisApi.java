@@ -95,8 +95,7 @@ public class WikisApi extends AbstractApi {
      * @throws GitLabApiException if any exception occurs
      */
     public WikiPage getPage(Integer projectId, String slug) throws GitLabApiException {
-        Response response = get(Response.Status.OK, null, "projects", projectId, "wikis", slug);
-        return (response.readEntity(WikiPage.class));
+        return (get(pageRequest(projectId, slug)));
     }
 
     /**
@@ -109,11 +108,11 @@ public class WikisApi extends AbstractApi {
      * @return the specified project Snippet as an Optional instance
      */
     public Optional<WikiPage> getOptionalPage(Integer projectId, String slug) {
-        try {
-            return (Optional.ofNullable(getPage(projectId, slug)));
-        } catch (GitLabApiException glae) {
-            return (GitLabApi.createOptionalFromException(glae));
-        }
+        return (getOptional(pageRequest(projectId, slug)));
+    }
+
+    private EntityRequest<WikiPage> pageRequest(Integer projectId, String slug) {
+        return (new EntityRequest<>(WikiPage.class, null, "projects", projectId, "wikis", slug));
     }
 
     /**
@@ -2,6 +2,7 @@
 package org.gitlab4j.api.systemhooks;
 
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
@@ -59,7 +60,7 @@ public class SystemHookManager extends HookManager {
             throw new GitLabApiException(message);
         }
 
-        String eventName = request.getHeader("X-Gitlab-Event");
+        String eventName = request.getHeader(X_GITLAB_EVENT_HEADER);
         LOG.info("handleEvent: X-Gitlab-Event=" + eventName);
         if (!SYSTEM_HOOK_EVENT.equals(eventName)) {
             String message = "Unsupported X-Gitlab-Event, event Name=" + eventName;
@@ -90,6 +91,50 @@ public class SystemHookManager extends HookManager {
         }
     }
 
+    /**
+     * Parses and verifies an SystemHookEvent instance from the raw POST data of a system hook callout
+     * and fires it off to the registered listeners. The SystemHookEvent is parsed directly from the
+     * provided bytes without any intermediate copies.
+     *
+     * @param eventName the value of the X-Gitlab-Event header
+     * @param secretToken the value of the X-Gitlab-Token header, may be null
+     * @param data the buffer holding the raw POST data
+     * @param offset the offset in data of the first byte of the POST data
+     * @param length the number of bytes of POST data
+     * @throws GitLabApiException if the secret token is invalid or the parsed event is not supported
+     */
+    @Override
+    public void handleEvent(String eventName, String secretToken, byte[] data, int offset, int length) throws GitLabApiException {
+
+        checkSecretToken(secretToken);
+
+        LOG.info("handleEvent: X-Gitlab-Event=" + eventName);
+        if (!SYSTEM_HOOK_EVENT.equals(eventName)) {
+            String message = "Unsupported X-Gitlab-Event, event Name=" + eventName;
+            LOG.warning(message);
+            throw new GitLabApiException(message);
+        }
+
+        try {
+
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.fine("Raw POST data:\n" + new String(data, offset, length, StandardCharsets.UTF_8));
+            }
+
+            SystemHookEvent event = jacksonJson.unmarshal(SystemHookEvent.class, data, offset, length);
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.fine(event.getEventName() + "\n" + jacksonJson.marshal(event) + "\n");
+            }
+
+            fireEvent(event);
+
+        } catch (Exception e) {
+            LOG.warning("Error processing JSON data, exception=" +
+                    e.getClass().getSimpleName() + ", error=" + e.getMessage());
+            throw new GitLabApiException(e);
+        }
+    }
+
     /**
      * Verifies the provided Event and fires it off to the registered listeners.
      * 
@@ -0,0 +1,73 @@
+package org.gitlab4j.api.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * This StreamingOutput implementation writes a JSON request body made up of string parameters and
+ * a Base64 encoded content field. The content is read from an InputStream and Base64 encoded as it
+ * is written, so it is never held in memory as a whole, regardless of its size.
+ */
+public class Base64ContentStreamingOutput implements StreamingOutput {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final Map<String, String> params = new LinkedHashMap<>();
+    private final String contentName;
+    private final InputStream content;
+
+    /**
+     * Create a Base64ContentStreamingOutput that writes the content read from the provided InputStream
+     * as the field with the specified name. The InputStream is closed once it has been written.
+     *
+     * @param contentName the name of the JSON field holding the Base64 encoded content
+     * @param content the InputStream to read the content from
+     */
+    public Base64ContentStreamingOutput(String contentName, InputStream content) {
+        this.contentName = contentName;
+        this.content = content;
+    }
+
+    /**
+     * Adds a string parameter to the request body, null values are omitted.
+     *
+     * @param name the name of the parameter
+     * @param value the value of the parameter
+     * @return this Base64ContentStreamingOutput instance
+     */
+    public Base64ContentStreamingOutput withParam(String name, String value) {
+
+        if (value != null) {
+            params.put(name, value);
+        }
+
+        return (this);
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException, WebApplicationException {
+
+        try (InputStream in = content; JsonGenerator generator = JSON_FACTORY.createGenerator(output)) {
+
+            generator.writeStartObject();
+            for (Map.Entry<String, String> param : params.entrySet()) {
+                generator.writeStringField(param.getKey(), param.getValue());
+            }
+
+            generator.writeFieldName(contentName);
+            generator.writeBinary(Base64Variants.MIME_NO_LINEFEEDS, in, -1);
+            generator.writeEndObject();
+        }
+    }
+}
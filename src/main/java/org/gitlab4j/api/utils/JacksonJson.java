@@ -117,6 +117,25 @@ public class JacksonJson extends JacksonJaxbJsonProvider implements ContextResol
         return (objectMapper.readValue(postData, returnType));
     }
 
+    /**
+     * Unmarshal the JSON data contained in the byte array and populate an instance of the provided returnType class.
+     * The data is parsed directly from the bytes, no intermediate String or Reader is created.
+     * 
+     * @param <T> the generics type for the return value
+     * @param returnType an instance of this type class will be returned
+     * @param data the buffer holding the UTF-8 encoded JSON data
+     * @param offset the offset in data of the first byte of the JSON data
+     * @param length the number of bytes of JSON data
+     * @return an instance of the provided class containing the parsed data from the byte array
+     * @throws JsonParseException when an error occurs paresing the provided JSON
+     * @throws JsonMappingException if a JSON error occurs
+     * @throws IOException if an error occurs reading the JSON data
+     */
+    public <T> T unmarshal(Class<T> returnType, byte[] data, int offset, int length) throws JsonParseException, JsonMappingException, IOException {
+        ObjectMapper objectMapper = getContext(returnType);
+        return (objectMapper.readValue(data, offset, length, returnType));
+    }
+
     /**
      * Marshals the supplied object out as a formatted JSON string.
      * 
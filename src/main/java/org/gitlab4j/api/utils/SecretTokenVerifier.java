@@ -0,0 +1,96 @@
+package org.gitlab4j.api.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class verifies secret tokens (the X-Gitlab-Token header) against one or more expected tokens.
+ * The expected tokens are encoded once when the verifier is created, and verification compares every
+ * character of every expected token regardless of where a mismatch occurs, so the time taken does not
+ * reveal how much of a token was guessed correctly. Verification does not allocate.
+ *
+ * <p>More than one expected token may be active at a time, which allows a secret token to be rotated
+ * by first adding the new token, updating the hook configuration in GitLab, and then removing the old token.</p>
+ */
+public final class SecretTokenVerifier {
+
+    private final char[][] tokens;
+
+    /**
+     * Create a SecretTokenVerifier for the specified expected tokens, null tokens are ignored.
+     *
+     * @param tokens the expected secret tokens
+     */
+    public SecretTokenVerifier(String... tokens) {
+
+        List<char[]> encoded = new ArrayList<>();
+        if (tokens != null) {
+            for (String token : tokens) {
+                if (token != null) {
+                    encoded.add(token.toCharArray());
+                }
+            }
+        }
+
+        this.tokens = encoded.toArray(new char[encoded.size()][]);
+    }
+
+    /**
+     * Returns true if this verifier has no expected tokens, in which case no token will match.
+     *
+     * @return true if this verifier has no expected tokens
+     */
+    public boolean isEmpty() {
+        return (tokens.length == 0);
+    }
+
+    /**
+     * Get the number of expected tokens.
+     *
+     * @return the number of expected tokens
+     */
+    public int size() {
+        return (tokens.length);
+    }
+
+    /**
+     * Returns true if the provided secret token matches any of the expected tokens. Every expected
+     * token is compared in full, so the time taken depends only on the expected tokens.
+     *
+     * @param secretToken the secret token to verify, may be null
+     * @return true if the provided secret token matches any of the expected tokens
+     */
+    public boolean matches(String secretToken) {
+
+        if (secretToken == null) {
+            return (false);
+        }
+
+        int matched = 0;
+        for (char[] token : tokens) {
+            matched |= (constantTimeEquals(token, secretToken) ? 1 : 0);
+        }
+
+        return (matched != 0);
+    }
+
+    /**
+     * Compares the expected token with the provided value in time that depends only on the
+     * length of the expected token.
+     *
+     * @param expected the expected token
+     * @param value the value to compare, must not be null
+     * @return true if the value is equal to the expected token
+     */
+    public static boolean constantTimeEquals(char[] expected, CharSequence value) {
+
+        int length = value.length();
+        int result = expected.length ^ length;
+        for (int i = 0; i < expected.length; i++) {
+            char c = (i < length ? value.charAt(i) : 0);
+            result |= expected[i] ^ c;
+        }
+
+        return (result == 0);
+    }
+}
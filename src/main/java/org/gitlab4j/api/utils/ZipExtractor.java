@@ -0,0 +1,206 @@
+package org.gitlab4j.api.utils;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * This class extracts selected entries from a ZIP stream in a single pass, as the stream is read.
+ * The archive is never written to disk, so large archives such as job artifacts can be extracted
+ * straight from the HTTP response.
+ *
+ * <p>Entries are selected with glob patterns matched against the entry name, where "*" matches any
+ * characters except "/", "**" matches any characters including "/", and "?" matches a single
+ * character other than "/". If no include patterns are set every entry is included.</p>
+ *
+ * <pre><code>
+ * ZipExtractor extractor = new ZipExtractor().withIncludes("reports/**.xml").withExcludes("**&#47;tmp/**");
+ * List&lt;File&gt; files = gitLabApi.getJobApi().downloadArtifactsFile(projectId, "master", "test", extractor, directory);
+ * </code></pre>
+ */
+public class ZipExtractor {
+
+    /**
+     * Handles the content of a selected ZIP entry.
+     */
+    public interface EntryHandler {
+
+        /**
+         * Called with the content of each selected entry, in the order the entries appear in the archive.
+         * The content must be consumed before returning, it does not need to be closed.
+         *
+         * @param entry the selected ZipEntry
+         * @param content the content of the entry
+         * @throws IOException if any error occurs, the extraction is aborted
+         */
+        void onEntry(ZipEntry entry, InputStream content) throws IOException;
+    }
+
+    private final List<Pattern> includes = new ArrayList<>();
+    private final List<Pattern> excludes = new ArrayList<>();
+
+    /**
+     * Add glob patterns that select the entries to extract.
+     *
+     * @param globs the glob patterns of the entries to extract
+     * @return this ZipExtractor instance
+     */
+    public ZipExtractor withIncludes(String... globs) {
+        for (String glob : globs) {
+            includes.add(toPattern(glob));
+        }
+
+        return (this);
+    }
+
+    /**
+     * Add glob patterns of entries that are not extracted, even if they match an include pattern.
+     *
+     * @param globs the glob patterns of the entries to skip
+     * @return this ZipExtractor instance
+     */
+    public ZipExtractor withExcludes(String... globs) {
+        for (String glob : globs) {
+            excludes.add(toPattern(glob));
+        }
+
+        return (this);
+    }
+
+    /**
+     * Returns true if the entry with the specified name is selected for extraction.
+     *
+     * @param name the name of the ZIP entry
+     * @return true if the entry with the specified name is selected for extraction
+     */
+    public boolean isSelected(String name) {
+
+        boolean included = includes.isEmpty();
+        for (int i = 0; !included && i < includes.size(); i++) {
+            included = includes.get(i).matcher(name).matches();
+        }
+
+        if (!included) {
+            return (false);
+        }
+
+        for (Pattern exclude : excludes) {
+            if (exclude.matcher(name).matches()) {
+                return (false);
+            }
+        }
+
+        return (true);
+    }
+
+    /**
+     * Reads the ZIP stream and passes the content of each selected file entry to the handler.
+     * The stream is read to the end of the archive but is not closed.
+     *
+     * @param in the InputStream to read the ZIP archive from
+     * @param handler the EntryHandler that is passed each selected entry
+     * @return the number of entries passed to the handler
+     * @throws IOException if the archive cannot be read or the handler fails
+     */
+    public int extract(InputStream in, EntryHandler handler) throws IOException {
+
+        ZipInputStream zipIn = new ZipInputStream(in);
+        InputStream entryIn = new FilterInputStream(zipIn) {
+            @Override
+            public void close() {
+                // The handler must not close the archive stream
+            }
+        };
+
+        int count = 0;
+        ZipEntry entry;
+        while ((entry = zipIn.getNextEntry()) != null) {
+
+            if (!entry.isDirectory() && isSelected(entry.getName())) {
+                handler.onEntry(entry, entryIn);
+                count++;
+            }
+
+            zipIn.closeEntry();
+        }
+
+        return (count);
+    }
+
+    /**
+     * Reads the ZIP stream and writes each selected file entry to the specified directory, keeping the
+     * path of the entry relative to the directory. Existing files are overwritten. The stream is read
+     * to the end of the archive but is not closed.
+     *
+     * @param in the InputStream to read the ZIP archive from
+     * @param directory the directory to write the entries to
+     * @return a List of the files that were written
+     * @throws IOException if the archive cannot be read, the files cannot be written, or an entry is outside of the directory
+     */
+    public List<File> extract(InputStream in, File directory) throws IOException {
+
+        Path root = directory.toPath().toAbsolutePath().normalize();
+        List<File> files = new ArrayList<>();
+        extract(in, (entry, content) -> {
+
+            Path file = root.resolve(entry.getName()).normalize();
+            if (!file.startsWith(root) || file.equals(root)) {
+                throw new IOException("ZIP entry is outside of the target directory: " + entry.getName());
+            }
+
+            Files.createDirectories(file.getParent());
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+            if (entry.getTime() >= 0) {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(entry.getTime()));
+            }
+
+            files.add(file.toFile());
+        });
+
+        return (files);
+    }
+
+    /**
+     * Converts a glob pattern to a regular expression Pattern.
+     */
+    static Pattern toPattern(String glob) {
+
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+
+                    // "**/" also matches no directories at all
+                    i++;
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '/') {
+                        i++;
+                        regex.append("(?:.*/)?");
+                    } else {
+                        regex.append(".*");
+                    }
+
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+
+        return (Pattern.compile(regex.toString()));
+    }
+}
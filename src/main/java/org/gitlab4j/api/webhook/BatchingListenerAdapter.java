@@ -0,0 +1,211 @@
+package org.gitlab4j.api.webhook;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Adapts a {@link BatchingWebHookListener} to a {@link WebHookListener}, buffering the received events
+ * and delivering them in batches of at most maxBatchSize events, no later than maxLatencyMillis after
+ * the first event of a batch was received.
+ */
+class BatchingListenerAdapter implements WebHookListener {
+
+    private final static Logger LOG = Logger.getLogger(BatchingListenerAdapter.class.getName());
+
+    private final BatchingWebHookListener listener;
+    private final int maxBatchSize;
+    private final long maxLatencyMillis;
+    private final ScheduledExecutorService scheduler;
+
+    // Serializes deliveries so that batches are delivered in order and never concurrently
+    private final Object deliveryLock = new Object();
+
+    private List<Event> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    BatchingListenerAdapter(BatchingWebHookListener listener, int maxBatchSize, long maxLatencyMillis, ScheduledExecutorService scheduler) {
+
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be greater than 0");
+        }
+
+        if (maxLatencyMillis <= 0) {
+            throw new IllegalArgumentException("maxLatencyMillis must be greater than 0");
+        }
+
+        this.listener = listener;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.scheduler = scheduler;
+    }
+
+    BatchingWebHookListener getListener() {
+        return (listener);
+    }
+
+    /**
+     * Delivers all the buffered events to the batching listener.
+     */
+    void flush() {
+
+        synchronized (deliveryLock) {
+
+            List<Event> batch;
+            synchronized (this) {
+
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+
+                if (pending.isEmpty()) {
+                    return;
+                }
+
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+
+            deliver(batch);
+        }
+    }
+
+    private void add(Event event) {
+
+        boolean flushNow;
+        synchronized (this) {
+
+            pending.add(event);
+            flushNow = (pending.size() >= maxBatchSize);
+            if (!flushNow && scheduledFlush == null) {
+                try {
+                    scheduledFlush = scheduler.schedule(this::scheduledFlush, maxLatencyMillis, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException ree) {
+                    // The dispatcher has been shut down, deliver right away rather than holding the event
+                    flushNow = true;
+                }
+            }
+        }
+
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    private void scheduledFlush() {
+
+        try {
+            flush();
+        } catch (RuntimeException re) {
+            LOG.log(Level.WARNING, "Error delivering batched WebHook events", re);
+        }
+    }
+
+    /**
+     * Splits the events into per-kind batches of at most maxBatchSize events and delivers them.
+     */
+    private void deliver(List<Event> events) {
+
+        Map<String, List<Event>> batches = new LinkedHashMap<>();
+        for (Event event : events) {
+            batches.computeIfAbsent(event.getObjectKind(), k -> new ArrayList<>()).add(event);
+        }
+
+        for (Map.Entry<String, List<Event>> entry : batches.entrySet()) {
+
+            List<Event> batch = entry.getValue();
+            for (int start = 0; start < batch.size(); start += maxBatchSize) {
+                deliver(entry.getKey(), batch.subList(start, Math.min(start + maxBatchSize, batch.size())));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(String objectKind, List<? extends Event> batch) {
+
+        switch (objectKind) {
+        case BuildEvent.OBJECT_KIND:
+            listener.onBuildEvents((List<BuildEvent>) batch);
+            break;
+
+        case IssueEvent.OBJECT_KIND:
+            listener.onIssueEvents((List<IssueEvent>) batch);
+            break;
+
+        case MergeRequestEvent.OBJECT_KIND:
+            listener.onMergeRequestEvents((List<MergeRequestEvent>) batch);
+            break;
+
+        case NoteEvent.OBJECT_KIND:
+            listener.onNoteEvents((List<NoteEvent>) batch);
+            break;
+
+        case PipelineEvent.OBJECT_KIND:
+            listener.onPipelineEvents((List<PipelineEvent>) batch);
+            break;
+
+        case PushEvent.OBJECT_KIND:
+            listener.onPushEvents((List<PushEvent>) batch);
+            break;
+
+        case TagPushEvent.OBJECT_KIND:
+            listener.onTagPushEvents((List<TagPushEvent>) batch);
+            break;
+
+        case WikiPageEvent.OBJECT_KIND:
+            listener.onWikiPageEvents((List<WikiPageEvent>) batch);
+            break;
+
+        default:
+            LOG.warning("Unsupported event object_kind, object_kind=" + objectKind);
+        }
+    }
+
+    @Override
+    public void onBuildEvent(BuildEvent buildEvent) {
+        add(buildEvent);
+    }
+
+    @Override
+    public void onIssueEvent(IssueEvent event) {
+        add(event);
+    }
+
+    @Override
+    public void onMergeRequestEvent(MergeRequestEvent event) {
+        add(event);
+    }
+
+    @Override
+    public void onNoteEvent(NoteEvent noteEvent) {
+        add(noteEvent);
+    }
+
+    @Override
+    public void onPipelineEvent(PipelineEvent pipelineEvent) {
+        add(pipelineEvent);
+    }
+
+    @Override
+    public void onPushEvent(PushEvent pushEvent) {
+        add(pushEvent);
+    }
+
+    @Override
+    public void onTagPushEvent(TagPushEvent tagPushEvent) {
+        add(tagPushEvent);
+    }
+
+    @Override
+    public void onWikiPageEvent(WikiPageEvent wikiEvent) {
+        add(wikiEvent);
+    }
+}
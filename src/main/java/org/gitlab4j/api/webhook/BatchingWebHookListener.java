@@ -0,0 +1,72 @@
+package org.gitlab4j.api.webhook;
+
+import java.util.List;
+
+/**
+ * This class defines an event listener that receives WebHook events in micro-batches rather than
+ * one at a time, allowing sinks such as databases to amortize their I/O over many events. Batching
+ * listeners are added with {@link WebHookManager#addBatchingListener(BatchingWebHookListener, int, long)},
+ * each batch holds at most maxBatchSize events, and no event is held for longer than maxLatencyMillis.
+ *
+ * <p>Each batch holds events of a single kind in the order they were received. Batches for a listener
+ * are never delivered concurrently, but may be delivered on either the thread handling the WebHook
+ * callout or on the WebHookManager's batch dispatcher thread.</p>
+ */
+public interface BatchingWebHookListener extends java.util.EventListener {
+
+    /**
+     * This method is called with a batch of WebHook build events.
+     *
+     * @param buildEvents the BuildEvent instances
+     */
+    public void onBuildEvents(List<BuildEvent> buildEvents);
+
+    /**
+     * This method is called with a batch of WebHook issue events.
+     *
+     * @param events the IssueEvent instances
+     */
+    public void onIssueEvents(List<IssueEvent> events);
+
+    /**
+     * This method is called with a batch of WebHook merge request events.
+     *
+     * @param events the MergeRequestEvent instances
+     */
+    public void onMergeRequestEvents(List<MergeRequestEvent> events);
+
+    /**
+     * This method is called with a batch of WebHook note events.
+     *
+     * @param noteEvents the NoteEvent instances
+     */
+    public void onNoteEvents(List<NoteEvent> noteEvents);
+
+    /**
+     * This method is called with a batch of WebHook pipeline events.
+     *
+     * @param pipelineEvents the PipelineEvent instances
+     */
+    public void onPipelineEvents(List<PipelineEvent> pipelineEvents);
+
+    /**
+     * This method is called with a batch of WebHook push events.
+     *
+     * @param pushEvents the PushEvent instances
+     */
+    public void onPushEvents(List<PushEvent> pushEvents);
+
+    /**
+     * This method is called with a batch of WebHook tag push events.
+     *
+     * @param tagPushEvents the TagPushEvent instances
+     */
+    public void onTagPushEvents(List<TagPushEvent> tagPushEvents);
+
+    /**
+     * This method is called with a batch of WebHook wiki page events.
+     *
+     * @param wikiEvents the WikiPageEvent instances
+     */
+    public void onWikiPageEvents(List<WikiPageEvent> wikiEvents);
+}
@@ -0,0 +1,277 @@
+package org.gitlab4j.api.webhook;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.gitlab4j.api.utils.JacksonJson;
+
+/**
+ * This class provides a bounded, time-windowed set of recently seen WebHook events that is used by
+ * {@link WebHookManager} to suppress duplicate deliveries. GitLab retries hook deliveries that time out,
+ * so without deduplication listeners can see the same PushEvent or PipelineEvent more than once.
+ *
+ * <p>Events are keyed by their identity where the event carries one (for example project, ref, before
+ * and after SHAs for push events, or pipeline ID and status for pipeline events), otherwise by a
+ * content hash of the event. At most maxEntries keys are remembered, the oldest keys are evicted
+ * first, and keys older than the window are forgotten. An event whose dispatch fails is forgotten
+ * right away, so that the retry of its delivery is not suppressed.</p>
+ *
+ * <pre><code>
+ * webHookManager.setDeduplicator(new WebHookDeduplicator(10000, 10 * 60 * 1000));
+ * </code></pre>
+ */
+public class WebHookDeduplicator {
+
+    /** The default maximum number of remembered events. */
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    /** The default time window in milliseconds, 10 minutes. */
+    public static final long DEFAULT_WINDOW_MILLIS = 10 * 60 * 1000L;
+
+    private static final JacksonJson jacksonJson = new JacksonJson();
+
+    private final int maxEntries;
+    private final long windowMillis;
+
+    private final ConcurrentHashMap<String, Long> seen = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<SeenEntry> seenOrder = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create a WebHookDeduplicator with the default maximum entries and time window.
+     */
+    public WebHookDeduplicator() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_WINDOW_MILLIS);
+    }
+
+    /**
+     * Create a WebHookDeduplicator with the specified maximum entries and time window.
+     *
+     * @param maxEntries the maximum number of event keys to remember
+     * @param windowMillis the time window in milliseconds an event key is remembered for
+     */
+    public WebHookDeduplicator(int maxEntries, long windowMillis) {
+
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0");
+        }
+
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("windowMillis must be greater than 0");
+        }
+
+        this.maxEntries = maxEntries;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Records the provided event and returns true if an event with the same key has already
+     * been seen within the time window.
+     *
+     * @param event the event to check
+     * @return true if the event is a duplicate of a recently seen event
+     */
+    public boolean isDuplicate(Event event) {
+
+        String key = getEventKey(event);
+        long now = System.currentTimeMillis();
+        expire(now);
+
+        Long previous = seen.putIfAbsent(key, now);
+        if (previous != null) {
+
+            if (now - previous <= windowMillis) {
+                hits.increment();
+                return (true);
+            }
+
+            // The key is outside the window but has not been expired yet, restart its window
+            if (!seen.replace(key, previous, now)) {
+                hits.increment();
+                return (true);
+            }
+        }
+
+        seenOrder.add(new SeenEntry(key, now));
+        misses.increment();
+        return (false);
+    }
+
+    /**
+     * Forgets the provided event, so that it is no longer seen as a duplicate. This is used when the
+     * dispatch of an event fails, so that the retry of its delivery is dispatched again.
+     *
+     * @param event the event to forget
+     */
+    public void forget(Event event) {
+        seen.remove(getEventKey(event));
+    }
+
+    /**
+     * Get the number of events that were suppressed as duplicates.
+     *
+     * @return the number of events that were suppressed as duplicates
+     */
+    public long getHits() {
+        return (hits.sum());
+    }
+
+    /**
+     * Get the number of events that were not duplicates.
+     *
+     * @return the number of events that were not duplicates
+     */
+    public long getMisses() {
+        return (misses.sum());
+    }
+
+    /**
+     * Get the fraction of checked events that were suppressed as duplicates.
+     *
+     * @return the fraction of checked events that were suppressed as duplicates, 0.0 if no events were checked
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return (total > 0 ? (double) hitCount / total : 0.0);
+    }
+
+    /**
+     * Get the number of event keys currently remembered.
+     *
+     * @return the number of event keys currently remembered
+     */
+    public int size() {
+        return (seen.size());
+    }
+
+    /**
+     * Forget all remembered event keys and reset the hit and miss counts.
+     */
+    public void clear() {
+        seen.clear();
+        seenOrder.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Removes the keys that are outside the time window, and the oldest keys while over maxEntries.
+     */
+    private void expire(long now) {
+
+        SeenEntry entry;
+        while ((entry = seenOrder.peek()) != null) {
+
+            if (now - entry.timestamp <= windowMillis && seen.size() < maxEntries) {
+                break;
+            }
+
+            if (seenOrder.remove(entry)) {
+
+                // Only remove the key if its window was not restarted after this entry was queued
+                seen.remove(entry.key, entry.timestamp);
+            }
+        }
+    }
+
+    /**
+     * Get the key that identifies the provided event. Events that carry an identity are keyed by it,
+     * all other events are keyed by a hash of their content. Override to customize what is
+     * considered a duplicate.
+     *
+     * @param event the event to get the key for
+     * @return the key that identifies the provided event
+     */
+    protected String getEventKey(Event event) {
+
+        String identity = getEventIdentity(event);
+        return (identity != null ? identity : event.getObjectKind() + ":" + getContentHash(event));
+    }
+
+    /**
+     * Builds the identity key for events that carry one, returns null if the event does not.
+     */
+    private String getEventIdentity(Event event) {
+
+        if (event instanceof AbstractPushEvent) {
+            AbstractPushEvent pushEvent = (AbstractPushEvent) event;
+            return (join(event.getObjectKind(), pushEvent.getProjectId(), pushEvent.getRef(),
+                    pushEvent.getBefore(), pushEvent.getAfter(), pushEvent.getCheckoutSha()));
+        } else if (event instanceof PipelineEvent) {
+            PipelineEvent.ObjectAttributes attributes = ((PipelineEvent) event).getObjectAttributes();
+            return (attributes != null ? join(event.getObjectKind(), attributes.getId(), attributes.getStatus()) : null);
+        } else if (event instanceof BuildEvent) {
+            BuildEvent buildEvent = (BuildEvent) event;
+            return (join(event.getObjectKind(), buildEvent.getBuildId(), buildEvent.getBuildStatus()));
+        } else if (event instanceof MergeRequestEvent) {
+            MergeRequestEvent.ObjectAttributes attributes = ((MergeRequestEvent) event).getObjectAttributes();
+            return (attributes != null ? join(event.getObjectKind(), attributes.getId(),
+                    attributes.getAction(), toTime(attributes.getUpdatedAt())) : null);
+        } else if (event instanceof IssueEvent) {
+            IssueEvent.ObjectAttributes attributes = ((IssueEvent) event).getObjectAttributes();
+            return (attributes != null ? join(event.getObjectKind(), attributes.getId(),
+                    attributes.getAction(), toTime(attributes.getUpdatedAt())) : null);
+        } else if (event instanceof NoteEvent) {
+            NoteEvent.ObjectAttributes attributes = ((NoteEvent) event).getObjectAttributes();
+            return (attributes != null ? join(event.getObjectKind(), attributes.getId(), toTime(attributes.getUpdatedAt())) : null);
+        }
+
+        return (null);
+    }
+
+    private static Long toTime(Date date) {
+        return (date != null ? date.getTime() : null);
+    }
+
+    /**
+     * Joins the identity parts with ':', returns null if any of the parts is null.
+     */
+    private static String join(Object... parts) {
+
+        StringBuilder key = new StringBuilder();
+        for (Object part : parts) {
+
+            if (part == null) {
+                return (null);
+            }
+
+            if (key.length() > 0) {
+                key.append(':');
+            }
+
+            key.append(part);
+        }
+
+        return (key.toString());
+    }
+
+    private static String getContentHash(Event event) {
+
+        try {
+            byte[] content = jacksonJson.getObjectMapper().writeValueAsBytes(event);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return (Base64.getEncoder().encodeToString(digest));
+        } catch (NoSuchAlgorithmException | java.io.IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class SeenEntry {
+
+        private final String key;
+        private final Long timestamp;
+
+        SeenEntry(String key, Long timestamp) {
+            this.key = key;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package org.gitlab4j.api.webhook;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * This class describes which WebHook events a {@link WebHookListener} is interested in. It is provided
+ * when the listener is added to a {@link WebHookManager}, which uses it to route events to only the
+ * listeners interested in them, and to skip decoding payloads entirely when no listener is interested
+ * in their event kind.
+ *
+ * <pre><code>
+ * webHookManager.addListener(listener, new WebHookInterest()
+ *         .withObjectKinds(PushEvent.OBJECT_KIND, PipelineEvent.OBJECT_KIND)
+ *         .withProjectIds(42)
+ *         .withRefs("master"));
+ * </code></pre>
+ *
+ * An empty set of object kinds, project IDs or refs matches any value. The ref filter only applies
+ * to events that carry a ref (push, tag push, build, pipeline and merge request events), refs are
+ * matched either exactly or with the "refs/heads/" or "refs/tags/" prefix removed.
+ */
+public class WebHookInterest {
+
+    /** The object_kind values of all the supported WebHook events. */
+    public static final Set<String> ALL_OBJECT_KINDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            BuildEvent.OBJECT_KIND, IssueEvent.OBJECT_KIND, MergeRequestEvent.OBJECT_KIND, NoteEvent.OBJECT_KIND,
+            PipelineEvent.OBJECT_KIND, PushEvent.OBJECT_KIND, TagPushEvent.OBJECT_KIND, WikiPageEvent.OBJECT_KIND)));
+
+    private static final String HEADS_PREFIX = "refs/heads/";
+    private static final String TAGS_PREFIX = "refs/tags/";
+
+    private final Set<String> objectKinds;
+    private final Set<Integer> projectIds;
+    private final Set<String> refs;
+
+    /**
+     * Create a WebHookInterest that matches all events, narrowed with the with*() methods.
+     */
+    public WebHookInterest() {
+        this(new HashSet<>(), new HashSet<>(), new HashSet<>());
+    }
+
+    private WebHookInterest(Set<String> objectKinds, Set<Integer> projectIds, Set<String> refs) {
+        this.objectKinds = objectKinds;
+        this.projectIds = projectIds;
+        this.refs = refs;
+    }
+
+    /**
+     * Get an immutable copy of this WebHookInterest, the with*() methods of the copy throw an
+     * UnsupportedOperationException.
+     *
+     * @return an immutable copy of this WebHookInterest
+     */
+    WebHookInterest immutableCopy() {
+        return (new WebHookInterest(Collections.unmodifiableSet(new HashSet<>(objectKinds)),
+                Collections.unmodifiableSet(new HashSet<>(projectIds)), Collections.unmodifiableSet(new HashSet<>(refs))));
+    }
+
+    /**
+     * Add the object_kind values of the events of interest, for example {@link PushEvent#OBJECT_KIND}.
+     *
+     * @param objectKinds the object_kind values of the events of interest
+     * @return this WebHookInterest instance
+     */
+    public WebHookInterest withObjectKinds(String... objectKinds) {
+
+        for (String objectKind : objectKinds) {
+            if (!ALL_OBJECT_KINDS.contains(objectKind)) {
+                throw new IllegalArgumentException("Unsupported event object_kind, object_kind=" + objectKind);
+            }
+
+            this.objectKinds.add(objectKind);
+        }
+
+        return (this);
+    }
+
+    /**
+     * Add the IDs of the projects of interest.
+     *
+     * @param projectIds the IDs of the projects of interest
+     * @return this WebHookInterest instance
+     */
+    public WebHookInterest withProjectIds(Integer... projectIds) {
+        this.projectIds.addAll(Arrays.asList(projectIds));
+        return (this);
+    }
+
+    /**
+     * Add the refs (branch or tag names) of interest.
+     *
+     * @param refs the refs of interest
+     * @return this WebHookInterest instance
+     */
+    public WebHookInterest withRefs(String... refs) {
+
+        for (String ref : refs) {
+            this.refs.add(stripRefPrefix(ref));
+        }
+
+        return (this);
+    }
+
+    /**
+     * Get the object_kind values of the events of interest.
+     *
+     * @return the object_kind values of the events of interest, all supported kinds if none were specified
+     */
+    public Set<String> getObjectKinds() {
+        return (objectKinds.isEmpty() ? ALL_OBJECT_KINDS : Collections.unmodifiableSet(objectKinds));
+    }
+
+    /**
+     * Get the IDs of the projects of interest.
+     *
+     * @return the IDs of the projects of interest, an empty set matches any project
+     */
+    public Set<Integer> getProjectIds() {
+        return (Collections.unmodifiableSet(projectIds));
+    }
+
+    /**
+     * Get the refs of interest.
+     *
+     * @return the refs of interest, an empty set matches any ref
+     */
+    public Set<String> getRefs() {
+        return (Collections.unmodifiableSet(refs));
+    }
+
+    /**
+     * Returns true if events of the specified object_kind are of interest.
+     *
+     * @param objectKind the object_kind to check
+     * @return true if events of the specified object_kind are of interest
+     */
+    public boolean isInterestedIn(String objectKind) {
+        return (objectKinds.isEmpty() || objectKinds.contains(objectKind));
+    }
+
+    /**
+     * Returns true if the provided event is of interest, checking its object_kind, project ID and ref.
+     *
+     * @param event the event to check
+     * @return true if the provided event is of interest
+     */
+    public boolean isInterestedIn(Event event) {
+
+        if (!isInterestedIn(event.getObjectKind())) {
+            return (false);
+        }
+
+        if (!projectIds.isEmpty()) {
+            Integer projectId = getProjectId(event);
+            if (projectId != null && !projectIds.contains(projectId)) {
+                return (false);
+            }
+        }
+
+        if (!refs.isEmpty()) {
+            String ref = getRef(event);
+            if (ref != null && !refs.contains(stripRefPrefix(ref))) {
+                return (false);
+            }
+        }
+
+        return (true);
+    }
+
+    /**
+     * Get the project ID of the provided event.
+     *
+     * @param event the event to get the project ID from
+     * @return the project ID of the provided event, or null if it cannot be determined
+     */
+    public static Integer getProjectId(Event event) {
+
+        if (event instanceof AbstractPushEvent) {
+            return (((AbstractPushEvent) event).getProjectId());
+        } else if (event instanceof BuildEvent) {
+            return (((BuildEvent) event).getProjectId());
+        } else if (event instanceof NoteEvent) {
+            return (((NoteEvent) event).getProjectId());
+        } else if (event instanceof IssueEvent) {
+            IssueEvent issueEvent = (IssueEvent) event;
+            return (issueEvent.getObjectAttributes() != null ?
+                    issueEvent.getObjectAttributes().getProjectId() : getProjectId(issueEvent.getProject()));
+        } else if (event instanceof MergeRequestEvent) {
+            MergeRequestEvent mergeRequestEvent = (MergeRequestEvent) event;
+            return (mergeRequestEvent.getObjectAttributes() != null ?
+                    mergeRequestEvent.getObjectAttributes().getTargetProjectId() : getProjectId(mergeRequestEvent.getProject()));
+        } else if (event instanceof PipelineEvent) {
+            return (getProjectId(((PipelineEvent) event).getProject()));
+        } else if (event instanceof WikiPageEvent) {
+            return (getProjectId(((WikiPageEvent) event).getProject()));
+        }
+
+        return (null);
+    }
+
+    /**
+     * Get the ref (branch or tag) of the provided event.
+     *
+     * @param event the event to get the ref from
+     * @return the ref of the provided event, or null if the event does not carry a ref
+     */
+    public static String getRef(Event event) {
+
+        if (event instanceof AbstractPushEvent) {
+            return (((AbstractPushEvent) event).getRef());
+        } else if (event instanceof BuildEvent) {
+            return (((BuildEvent) event).getRef());
+        } else if (event instanceof PipelineEvent) {
+            PipelineEvent pipelineEvent = (PipelineEvent) event;
+            return (pipelineEvent.getObjectAttributes() != null ? pipelineEvent.getObjectAttributes().getRef() : null);
+        } else if (event instanceof MergeRequestEvent) {
+            MergeRequestEvent mergeRequestEvent = (MergeRequestEvent) event;
+            return (mergeRequestEvent.getObjectAttributes() != null ? mergeRequestEvent.getObjectAttributes().getTargetBranch() : null);
+        }
+
+        return (null);
+    }
+
+    /**
+     * Maps the value of the X-Gitlab-Event header to the object_kind of the event it carries.
+     *
+     * @param eventName the value of the X-Gitlab-Event header
+     * @return the object_kind of the event, or null if the event name is not supported
+     */
+    public static String getObjectKind(String eventName) {
+
+        if (eventName == null) {
+            return (null);
+        }
+
+        switch (eventName) {
+        case BuildEvent.BUILD_HOOK_X_GITLAB_EVENT:
+        case BuildEvent.JOB_HOOK_X_GITLAB_EVENT:
+            return (BuildEvent.OBJECT_KIND);
+        case IssueEvent.X_GITLAB_EVENT:
+            return (IssueEvent.OBJECT_KIND);
+        case MergeRequestEvent.X_GITLAB_EVENT:
+            return (MergeRequestEvent.OBJECT_KIND);
+        case NoteEvent.X_GITLAB_EVENT:
+            return (NoteEvent.OBJECT_KIND);
+        case PipelineEvent.X_GITLAB_EVENT:
+            return (PipelineEvent.OBJECT_KIND);
+        case PushEvent.X_GITLAB_EVENT:
+            return (PushEvent.OBJECT_KIND);
+        case TagPushEvent.X_GITLAB_EVENT:
+            return (TagPushEvent.OBJECT_KIND);
+        case WikiPageEvent.X_GITLAB_EVENT:
+            return (WikiPageEvent.OBJECT_KIND);
+        default:
+            return (null);
+        }
+    }
+
+    private static Integer getProjectId(EventProject project) {
+        return (project != null ? project.getId() : null);
+    }
+
+    private static String stripRefPrefix(String ref) {
+
+        if (ref.startsWith(HEADS_PREFIX)) {
+            return (ref.substring(HEADS_PREFIX.length()));
+        } else if (ref.startsWith(TAGS_PREFIX)) {
+            return (ref.substring(TAGS_PREFIX.length()));
+        }
+
+        return (ref);
+    }
+}
@@ -2,8 +2,15 @@
 package org.gitlab4j.api.webhook;
 
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,8 +29,17 @@ public class WebHookManager extends HookManager {
     private final static Logger LOG = Logger.getLogger(WebHookManager.class.getName());
     private final JacksonJson jacksonJson = new JacksonJson();
 
-    // Collection of objects listening for WebHook events.
-    private final List<WebHookListener> webhookListeners = new CopyOnWriteArrayList<WebHookListener>();
+    // Collection of objects listening for WebHook events, along with the events they are interested in.
+    private final List<ListenerRegistration> webhookListeners = new CopyOnWriteArrayList<ListenerRegistration>();
+
+    // Routing table of object_kind to interested listeners, rebuilt whenever a listener is added or removed.
+    private volatile Map<String, List<ListenerRegistration>> listenerRoutes = Collections.emptyMap();
+
+    // Optional stage used to suppress duplicate deliveries of the same event.
+    private volatile WebHookDeduplicator deduplicator;
+
+    // Dispatcher used to deliver micro-batches to batching listeners once their maximum latency has elapsed.
+    private ScheduledExecutorService batchScheduler;
 
     /**
      * Create a HookManager to handle GitLab webhook events.
@@ -42,6 +58,25 @@ public class WebHookManager extends HookManager {
         super(secretToken);
     }
 
+    /**
+     * Set the WebHookDeduplicator used to suppress duplicate deliveries of the same event,
+     * null disables deduplication. Deduplication is disabled by default.
+     *
+     * @param deduplicator the WebHookDeduplicator to use, or null to disable deduplication
+     */
+    public void setDeduplicator(WebHookDeduplicator deduplicator) {
+        this.deduplicator = deduplicator;
+    }
+
+    /**
+     * Get the WebHookDeduplicator used to suppress duplicate deliveries of the same event.
+     *
+     * @return the WebHookDeduplicator in use, or null if deduplication is disabled
+     */
+    public WebHookDeduplicator getDeduplicator() {
+        return (deduplicator);
+    }
+
     /**
      * Parses and verifies an Event instance from the HTTP request and
      * fires it off to the registered listeners.
@@ -57,25 +92,11 @@ public class WebHookManager extends HookManager {
             throw new GitLabApiException(message);
         }
 
-        String eventName = request.getHeader("X-Gitlab-Event");
+        String eventName = request.getHeader(X_GITLAB_EVENT_HEADER);
         LOG.info("handleEvent: X-Gitlab-Event=" + eventName);
-        switch (eventName) {
-
-        case BuildEvent.BUILD_HOOK_X_GITLAB_EVENT:
-        case BuildEvent.JOB_HOOK_X_GITLAB_EVENT:
-        case IssueEvent.X_GITLAB_EVENT:
-        case MergeRequestEvent.X_GITLAB_EVENT:
-        case NoteEvent.X_GITLAB_EVENT:
-        case PipelineEvent.X_GITLAB_EVENT:
-        case PushEvent.X_GITLAB_EVENT:
-        case TagPushEvent.X_GITLAB_EVENT:
-        case WikiPageEvent.X_GITLAB_EVENT:
-            break;
-
-        default:
-            String message = "Unsupported X-Gitlab-Event, event Name=" + eventName;
-            LOG.warning(message);
-            throw new GitLabApiException(message);
+        validateEventName(eventName);
+        if (!hasInterestedListeners(eventName)) {
+            return;
         }
 
         try {
@@ -100,6 +121,84 @@ public class WebHookManager extends HookManager {
         }
     }
 
+    /**
+     * Parses and verifies an Event instance from the raw POST data of a webhook callout and
+     * fires it off to the registered listeners. The Event is parsed directly from the provided
+     * bytes without any intermediate copies.
+     *
+     * @param eventName the value of the X-Gitlab-Event header
+     * @param secretToken the value of the X-Gitlab-Token header, may be null
+     * @param data the buffer holding the raw POST data
+     * @param offset the offset in data of the first byte of the POST data
+     * @param length the number of bytes of POST data
+     * @throws GitLabApiException if the secret token is invalid or the parsed event is not supported
+     */
+    @Override
+    public void handleEvent(String eventName, String secretToken, byte[] data, int offset, int length) throws GitLabApiException {
+
+        checkSecretToken(secretToken);
+
+        LOG.info("handleEvent: X-Gitlab-Event=" + eventName);
+        validateEventName(eventName);
+        if (!hasInterestedListeners(eventName)) {
+            return;
+        }
+
+        try {
+
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.fine("Raw POST data:\n" + new String(data, offset, length, StandardCharsets.UTF_8));
+            }
+
+            Event event = jacksonJson.unmarshal(Event.class, data, offset, length);
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.fine(event.getObjectKind() + " event:\n" + jacksonJson.marshal(event) + "\n");
+            }
+
+            fireEvent(event);
+
+        } catch (Exception e) {
+            LOG.warning("Error parsing JSON data, exception=" + e.getClass().getSimpleName() + ", error=" + e.getMessage());
+            throw new GitLabApiException(e);
+        }
+    }
+
+    /**
+     * Verifies that the X-Gitlab-Event header value is a supported webhook event.
+     *
+     * @param eventName the value of the X-Gitlab-Event header
+     * @throws GitLabApiException if the event is not supported
+     */
+    private void validateEventName(String eventName) throws GitLabApiException {
+
+        if (WebHookInterest.getObjectKind(eventName) == null) {
+            String message = "Unsupported X-Gitlab-Event, event Name=" + eventName;
+            LOG.warning(message);
+            throw new GitLabApiException(message);
+        }
+    }
+
+    /**
+     * Returns true if any registered listener is interested in the event kind carried by the
+     * specified X-Gitlab-Event, if not the payload does not need to be decoded at all.
+     *
+     * @param eventName the value of the X-Gitlab-Event header
+     * @return true if any registered listener is interested in the event kind
+     */
+    public boolean hasInterestedListeners(String eventName) {
+
+        String objectKind = WebHookInterest.getObjectKind(eventName);
+        if (listenerRoutes.containsKey(objectKind)) {
+            return (true);
+        }
+
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.fine("No listeners for X-Gitlab-Event=" + eventName + ", skipping");
+        }
+
+        return (false);
+    }
+
     /**
      * Verifies the provided Event and fires it off to the registered listeners.
      * 
@@ -131,24 +230,217 @@ public class WebHookManager extends HookManager {
     }
 
     /**
-     * Adds a WebHook event listener.
+     * Adds a WebHook event listener that is interested in all events.
      *
-     * @param listener the SystemHookListener to add
+     * @param listener the WebHookListener to add
      */
-    public void addListener(WebHookListener listener) {
+    public synchronized void addListener(WebHookListener listener) {
 
-        if (!webhookListeners.contains(listener)) {
-            webhookListeners.add(listener);
+        for (ListenerRegistration registration : webhookListeners) {
+            if (registration.listener.equals(listener)) {
+                return;
+            }
         }
+
+        addListener(listener, new WebHookInterest());
+    }
+
+    /**
+     * Adds a WebHook event listener that will only be notified of the events described by interest.
+     * If the listener is already registered its interest is replaced. A copy of the provided WebHookInterest
+     * is taken when the listener is added, later changes to it do not affect the routing of events.
+     *
+     * @param listener the WebHookListener to add
+     * @param interest the WebHookInterest describing the events the listener is interested in
+     */
+    public synchronized void addListener(WebHookListener listener, WebHookInterest interest) {
+
+        if (interest == null) {
+            interest = new WebHookInterest();
+        }
+
+        removeRegistration(listener);
+        webhookListeners.add(new ListenerRegistration(listener, interest.immutableCopy()));
+        rebuildListenerRoutes();
     }
 
     /**
      * Removes a WebHook event listener.
      *
-     * @param listener the SystemHookListener to remove
+     * @param listener the WebHookListener to remove
+     */
+    public synchronized void removeListener(WebHookListener listener) {
+
+        if (removeRegistration(listener)) {
+            rebuildListenerRoutes();
+        }
+    }
+
+    /**
+     * Adds a batching WebHook event listener that is interested in all events. Events are delivered
+     * in batches of at most maxBatchSize events, and are held for no longer than maxLatencyMillis.
+     *
+     * @param listener the BatchingWebHookListener to add
+     * @param maxBatchSize the maximum number of events delivered in a single batch
+     * @param maxLatencyMillis the maximum time in milliseconds an event is held before its batch is delivered
+     */
+    public void addBatchingListener(BatchingWebHookListener listener, int maxBatchSize, long maxLatencyMillis) {
+        addBatchingListener(listener, null, maxBatchSize, maxLatencyMillis);
+    }
+
+    /**
+     * Adds a batching WebHook event listener that will only be notified of the events described by interest.
+     * Events are delivered in batches of at most maxBatchSize events, and are held for no longer than
+     * maxLatencyMillis. If the listener is already registered its pending events are delivered and it is
+     * re-registered with the new settings.
+     *
+     * @param listener the BatchingWebHookListener to add
+     * @param interest the WebHookInterest describing the events the listener is interested in, null for all events
+     * @param maxBatchSize the maximum number of events delivered in a single batch
+     * @param maxLatencyMillis the maximum time in milliseconds an event is held before its batch is delivered
+     */
+    public void addBatchingListener(BatchingWebHookListener listener, WebHookInterest interest, int maxBatchSize, long maxLatencyMillis) {
+
+        BatchingListenerAdapter removed;
+        synchronized (this) {
+
+            if (batchScheduler == null) {
+                batchScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "gitlab4j-webhook-batch-dispatcher");
+                    thread.setDaemon(true);
+                    return (thread);
+                });
+            }
+
+            BatchingListenerAdapter adapter = new BatchingListenerAdapter(listener, maxBatchSize, maxLatencyMillis, batchScheduler);
+            removed = removeBatchingRegistration(listener);
+            addListener(adapter, interest);
+        }
+
+        // Deliver the pending events of the replaced registration outside the lock, as it calls listener code
+        if (removed != null) {
+            removed.flush();
+        }
+    }
+
+    /**
+     * Removes a batching WebHook event listener, any pending events are delivered to it before it is removed.
+     *
+     * @param listener the BatchingWebHookListener to remove
      */
-    public void removeListener(WebHookListener listener) {
-        webhookListeners.remove(listener);
+    public void removeBatchingListener(BatchingWebHookListener listener) {
+
+        BatchingListenerAdapter removed;
+        synchronized (this) {
+
+            removed = removeBatchingRegistration(listener);
+            if (removed != null) {
+                rebuildListenerRoutes();
+            }
+
+            if (batchScheduler != null && !hasBatchingListeners()) {
+                batchScheduler.shutdown();
+                batchScheduler = null;
+            }
+        }
+
+        // Deliver the pending events outside the lock, as it calls listener code
+        if (removed != null) {
+            removed.flush();
+        }
+    }
+
+    /**
+     * Delivers all pending events to the registered batching listeners without waiting for their
+     * batches to fill or their maximum latency to elapse.
+     */
+    public void flushBatchingListeners() {
+
+        for (ListenerRegistration registration : webhookListeners) {
+            if (registration.listener instanceof BatchingListenerAdapter) {
+                ((BatchingListenerAdapter) registration.listener).flush();
+            }
+        }
+    }
+
+    /**
+     * Removes the registration of a batching listener without delivering its pending events, must be
+     * called while holding the lock on this instance.
+     *
+     * @param listener the BatchingWebHookListener to remove
+     * @return the removed BatchingListenerAdapter, or null if the listener was not registered
+     */
+    private BatchingListenerAdapter removeBatchingRegistration(BatchingWebHookListener listener) {
+
+        for (ListenerRegistration registration : webhookListeners) {
+            if (registration.listener instanceof BatchingListenerAdapter &&
+                    ((BatchingListenerAdapter) registration.listener).getListener().equals(listener)) {
+                webhookListeners.remove(registration);
+                return ((BatchingListenerAdapter) registration.listener);
+            }
+        }
+
+        return (null);
+    }
+
+    private boolean hasBatchingListeners() {
+
+        for (ListenerRegistration registration : webhookListeners) {
+            if (registration.listener instanceof BatchingListenerAdapter) {
+                return (true);
+            }
+        }
+
+        return (false);
+    }
+
+    private boolean removeRegistration(WebHookListener listener) {
+
+        for (ListenerRegistration registration : webhookListeners) {
+            if (registration.listener.equals(listener)) {
+                return (webhookListeners.remove(registration));
+            }
+        }
+
+        return (false);
+    }
+
+    /**
+     * Rebuilds the object_kind to listeners routing table, must be called while holding the lock on this instance.
+     */
+    private void rebuildListenerRoutes() {
+
+        Map<String, List<ListenerRegistration>> routes = new HashMap<>();
+        for (ListenerRegistration registration : webhookListeners) {
+            for (String objectKind : registration.interest.getObjectKinds()) {
+                routes.computeIfAbsent(objectKind, k -> new ArrayList<>()).add(registration);
+            }
+        }
+
+        listenerRoutes = routes;
+    }
+
+    /**
+     * Get the listeners interested in the provided event.
+     *
+     * @param event the event to get the interested listeners for
+     * @return the listeners interested in the provided event
+     */
+    protected List<WebHookListener> getInterestedListeners(Event event) {
+
+        List<ListenerRegistration> registrations = listenerRoutes.get(event.getObjectKind());
+        if (registrations == null) {
+            return (Collections.emptyList());
+        }
+
+        List<WebHookListener> listeners = new ArrayList<>(registrations.size());
+        for (ListenerRegistration registration : registrations) {
+            if (registration.interest.isInterestedIn(event)) {
+                listeners.add(registration.listener);
+            }
+        }
+
+        return (listeners);
     }
 
     /**
@@ -159,6 +451,28 @@ public class WebHookManager extends HookManager {
      */
     public void fireEvent(Event event) throws GitLabApiException {
 
+        WebHookDeduplicator deduplicator = this.deduplicator;
+        if (deduplicator == null) {
+            dispatchEvent(event);
+            return;
+        }
+
+        if (deduplicator.isDuplicate(event)) {
+            LOG.info("fireEvent: suppressed duplicate " + event.getObjectKind() + " event");
+            return;
+        }
+
+        // A failed dispatch is forgotten, so the retry of the delivery is not suppressed
+        try {
+            dispatchEvent(event);
+        } catch (GitLabApiException | RuntimeException e) {
+            deduplicator.forget(event);
+            throw e;
+        }
+    }
+
+    private void dispatchEvent(Event event) throws GitLabApiException {
+
         switch (event.getObjectKind()) {
         case BuildEvent.OBJECT_KIND:
             fireBuildEvent((BuildEvent) event);
@@ -200,50 +514,64 @@ public class WebHookManager extends HookManager {
     }
 
     protected void fireBuildEvent(BuildEvent buildEvent) {
-        for (WebHookListener listener : webhookListeners) {
+        for (WebHookListener listener : getInterestedListeners(buildEvent)) {
             listener.onBuildEvent(buildEvent);
         }
     }
 
     protected void fireIssueEvent(IssueEvent issueEvent) {
-        for (WebHookListener listener : webhookListeners) {
+        for (WebHookListener listener : getInterestedListeners(issueEvent)) {
             listener.onIssueEvent(issueEvent);
         }
     }
 
     protected void fireMergeRequestEvent(MergeRequestEvent mergeRequestEvent) {
-        for (WebHookListener listener : webhookListeners) {
+        for (WebHookListener listener : getInterestedListeners(mergeRequestEvent)) {
             listener.onMergeRequestEvent(mergeRequestEvent);
         }
     }
 
     protected void fireNoteEvent(NoteEvent noteEvent) {
-        for (WebHookListener listener : webhookListeners) {
+        for (WebHookListener listener : getInterestedListeners(noteEvent)) {
             listener.onNoteEvent(noteEvent);
         }
     }
 
     protected void firePipelineEvent(PipelineEvent pipelineEvent) {
-        for (WebHookListener listener : webhookListeners) {
+        for (WebHookListener listener : getInterestedListeners(pipelineEvent)) {
             listener.onPipelineEvent(pipelineEvent);
         }
     }
 
     protected void firePushEvent(PushEvent pushEvent) {
-        for (WebHookListener listener : webhookListeners) {
+        for (WebHookListener listener : getInterestedListeners(pushEvent)) {
             listener.onPushEvent(pushEvent);
         }
     }
 
     protected void fireTagPushEvent(TagPushEvent tagPushEvent) {
-        for (WebHookListener listener : webhookListeners) {
+        for (WebHookListener listener : getInterestedListeners(tagPushEvent)) {
             listener.onTagPushEvent(tagPushEvent);
         }
     }
 
     protected void fireWikiPageEvent(WikiPageEvent wikiPageEvent) {
-        for (WebHookListener listener : webhookListeners) {
+        for (WebHookListener listener : getInterestedListeners(wikiPageEvent)) {
             listener.onWikiPageEvent(wikiPageEvent);
         }
     }
+
+    /**
+     * Holds a registered listener along with the events it is interested in.
+     */
+    private static class ListenerRegistration {
+
+        private final WebHookListener listener;
+        private final WebHookInterest interest;
+
+        ListenerRegistration(WebHookListener listener, WebHookInterest interest) {
+            this.listener = listener;
+            this.interest = interest;
+        }
+    }
 }
@@ -0,0 +1,103 @@
+package org.gitlab4j.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A stub GitLab server for the tests that need to serve API responses, built on the JDK's HTTP server
+ * and listening on a free port of the loopback address. Closing it stops the server and shuts down
+ * the threads handling its requests.
+ */
+class MockGitLabServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates and starts the server, handlers are added with {@link #createContext(String, HttpHandler)}.
+     *
+     * @throws IOException if the server cannot be started
+     */
+    MockGitLabServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Adds the handler of the requests to the specified path and the paths below it.
+     *
+     * @param path the path handled by the handler, for example "/api/v4/projects/1"
+     * @param handler the handler of the requests
+     * @return this MockGitLabServer instance
+     */
+    MockGitLabServer createContext(String path, HttpHandler handler) {
+        server.createContext(path, handler);
+        return (this);
+    }
+
+    /**
+     * Get the URL of the server, to create GitLabApi instances with.
+     *
+     * @return the URL of the server
+     */
+    String getUrl() {
+        return ("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Sends a 200 (OK) JSON response.
+     *
+     * @param exchange the exchange to send the response to
+     * @param content the content of the response
+     * @throws IOException if any exception occurs while sending the response
+     */
+    static void send(HttpExchange exchange, String content) throws IOException {
+        send(exchange, 200, content);
+    }
+
+    /**
+     * Sends a JSON response with the specified status.
+     *
+     * @param exchange the exchange to send the response to
+     * @param status the HTTP status of the response
+     * @param content the content of the response
+     * @throws IOException if any exception occurs while sending the response
+     */
+    static void send(HttpExchange exchange, int status, String content) throws IOException {
+        send(exchange, status, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends a JSON response with the specified status.
+     *
+     * @param exchange the exchange to send the response to
+     * @param status the HTTP status of the response
+     * @param body the body of the response
+     * @throws IOException if any exception occurs while sending the response
+     */
+    static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.gitlab4j.api;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestBlobCache {
+
+    private static final String SHA1 = "1111111111111111111111111111111111111111";
+    private static final String SHA2 = "2222222222222222222222222222222222222222";
+    private static final String SHA3 = "3333333333333333333333333333333333333333";
+
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("blob-cache-test").toFile();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testPutAndGet() throws IOException {
+
+        BlobCache blobCache = new BlobCache(directory, 1024, 0, 0);
+        assertNull(blobCache.get(SHA1));
+
+        byte[] content = content(100, 'a');
+        assertArrayEquals(content, read(blobCache.put(SHA1, new ByteArrayInputStream(content))));
+        assertArrayEquals(content, read(blobCache.get(SHA1)));
+        assertTrue(new File(new File(directory, "11"), SHA1.substring(2)).isFile());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(100, blobCache.transferTo(SHA1, Channels.newChannel(out)));
+        assertArrayEquals(content, out.toByteArray());
+
+        assertEquals(2, blobCache.getHits());
+        assertEquals(1, blobCache.getMisses());
+    }
+
+    @Test
+    public void testLruEviction() throws IOException {
+
+        BlobCache blobCache = new BlobCache(directory, 250, 0, 0);
+        blobCache.put(SHA1, new ByteArrayInputStream(content(100, 'a'))).close();
+        blobCache.put(SHA2, new ByteArrayInputStream(content(100, 'b'))).close();
+
+        // Use SHA1 so that SHA2 is the least recently used
+        blobCache.get(SHA1).close();
+        blobCache.put(SHA3, new ByteArrayInputStream(content(100, 'c'))).close();
+
+        assertEquals(2, blobCache.size());
+        assertEquals(200, blobCache.getDiskSize());
+        assertNotNull(blobCache.get(SHA1));
+        assertNull(blobCache.get(SHA2));
+        assertNotNull(blobCache.get(SHA3));
+    }
+
+    @Test
+    public void testMemoryTierAndReload() throws IOException {
+
+        BlobCache blobCache = new BlobCache(directory, 1024, 1024, 64);
+        byte[] small = content(10, 's');
+        blobCache.put(SHA1, new ByteArrayInputStream(small)).close();
+
+        // The in-memory tier still serves the blob once it is gone from disk
+        new File(new File(directory, "11"), SHA1.substring(2)).delete();
+        assertArrayEquals(small, read(blobCache.get(SHA1)));
+
+        blobCache.put(SHA2, new ByteArrayInputStream(content(100, 'b'))).close();
+        BlobCache reloaded = new BlobCache(directory, 1024);
+        assertEquals(1, reloaded.size());
+        assertArrayEquals(content(100, 'b'), read(reloaded.get(SHA2)));
+    }
+
+    @Test
+    public void testNonCacheableSha() throws IOException {
+
+        BlobCache blobCache = new BlobCache(directory, 1024);
+        byte[] content = content(10, 'x');
+        assertArrayEquals(content, read(blobCache.put("master", new ByteArrayInputStream(content))));
+        assertNull(blobCache.get("master"));
+        assertEquals(0, blobCache.size());
+    }
+
+    private static byte[] content(int size, char c) {
+        byte[] content = new byte[size];
+        Arrays.fill(content, (byte) c);
+        return (content);
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+
+        try (InputStream source = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int count;
+            while ((count = source.read(buffer)) >= 0) {
+                out.write(buffer, 0, count);
+            }
+            return (out.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+
+public class TestBulkFileFetcher {
+
+    private static final String SHA1 = "1111111111111111111111111111111111111111";
+    private static final String SHA2 = "2222222222222222222222222222222222222222";
+
+    // Directory path to the JSON of its entries, and blob SHA to its content
+    private final Map<String, List<String>> directories = new HashMap<>();
+    private final Map<String, String> blobs = new HashMap<>();
+    private final List<String> blobRequests = new CopyOnWriteArrayList<>();
+
+    private MockGitLabServer server;
+    private GitLabApi gitLabApi;
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+
+        // "pom.xml" and "a/pom.xml" have identical content
+        addEntry("", "pom.xml", "blob", SHA1);
+        addEntry("", "a", "tree", "t1");
+        addEntry("", "b", "tree", "t2");
+        addEntry("a", "pom.xml", "blob", SHA1);
+        addEntry("a", "src", "tree", "t3");
+        addEntry("b", "pom.xml", "blob", SHA2);
+        blobs.put(SHA1, "<project>parent</project>");
+        blobs.put(SHA2, "<project>b</project>");
+
+        server = new MockGitLabServer();
+        server.createContext("/api/v4/projects/1/repository/tree", this::handleTree);
+        server.createContext("/api/v4/projects/1/repository/blobs", this::handleBlob);
+
+        gitLabApi = new GitLabApi(server.getUrl(), "token");
+        directory = Files.createTempDirectory("bulk-fetch-test").toFile();
+    }
+
+    @After
+    public void teardown() throws IOException {
+
+        server.close();
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testFetchToDirectory() throws GitLabApiException, IOException {
+
+        List<String> paths = Arrays.asList("pom.xml", "a/pom.xml", "b/pom.xml", "a/missing.xml", "a/src", "c/pom.xml");
+        BulkFileFetcher fetcher = new BulkFileFetcher(gitLabApi.getRepositoryApi(), 4);
+        BulkFileFetcher.Result result = fetcher.fetch(1, "master", paths, directory);
+
+        assertFalse(result.isSuccessful());
+        assertEquals(3, result.getFetched().size());
+        assertEquals(3, result.getFailures().size());
+        assertTrue(result.getFailures().containsKey("a/missing.xml"));
+        assertTrue(result.getFailures().containsKey("a/src"));
+        assertTrue(result.getFailures().containsKey("c/pom.xml"));
+
+        // The identical files were fetched with a single request
+        assertEquals(2, result.getBlobsFetched());
+        assertEquals(2, blobRequests.size());
+
+        assertEquals(blobs.get(SHA1), read("pom.xml"));
+        assertEquals(blobs.get(SHA1), read("a/pom.xml"));
+        assertEquals(blobs.get(SHA2), read("b/pom.xml"));
+    }
+
+    @Test
+    public void testHandlerFailure() throws GitLabApiException {
+
+        BulkFileFetcher fetcher = new BulkFileFetcher(gitLabApi.getRepositoryApi(), 2);
+        BulkFileFetcher.Result result = fetcher.fetch(1, "master", Arrays.asList("pom.xml", "b/pom.xml"), (path, content) -> {
+            if (path.startsWith("b/")) {
+                throw new IOException("rejected");
+            }
+        });
+
+        assertEquals(Arrays.asList("pom.xml"), result.getFetched());
+        assertEquals("rejected", result.getFailures().get("b/pom.xml").getMessage());
+    }
+
+    private String read(String path) throws IOException {
+        return (new String(Files.readAllBytes(new File(directory, path).toPath()), StandardCharsets.UTF_8));
+    }
+
+    private void addEntry(String directory, String name, String type, String sha) {
+        String path = (directory.isEmpty() ? name : directory + "/" + name);
+        directories.computeIfAbsent(directory, key -> new ArrayList<>()).add("{\"id\":\"" + sha + "\",\"name\":\"" + name +
+                "\",\"type\":\"" + type + "\",\"path\":\"" + path + "\",\"mode\":\"100644\"}");
+    }
+
+    private void handleTree(HttpExchange exchange) throws IOException {
+
+        Map<String, String> params = new HashMap<>();
+        for (String param : exchange.getRequestURI().getRawQuery().split("&")) {
+            String[] pair = param.split("=", 2);
+            params.put(pair[0], pair.length > 1 ? URLDecoder.decode(pair[1], "UTF-8") : "");
+        }
+
+        List<String> entries = directories.get(params.getOrDefault("path", ""));
+        if (entries == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("X-Per-Page", params.get("per_page"));
+        exchange.getResponseHeaders().add("X-Total-Pages", "1");
+        exchange.getResponseHeaders().add("X-Total", Integer.toString(entries.size()));
+        send(exchange, "[" + String.join(",", entries) + "]");
+    }
+
+    private void handleBlob(HttpExchange exchange) throws IOException {
+
+        // The path is /api/v4/projects/1/repository/blobs/:sha/raw
+        String[] segments = exchange.getRequestURI().getPath().split("/");
+        String sha = segments[segments.length - 2];
+        blobRequests.add(sha);
+        send(exchange, blobs.get(sha));
+    }
+}
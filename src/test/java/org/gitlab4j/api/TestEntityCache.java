@@ -0,0 +1,151 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gitlab4j.api.models.Group;
+import org.gitlab4j.api.models.Project;
+import org.gitlab4j.api.systemhooks.GroupSystemHookEvent;
+import org.gitlab4j.api.systemhooks.ProjectSystemHookEvent;
+import org.junit.Test;
+
+public class TestEntityCache {
+
+    @Test
+    public void testBoundsAndExpiration() throws Exception {
+
+        EntityCache<String> cache = new EntityCache<>(2, 50);
+        AtomicInteger loads = new AtomicInteger();
+        EntityCache.Loader<String> loader = () -> "value-" + loads.incrementAndGet();
+
+        assertEquals("value-1", cache.get("Group/A", loader));
+        assertEquals("value-1", cache.get("group/a", loader));
+        assertEquals("value-2", cache.get(1, loader));
+        assertEquals("value-3", cache.get(2, loader));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+
+        // The least recently used entry was evicted
+        assertEquals("value-4", cache.get("group/a", loader));
+
+        Thread.sleep(100);
+        assertEquals("value-5", cache.get(2, loader));
+    }
+
+    @Test
+    public void testReadThroughAndInvalidation() throws Exception {
+
+        AtomicInteger requests = new AtomicInteger();
+        MockGitLabServer server = new MockGitLabServer();
+        server.createContext("/api/v4/projects", exchange -> {
+            requests.incrementAndGet();
+            send(exchange, "{\"id\":42,\"path_with_namespace\":\"group/project\"}");
+        });
+        server.createContext("/api/v4/groups", exchange -> {
+            requests.incrementAndGet();
+            send(exchange, "{\"id\":5,\"path\":\"group\",\"full_path\":\"group\"}");
+        });
+
+        try {
+
+            GitLabApi gitLabApi = new GitLabApi(server.getUrl(), "token");
+            gitLabApi.getProjectApi().setProjectCache(new EntityCache<>());
+            gitLabApi.getGroupApi().setGroupCache(new EntityCache<>(100, 60000));
+
+            Project project = gitLabApi.getProjectApi().getProject(42);
+            assertSame(project, gitLabApi.getProjectApi().getProject(42));
+            gitLabApi.getProjectApi().getProject("group", "project");
+            gitLabApi.getProjectApi().getProject("Group", "Project");
+            Group group = gitLabApi.getGroupApi().getGroup(5);
+            assertSame(group, gitLabApi.getGroupApi().getGroup("5"));
+            assertEquals(3, requests.get());
+
+            EntityCacheInvalidator invalidator = new EntityCacheInvalidator(gitLabApi);
+            ProjectSystemHookEvent projectEvent = new ProjectSystemHookEvent();
+            projectEvent.setEventName(ProjectSystemHookEvent.PROJECT_UPDATE_EVENT);
+            projectEvent.setProjectId(42);
+            projectEvent.setPathWithNamespace("group/project");
+            invalidator.onProjectEvent(projectEvent);
+            assertEquals(0, gitLabApi.getProjectApi().getProjectCache().size());
+
+            GroupSystemHookEvent groupEvent = new GroupSystemHookEvent();
+            groupEvent.setEventName(GroupSystemHookEvent.GROUP_DESTROY_EVENT);
+            groupEvent.setGroupId(5);
+            groupEvent.setPath("group");
+            invalidator.onGroupEvent(groupEvent);
+            gitLabApi.getGroupApi().getGroup(5);
+            assertEquals(4, requests.get());
+
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testIdentityAndLocalChanges() throws Exception {
+
+        AtomicInteger requests = new AtomicInteger();
+        MockGitLabServer server = new MockGitLabServer();
+        server.createContext("/api/v4/users", exchange -> send(exchange, "{\"id\":7,\"username\":\"jsmith\"}"));
+        server.createContext("/api/v4/projects", exchange -> {
+            requests.incrementAndGet();
+            if ("DELETE".equals(exchange.getRequestMethod())) {
+                send(exchange, 202, "{\"message\":\"202 Accepted\"}");
+            } else {
+                send(exchange, "{\"id\":42,\"name\":\"project\",\"path_with_namespace\":\"group/project\"}");
+            }
+        });
+        server.createContext("/api/v4/groups", exchange -> {
+            requests.incrementAndGet();
+            if ("DELETE".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+            } else {
+                send(exchange, "{\"id\":5,\"path\":\"group\",\"full_path\":\"group\"}");
+            }
+        });
+
+        try {
+
+            GitLabApi gitLabApi = new GitLabApi(server.getUrl(), "token");
+            ProjectApi projectApi = gitLabApi.getProjectApi();
+            GroupApi groupApi = gitLabApi.getGroupApi();
+            projectApi.setProjectCache(new EntityCache<>());
+            groupApi.setGroupCache(new EntityCache<>());
+
+            // Lookups made as a sudo user are not answered with the entities cached for the authenticated user
+            Project project = projectApi.getProject(42);
+            gitLabApi.setSudoAsId(7);
+            assertNotSame(project, projectApi.getProject(42));
+            assertEquals(2, requests.get());
+            gitLabApi.unsudo();
+            assertSame(project, projectApi.getProject(42));
+            assertEquals(2, requests.get());
+
+            // Updating or deleting a project or group removes it from the cache, whatever it is cached under
+            projectApi.getProject("group", "project");
+            projectApi.updateProject(project);
+            assertEquals(0, projectApi.getProjectCache().size());
+            projectApi.getProject(42);
+            projectApi.deleteProject(42);
+            assertEquals(0, projectApi.getProjectCache().size());
+
+            groupApi.getGroup(5);
+            groupApi.getGroup("group");
+            groupApi.updateGroup(5, "group", "group", null, null, null, null, null);
+            assertEquals(0, groupApi.getGroupCache().size());
+            groupApi.getGroup(5);
+            groupApi.deleteGroup(5);
+            assertEquals(0, groupApi.getGroupCache().size());
+            assertEquals(11, requests.get());
+
+        } finally {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.gitlab4j.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.gitlab4j.api.webhook.BuildEvent;
+import org.gitlab4j.api.webhook.IssueEvent;
+import org.gitlab4j.api.webhook.MergeRequestEvent;
+import org.gitlab4j.api.webhook.NoteEvent;
+import org.gitlab4j.api.webhook.PipelineEvent;
+import org.gitlab4j.api.webhook.PushEvent;
+import org.gitlab4j.api.webhook.TagPushEvent;
+import org.gitlab4j.api.webhook.WebHookListener;
+import org.gitlab4j.api.webhook.WebHookManager;
+import org.gitlab4j.api.webhook.WikiPageEvent;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TestHookReceiver {
+
+    private static final String SECRET_TOKEN = "test-secret-token";
+
+    private static final List<PushEvent> pushEvents = new CopyOnWriteArrayList<>();
+    private static HookReceiver receiver;
+    private static URL hookUrl;
+
+    @BeforeClass
+    public static void setup() throws IOException {
+
+        WebHookManager webHookManager = new WebHookManager(SECRET_TOKEN);
+        webHookManager.addListener(new WebHookListener() {
+            public void onBuildEvent(BuildEvent buildEvent) {}
+            public void onIssueEvent(IssueEvent event) {}
+            public void onMergeRequestEvent(MergeRequestEvent event) {}
+            public void onNoteEvent(NoteEvent noteEvent) {}
+            public void onPipelineEvent(PipelineEvent pipelineEvent) {}
+            public void onPushEvent(PushEvent pushEvent) { pushEvents.add(pushEvent); }
+            public void onTagPushEvent(TagPushEvent tagPushEvent) {}
+            public void onWikiPageEvent(WikiPageEvent wikiEvent) {}
+        });
+
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        receiver = new HookReceiver(webHookManager, address, "/webhook", null);
+        receiver.start();
+        hookUrl = new URL("http://127.0.0.1:" + receiver.getAddress().getPort() + "/webhook");
+    }
+
+    @AfterClass
+    public static void teardown() {
+        if (receiver != null) {
+            receiver.stop(0);
+        }
+    }
+
+    @Test
+    public void testPushEvent() throws IOException {
+
+        pushEvents.clear();
+        assertEquals(200, post(PushEvent.X_GITLAB_EVENT, SECRET_TOKEN, "push-event"));
+        assertEquals(1, pushEvents.size());
+        assertNotNull(pushEvents.get(0).getCheckoutSha());
+    }
+
+    @Test
+    public void testInvalidSecretToken() throws IOException {
+
+        pushEvents.clear();
+        assertEquals(401, post(PushEvent.X_GITLAB_EVENT, "bad-token", "push-event"));
+        assertEquals(0, pushEvents.size());
+    }
+
+    @Test
+    public void testInvalidSecretTokenIsCheckedBeforePayloadSize() throws IOException {
+
+        receiver.setMaxPayloadSize(16);
+        try {
+            assertEquals(401, post(PushEvent.X_GITLAB_EVENT, "bad-token", "push-event"));
+            assertEquals(413, post(PushEvent.X_GITLAB_EVENT, SECRET_TOKEN, "push-event"));
+        } finally {
+            receiver.setMaxPayloadSize(HookReceiver.DEFAULT_MAX_PAYLOAD_SIZE);
+        }
+    }
+
+    @Test
+    public void testUnsupportedEvent() throws IOException {
+        assertEquals(400, post("Unknown Hook", SECRET_TOKEN, "push-event"));
+    }
+
+    private int post(String eventName, String secretToken, String file) throws IOException {
+
+        byte[] payload = readResource(file + ".json");
+        HttpURLConnection connection = (HttpURLConnection) hookUrl.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setRequestProperty(HookManager.X_GITLAB_EVENT_HEADER, eventName);
+        connection.setRequestProperty(HookManager.X_GITLAB_TOKEN_HEADER, secretToken);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(payload);
+        }
+
+        int status = connection.getResponseCode();
+        connection.disconnect();
+        return (status);
+    }
+
+    private byte[] readResource(String name) throws IOException {
+
+        try (InputStream in = GitLabApi.class.getResourceAsStream(name)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int count;
+            while ((count = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, count);
+            }
+            return (out.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gitlab4j.api.models.Job;
+import org.gitlab4j.api.models.JobStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+
+public class TestJobTraceTailer {
+
+    private final ByteArrayOutputStream trace = new ByteArrayOutputStream();
+    private final List<String> ranges = new CopyOnWriteArrayList<>();
+    private final AtomicInteger statusChecks = new AtomicInteger();
+    private volatile boolean rangesSupported = true;
+
+    // The number of status checks after which the job reports it has finished, each check appends a line until then
+    private volatile int runningChecks = Integer.MAX_VALUE;
+
+    private MockGitLabServer server;
+    private GitLabApi gitLabApi;
+
+    @Before
+    public void setup() throws IOException {
+
+        server = new MockGitLabServer();
+        server.createContext("/api/v4/projects/1/jobs/5/trace", this::handleTrace);
+        server.createContext("/api/v4/projects/1/jobs/5", this::handleJob);
+
+        gitLabApi = new GitLabApi(server.getUrl(), "token");
+    }
+
+    @After
+    public void teardown() {
+        server.close();
+    }
+
+    @Test
+    public void testPollOnlyNewBytes() throws Exception {
+
+        JobTraceTailer tailer = new JobTraceTailer(gitLabApi.getJobApi(), 1, 5);
+        List<String> chunks = new CopyOnWriteArrayList<>();
+
+        // The two byte "é" is split across two polls
+        byte[] accented = "é".getBytes(StandardCharsets.UTF_8);
+        append("line 1\n".getBytes(StandardCharsets.UTF_8));
+        append(new byte[] { accented[0] });
+        assertEquals(8, tailer.poll(chunks::add));
+        assertEquals(0, tailer.poll(chunks::add));
+
+        append(new byte[] { accented[1] });
+        append("\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals(2, tailer.poll(chunks::add));
+        assertEquals(Arrays.asList("line 1\n", "é\n"), chunks);
+        assertEquals(10, tailer.getOffset());
+        assertEquals(Arrays.asList("bytes=0-", "bytes=8-", "bytes=8-"), ranges);
+
+        // A server that ignores the range sends the complete trace, the bytes already read are skipped
+        rangesSupported = false;
+        append("line 3\n".getBytes(StandardCharsets.UTF_8));
+        chunks.clear();
+        assertEquals(7, tailer.poll(chunks::add));
+        assertEquals(Arrays.asList("line 3\n"), chunks);
+    }
+
+    @Test
+    public void testFollow() throws Exception {
+
+        runningChecks = 3;
+        append("start\n".getBytes(StandardCharsets.UTF_8));
+        StringBuilder text = new StringBuilder();
+        Job job = new JobTraceTailer(gitLabApi.getJobApi(), 1, 5).withMinPollInterval(1).withMaxPollInterval(4).follow(text::append);
+
+        assertEquals(JobStatus.SUCCESS, job.getStatus());
+        assertEquals("start\ncheck 1\ncheck 2\ncheck 3\n", text.toString());
+    }
+
+    @Test
+    public void testFollowAsync() throws Exception {
+
+        runningChecks = 2;
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+
+            StringBuffer text = new StringBuffer();
+            Job job = new JobTraceTailer(gitLabApi.getJobApi(), 1, 5).withMinPollInterval(1).withMaxPollInterval(4)
+                    .followAsync(executor, text::append).get(10, TimeUnit.SECONDS);
+
+            assertEquals(JobStatus.SUCCESS, job.getStatus());
+            assertEquals("check 1\ncheck 2\n", text.toString());
+            assertTrue(statusChecks.get() >= 3);
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void append(byte[] bytes) {
+        synchronized (trace) {
+            trace.write(bytes, 0, bytes.length);
+        }
+    }
+
+    private void handleJob(HttpExchange exchange) throws IOException {
+
+        int check = statusChecks.incrementAndGet();
+        boolean running = (check <= runningChecks);
+        if (running) {
+            append(("check " + check + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        send(exchange, 200, ("{\"id\":5,\"status\":\"" + (running ? "running" : "success") + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleTrace(HttpExchange exchange) throws IOException {
+
+        byte[] content;
+        synchronized (trace) {
+            content = trace.toByteArray();
+        }
+
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        ranges.add(range);
+        if (!rangesSupported || range == null) {
+            send(exchange, 200, content);
+            return;
+        }
+
+        int start = Integer.parseInt(range.substring("bytes=".length(), range.indexOf('-')));
+        if (start >= content.length) {
+            exchange.sendResponseHeaders(416, -1);
+            exchange.close();
+            return;
+        }
+
+        exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + (content.length - 1) + "/" + content.length);
+        send(exchange, 206, Arrays.copyOfRange(content, start, content.length));
+    }
+}
@@ -0,0 +1,212 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gitlab4j.api.models.Job;
+import org.gitlab4j.api.models.Project;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+
+public class TestOptionalNotFound {
+
+    private MockGitLabServer server;
+    private GitLabApi gitLabApi;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Before
+    public void setup() throws IOException {
+
+        server = new MockGitLabServer();
+        server.createContext("/api/v4/projects", this::handleProjects);
+        server.createContext("/api/v4/users", this::handleUsers);
+
+        gitLabApi = new GitLabApi(server.getUrl(), "token");
+    }
+
+    @After
+    public void teardown() {
+        server.close();
+    }
+
+    @Test
+    public void testNotFoundWithoutStackTrace() {
+
+        Optional<Project> optional = gitLabApi.getProjectApi().getOptionalProject(99);
+        assertFalse(optional.isPresent());
+
+        GitLabApiException glae = GitLabApi.getOptionalException(optional);
+        assertEquals(404, glae.getHttpStatus());
+        assertEquals("Not Found", glae.getReason());
+        assertEquals("404 Project Not Found", glae.getMessage());
+        assertEquals(0, glae.getStackTrace().length);
+
+        // Each lookup makes a single request, the 404 response is drained and closed
+        for (int i = 0; i < 20; i++) {
+            assertFalse(gitLabApi.getJobApi().getOptionalJob(99, 1).isPresent());
+        }
+
+        assertEquals(21, requests.get());
+    }
+
+    @Test
+    public void testFoundAndOtherErrors() {
+
+        Optional<Project> project = gitLabApi.getProjectApi().getOptionalProject(42);
+        assertTrue(project.isPresent());
+        assertEquals("group/project", project.get().getPathWithNamespace());
+        assertNull(GitLabApi.getOptionalException(project));
+
+        // Errors other than 404 are reported with the error entity, the same as before
+        Optional<Job> job = gitLabApi.getJobApi().getOptionalJob(500, 1);
+        assertFalse(job.isPresent());
+        GitLabApiException glae = GitLabApi.getOptionalException(job);
+        assertEquals(500, glae.getHttpStatus());
+        assertEquals("500 Internal Server Error", glae.getMessage());
+    }
+
+    @Test
+    public void testNotFoundIsCached() {
+
+        NotFoundCache notFoundCache = new NotFoundCache();
+        gitLabApi.setNotFoundCache(notFoundCache);
+        ProjectApi projectApi = gitLabApi.getProjectApi();
+        for (int i = 0; i < 5; i++) {
+            assertFalse(projectApi.getOptionalProject(99).isPresent());
+        }
+
+        assertEquals(1, requests.get());
+        assertEquals(4, notFoundCache.getHits());
+
+        // The cached result is reported with an exception of its own, with the message of the server
+        GitLabApiException notFound = GitLabApi.getOptionalException(projectApi.getOptionalProject(99));
+        assertEquals(404, notFound.getHttpStatus());
+        assertEquals("404 Project Not Found", notFound.getMessage());
+        assertEquals(0, notFound.getStackTrace().length);
+
+        // The methods that throw on a 404 always call the server
+        try {
+            projectApi.getProject(99);
+            fail("Expected a GitLabApiException");
+        } catch (GitLabApiException glae) {
+            assertEquals(404, glae.getHttpStatus());
+            assertNotSame(notFound, glae);
+        }
+
+        assertEquals(2, requests.get());
+
+        // Found projects and other users are not affected
+        assertTrue(projectApi.getOptionalProject(42).isPresent());
+        assertFalse(gitLabApi.as(5).getProjectApi().getOptionalProject(99).isPresent());
+        assertEquals(4, requests.get());
+    }
+
+    @Test
+    public void testUserLookups() {
+
+        gitLabApi.setNotFoundCache(new NotFoundCache());
+        UserApi userApi = gitLabApi.getUserApi();
+        for (int i = 0; i < 3; i++) {
+            assertFalse(userApi.getOptionalUser(99).isPresent());
+            assertFalse(userApi.getOptionalUser("nobody").isPresent());
+        }
+
+        assertEquals(2, requests.get());
+        assertEquals("404 User Not Found", GitLabApi.getOptionalException(userApi.getOptionalUser(99)).getMessage());
+
+        // With a UserCache set cache misses take the same path
+        userApi.setUserCache(new UserCache());
+        assertFalse(userApi.getOptionalUser(98).isPresent());
+        assertEquals(0, GitLabApi.getOptionalException(userApi.getOptionalUser(98)).getStackTrace().length);
+        assertTrue(userApi.getOptionalUser(5).isPresent());
+        assertEquals(4, requests.get());
+    }
+
+    @Test
+    public void testCachedEntityLookups() {
+
+        // With an EntityCache set cache misses take the same path as uncached lookups
+        gitLabApi.setNotFoundCache(new NotFoundCache());
+        ProjectApi projectApi = gitLabApi.getProjectApi();
+        projectApi.setProjectCache(new EntityCache<>());
+        for (int i = 0; i < 3; i++) {
+            assertFalse(projectApi.getOptionalProject(99).isPresent());
+            assertTrue(projectApi.getOptionalProject(42).isPresent());
+        }
+
+        GitLabApiException notFound = GitLabApi.getOptionalException(projectApi.getOptionalProject(99));
+        assertEquals("404 Project Not Found", notFound.getMessage());
+        assertEquals(0, notFound.getStackTrace().length);
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testModifyingCallClearsCache() throws GitLabApiException {
+
+        NotFoundCache notFoundCache = new NotFoundCache();
+        gitLabApi.setNotFoundCache(notFoundCache);
+        gitLabApi.getProjectApi().getOptionalProject(99);
+        assertEquals(1, notFoundCache.size());
+
+        gitLabApi.getProjectApi().createProject("created");
+        assertEquals(0, notFoundCache.size());
+    }
+
+    @Test
+    public void testCacheExpiration() throws Exception {
+
+        gitLabApi.setNotFoundCache(new NotFoundCache(10, 50));
+        gitLabApi.getProjectApi().getOptionalProject(99);
+        Thread.sleep(100);
+        gitLabApi.getProjectApi().getOptionalProject(99);
+        assertEquals(2, requests.get());
+    }
+
+    private void handleUsers(HttpExchange exchange) throws IOException {
+
+        requests.incrementAndGet();
+        String path = exchange.getRequestURI().getPath();
+        if (exchange.getRequestURI().getQuery() != null) {
+            send(exchange, "[]");
+        } else if (path.endsWith("/users/5")) {
+            send(exchange, "{\"id\":5,\"username\":\"jsmith\"}");
+        } else {
+            send(exchange, 404, "{\"message\":\"404 User Not Found\"}");
+        }
+    }
+
+    private void handleProjects(HttpExchange exchange) throws IOException {
+
+        requests.incrementAndGet();
+        String path = exchange.getRequestURI().getPath();
+        int status;
+        String content;
+        if ("POST".equals(exchange.getRequestMethod())) {
+            status = 201;
+            content = "{\"id\":43,\"path_with_namespace\":\"group/created\"}";
+        } else if (path.endsWith("/projects/42")) {
+            status = 200;
+            content = "{\"id\":42,\"path_with_namespace\":\"group/project\"}";
+        } else if (path.startsWith("/api/v4/projects/500/")) {
+            status = 500;
+            content = "{\"message\":\"500 Internal Server Error\"}";
+        } else {
+            status = 404;
+            content = "{\"message\":\"404 Project Not Found\"}";
+        }
+
+        send(exchange, status, content);
+    }
+}
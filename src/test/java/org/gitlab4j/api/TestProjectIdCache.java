@@ -0,0 +1,122 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.gitlab4j.api.systemhooks.GroupSystemHookEvent;
+import org.gitlab4j.api.systemhooks.ProjectSystemHookEvent;
+import org.junit.Test;
+
+public class TestProjectIdCache {
+
+    @Test
+    public void testBidirectionalLookups() {
+
+        ProjectIdCache cache = new ProjectIdCache(2);
+        cache.put(1, "group/one");
+        cache.put(2, "group/two");
+        assertEquals(Integer.valueOf(1), cache.getId("Group/One"));
+        assertEquals("group/two", cache.getPath(2));
+
+        // A new path for a cached project replaces the old path
+        cache.put(1, "other/one");
+        assertNull(cache.getId("group/one"));
+        assertEquals(Integer.valueOf(1), cache.getId("other/one"));
+
+        // The least recently used project is evicted when the cache is full
+        assertEquals("group/two", cache.getPath(2));
+        cache.put(3, "group/three");
+        assertEquals(2, cache.size());
+        assertEquals(Integer.valueOf(3), cache.getId("group/three"));
+        assertEquals(Integer.valueOf(2), cache.getId("group/two"));
+        assertNull(cache.getId("other/one"));
+        assertNull(cache.getPath(1));
+
+        cache.invalidate("group/three");
+        assertNull(cache.getPath(3));
+    }
+
+    @Test
+    public void testSystemHookEvents() {
+
+        ProjectIdCache cache = new ProjectIdCache();
+        cache.put(7, "group/old-name");
+
+        ProjectSystemHookEvent event = new ProjectSystemHookEvent();
+        event.setEventName(ProjectSystemHookEvent.PROJECT_RENAME_EVENT);
+        event.setProjectId(7);
+        event.setOldPathWithNamespace("group/old-name");
+        event.setPathWithNamespace("group/new-name");
+        cache.onProjectEvent(event);
+
+        assertNull(cache.getId("group/old-name"));
+        assertEquals(Integer.valueOf(7), cache.getId("group/new-name"));
+
+        event.setEventName(ProjectSystemHookEvent.PROJECT_DESTROY_EVENT);
+        cache.onProjectEvent(event);
+        assertNull(cache.getPath(7));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testGroupEvents() {
+
+        ProjectIdCache cache = new ProjectIdCache();
+        cache.put(1, "oldgroup/one");
+        cache.put(2, "oldgroup/sub/two");
+        cache.put(3, "oldgroup-other/three");
+
+        // The projects of a renamed group are no longer found by their old path
+        GroupSystemHookEvent event = new GroupSystemHookEvent();
+        event.setEventName(GroupSystemHookEvent.GROUP_RENAME_EVENT);
+        event.setOldFullPath("OldGroup");
+        event.setFullPath("newgroup");
+        cache.onGroupEvent(event);
+        assertNull(cache.getId("oldgroup/one"));
+        assertNull(cache.getPath(2));
+        assertEquals(Integer.valueOf(3), cache.getId("oldgroup-other/three"));
+
+        cache.put(4, "newgroup/four");
+        event.setEventName(GroupSystemHookEvent.GROUP_DESTROY_EVENT);
+        cache.onGroupEvent(event);
+        assertNull(cache.getId("newgroup/four"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testPopulatedFromResponses() throws Exception {
+
+        MockGitLabServer server = new MockGitLabServer();
+        server.createContext("/api/v4/projects", exchange -> {
+            String path = exchange.getRequestURI().getRawPath();
+            if (path.endsWith("/projects")) {
+                exchange.getResponseHeaders().add("X-Per-Page", "10");
+                exchange.getResponseHeaders().add("X-Total-Pages", "1");
+                exchange.getResponseHeaders().add("X-Total", "2");
+                send(exchange, "[{\"id\":11,\"path_with_namespace\":\"group/a\"},{\"id\":12,\"path_with_namespace\":\"group/b\"}]");
+            } else {
+                send(exchange, "{\"id\":42,\"path_with_namespace\":\"group/project\"}");
+            }
+        });
+
+        try {
+
+            GitLabApi gitLabApi = new GitLabApi(server.getUrl(), "token");
+            ProjectApi projectApi = gitLabApi.getProjectApi();
+            assertEquals("group%2Fproject", projectApi.getProjectIdOrPath("group/project"));
+
+            gitLabApi.setProjectIdCache(new ProjectIdCache());
+            projectApi.getProject("group", "project");
+            assertEquals(42, projectApi.getProjectIdOrPath("group/project"));
+
+            projectApi.getProjects(10).next();
+            assertEquals(12, projectApi.getProjectIdOrPath("group/b"));
+            assertEquals(12, gitLabApi.as(3).getProjectApi().getProjectIdOrPath("group/b"));
+            assertEquals(3, gitLabApi.getProjectIdCache().size());
+
+        } finally {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.gitlab4j.api;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+
+public class TestRangedDownloader {
+
+    private static final int CONTENT_SIZE = 512 * 1024;
+
+    private final byte[] content = new byte[CONTENT_SIZE];
+    private final List<String> ranges = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+    private volatile boolean rangesSupported = true;
+
+    private MockGitLabServer server;
+    private GitLabApi gitLabApi;
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+
+        new Random(42).nextBytes(content);
+        server = new MockGitLabServer();
+        server.createContext("/api/v4/projects/1/repository/archive", this::handleArchive);
+
+        gitLabApi = new GitLabApi(server.getUrl(), "token");
+        directory = Files.createTempDirectory("ranged-download-test").toFile();
+    }
+
+    @After
+    public void teardown() {
+
+        server.close();
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+
+        directory.delete();
+    }
+
+    @Test
+    public void testResumeAfterFailure() throws GitLabApiException, IOException {
+
+        failuresRemaining.set(2);
+        DownloadOptions options = new DownloadOptions().withRetryDelayMillis(0);
+        File file = gitLabApi.getRepositoryApi().getRepositoryArchive(1, "master", directory, options);
+
+        assertEquals("archive.tar.gz", file.getName());
+        assertArrayEquals(content, Files.readAllBytes(file.toPath()));
+        assertEquals(3, ranges.size());
+        assertEquals("bytes=0-", ranges.get(0));
+        assertTrue(ranges.get(1).startsWith("bytes=" + (CONTENT_SIZE / 2) + "-"));
+        assertEquals(1, directory.listFiles().length);
+    }
+
+    @Test
+    public void testParallelSegments() throws GitLabApiException, IOException {
+
+        DownloadOptions options = new DownloadOptions().withParallelSegments(4).withMinSegmentSize(64 * 1024);
+        File file = gitLabApi.getRepositoryApi().getRepositoryArchive(1, "master", directory, options);
+
+        assertArrayEquals(content, Files.readAllBytes(file.toPath()));
+        assertEquals(4, ranges.size());
+    }
+
+    @Test
+    public void testRangesNotSupported() throws GitLabApiException, IOException {
+
+        rangesSupported = false;
+        failuresRemaining.set(1);
+        DownloadOptions options = new DownloadOptions().withParallelSegments(4).withMinSegmentSize(64 * 1024).withRetryDelayMillis(0);
+        File file = gitLabApi.getRepositoryApi().getRepositoryArchive(1, "master", directory, options);
+
+        assertArrayEquals(content, Files.readAllBytes(file.toPath()));
+        assertEquals(2, ranges.size());
+    }
+
+    @Test(expected = GitLabApiException.class)
+    public void testRetriesExhausted() throws GitLabApiException {
+
+        failuresRemaining.set(10);
+        DownloadOptions options = new DownloadOptions().withMaxRetries(1).withRetryDelayMillis(0);
+        try {
+            gitLabApi.getRepositoryApi().getRepositoryArchive(1, "master", directory, options);
+        } finally {
+            assertEquals(0, directory.listFiles().length);
+        }
+    }
+
+    /**
+     * Serves the content honoring a single Range header, failed responses send only half of the requested bytes.
+     */
+    private void handleArchive(HttpExchange exchange) throws IOException {
+
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        ranges.add(range);
+
+        int start = 0;
+        int end = CONTENT_SIZE - 1;
+        boolean partial = (rangesSupported && range != null);
+        if (partial) {
+            String[] bounds = range.substring("bytes=".length()).split("-", -1);
+            start = Integer.parseInt(bounds[0]);
+            if (bounds[1].length() > 0) {
+                end = Integer.parseInt(bounds[1]);
+            }
+
+            exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + CONTENT_SIZE);
+        }
+
+        int length = end - start + 1;
+        exchange.getResponseHeaders().add("Content-Disposition", "attachment; filename=\"archive.tar.gz\"");
+        exchange.sendResponseHeaders(partial ? 206 : 200, length);
+
+        boolean fail = failuresRemaining.getAndDecrement() > 0;
+        OutputStream out = exchange.getResponseBody();
+        try {
+            out.write(content, start, fail ? length / 2 : length);
+            out.flush();
+        } finally {
+            if (fail) {
+                // Drop the connection without completing the response
+                exchange.close();
+            } else {
+                out.close();
+            }
+        }
+    }
+}
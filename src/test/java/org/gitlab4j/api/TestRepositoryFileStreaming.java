@@ -0,0 +1,110 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.gitlab4j.api.models.RepositoryFile;
+import org.gitlab4j.api.utils.Base64ContentStreamingOutput;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class TestRepositoryFileStreaming {
+
+    @Test
+    public void testStreamingCreateFile() throws Exception {
+
+        byte[] content = new byte[3 * 1024 * 1024 + 1];
+        new Random(3).nextBytes(content);
+        Path contentFile = Files.createTempFile("streaming-upload-test", ".bin");
+        Files.write(contentFile, content);
+
+        AtomicReference<String> transferEncoding = new AtomicReference<>();
+        AtomicReference<JsonNode> requestBody = new AtomicReference<>();
+        MockGitLabServer server = new MockGitLabServer();
+        server.createContext("/api/v4/projects/1/repository/files", exchange -> {
+            transferEncoding.set(exchange.getRequestHeaders().getFirst("Transfer-Encoding"));
+            requestBody.set(new ObjectMapper().readTree(exchange.getRequestBody()));
+            send(exchange, 201, "{\"file_path\":\"lib/data.bin\",\"branch\":\"master\"}");
+        });
+
+        try {
+
+            GitLabApi gitLabApi = new GitLabApi(server.getUrl(), "token");
+            RepositoryFile file = new RepositoryFile();
+            file.setFilePath("lib/data.bin");
+            RepositoryFile created = gitLabApi.getRepositoryFileApi().createFile(file, 1, "master", "Add data", contentFile);
+
+            assertEquals("lib/data.bin", created.getFilePath());
+            assertEquals("chunked", transferEncoding.get());
+            assertEquals("master", requestBody.get().get("branch").asText());
+            assertEquals("base64", requestBody.get().get("encoding").asText());
+            assertEquals("Add data", requestBody.get().get("commit_message").asText());
+            assertArrayEquals(content, Base64.getDecoder().decode(requestBody.get().get("content").asText()));
+
+        } finally {
+            server.close();
+            Files.delete(contentFile);
+        }
+    }
+
+    @Test
+    public void testStreamingRequestBody() throws IOException {
+
+        byte[] content = new byte[64 * 1024 + 5];
+        new Random(5).nextBytes(content);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Base64ContentStreamingOutput("content", new ByteArrayInputStream(content))
+                .withParam("branch", "master").write(out);
+
+        JsonNode requestBody = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals("master", requestBody.get("branch").asText());
+        assertArrayEquals(content, Base64.getDecoder().decode(requestBody.get("content").asText()));
+    }
+
+    @Test
+    public void testBase64ContentIsStreamed() throws IOException {
+
+        byte[] content = new byte[1024 * 1024 + 7];
+        new Random(7).nextBytes(content);
+        String json = "{\"file_name\":\"data.bin\",\"file_path\":\"lib/data.bin\",\"size\":" + content.length +
+                ",\"encoding\":\"base64\",\"ref\":\"master\",\"blob_id\":\"79f7bbd25901e8334750839545a9bd021f0e4c83\"," +
+                "\"content\":\"" + Base64.getEncoder().encodeToString(content) + "\",\"last_commit_id\":\"570e7b2abdd848b95f2f578043fc23bd6f6fd24d\"}";
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RepositoryFile file = RepositoryFileApi.readFile(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), out);
+
+        assertArrayEquals(content, out.toByteArray());
+        assertNull(file.getContent());
+        assertEquals("data.bin", file.getFileName());
+        assertEquals("lib/data.bin", file.getFilePath());
+        assertEquals(Integer.valueOf(content.length), file.getSize());
+        assertEquals("79f7bbd25901e8334750839545a9bd021f0e4c83", file.getBlobId());
+        assertEquals("570e7b2abdd848b95f2f578043fc23bd6f6fd24d", file.getLastCommitId());
+    }
+
+    @Test
+    public void testTextContent() throws IOException {
+
+        String json = "{\"file_name\":\"README\",\"encoding\":\"text\",\"content\":\"Hello \\u00e9\"}";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RepositoryFile file = RepositoryFileApi.readFile(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), out);
+
+        assertEquals("Hello \u00e9", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals("README", file.getFileName());
+    }
+}
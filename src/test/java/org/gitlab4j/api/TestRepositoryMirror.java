@@ -0,0 +1,239 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+
+public class TestRepositoryMirror {
+
+    private static final String COMMIT1 = "c100000000000000000000000000000000000000";
+    private static final String COMMIT2 = "c200000000000000000000000000000000000000";
+
+    // Commit SHA to the files at that commit, each mapped to its blob SHA
+    private final Map<String, Map<String, String>> commits = new HashMap<>();
+    private final List<String> blobRequests = new CopyOnWriteArrayList<>();
+    private volatile String head = COMMIT1;
+    private volatile boolean readmeToSubmodule;
+
+    private MockGitLabServer server;
+    private GitLabApi gitLabApi;
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+
+        Map<String, String> files1 = new LinkedHashMap<>();
+        files1.put("README.md", "b1");
+        files1.put("conf/a.yml", "b2");
+        files1.put("conf/b.yml", "b3");
+        files1.put("old/z.yml", "b6");
+        commits.put(COMMIT1, files1);
+
+        // a.yml is modified, b.yml is renamed to c.yml, x.yml is added and z.yml is deleted
+        Map<String, String> files2 = new LinkedHashMap<>();
+        files2.put("README.md", "b1");
+        files2.put("conf/a.yml", "b4");
+        files2.put("conf/c.yml", "b3");
+        files2.put("new/x.yml", "b5");
+        commits.put(COMMIT2, files2);
+
+        server = new MockGitLabServer();
+        server.createContext("/api/v4/projects/1/repository/commits", exchange -> send(exchange, "{\"id\":\"" + head + "\"}"));
+        server.createContext("/api/v4/projects/1/repository/compare", this::handleCompare);
+        server.createContext("/api/v4/projects/1/repository/tree", this::handleTree);
+        server.createContext("/api/v4/projects/1/repository/blobs", this::handleBlob);
+
+        gitLabApi = new GitLabApi(server.getUrl(), "token");
+        directory = Files.createTempDirectory("mirror-test").toFile();
+    }
+
+    @After
+    public void teardown() throws IOException {
+
+        server.close();
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testSync() throws GitLabApiException, IOException {
+
+        RepositoryMirror mirror = new RepositoryMirror(gitLabApi, 1, "master", directory);
+        assertNull(mirror.getSyncedSha());
+
+        RepositoryMirror.SyncResult result = mirror.sync();
+        assertTrue(result.isFullSync());
+        assertEquals(COMMIT1, mirror.getSyncedSha());
+        assertEquals(new TreeSet<>(commits.get(COMMIT1).keySet()), listFiles());
+        assertEquals("content of b3", read("conf/b.yml"));
+
+        head = COMMIT2;
+        blobRequests.clear();
+        result = mirror.sync();
+        assertFalse(result.isFullSync());
+        assertEquals(COMMIT1, result.getFromSha());
+        assertEquals(COMMIT2, mirror.getSyncedSha());
+        assertEquals(new TreeSet<>(Arrays.asList("conf/a.yml", "conf/c.yml", "new/x.yml")), new TreeSet<>(result.getUpdated()));
+        assertEquals(new TreeSet<>(Arrays.asList("conf/b.yml", "old/z.yml")), new TreeSet<>(result.getDeleted()));
+
+        // Only the changed files were fetched, and the emptied directory was removed
+        assertEquals(new TreeSet<>(Arrays.asList("b4", "b3", "b5")), new TreeSet<>(blobRequests));
+        assertEquals(new TreeSet<>(commits.get(COMMIT2).keySet()), listFiles());
+        assertEquals("content of b4", read("conf/a.yml"));
+        assertFalse(new File(directory, "old").exists());
+
+        blobRequests.clear();
+        result = mirror.sync();
+        assertTrue(result.getUpdated().isEmpty());
+        assertTrue(blobRequests.isEmpty());
+    }
+
+    @Test
+    public void testSyncFromUnreachableCommit() throws GitLabApiException, IOException {
+
+        RepositoryMirror mirror = new RepositoryMirror(gitLabApi, 1, "master", directory);
+        mirror.sync();
+
+        // The synced commit was lost to a force push, the compare responds with a 404
+        Files.write(new File(directory, RepositoryMirror.STATE_FILENAME).toPath(), "c0".getBytes(StandardCharsets.UTF_8));
+        head = COMMIT2;
+        RepositoryMirror.SyncResult result = mirror.sync();
+        assertTrue(result.isFullSync());
+        assertEquals(COMMIT2, mirror.getSyncedSha());
+        assertEquals(new TreeSet<>(commits.get(COMMIT2).keySet()), listFiles());
+    }
+
+    @Test
+    public void testFileReplacedBySubmodule() throws GitLabApiException, IOException {
+
+        RepositoryMirror mirror = new RepositoryMirror(gitLabApi, 1, "master", directory);
+        mirror.sync();
+
+        readmeToSubmodule = true;
+        commits.get(COMMIT2).remove("README.md");
+        head = COMMIT2;
+        RepositoryMirror.SyncResult result = mirror.sync();
+        assertFalse(result.isFullSync());
+        assertTrue(result.getDeleted().contains("README.md"));
+        assertFalse(result.getUpdated().contains("README.md"));
+        assertEquals(new TreeSet<>(commits.get(COMMIT2).keySet()), listFiles());
+    }
+
+    private TreeSet<String> listFiles() throws IOException {
+
+        Path root = directory.toPath();
+        try (Stream<Path> files = Files.walk(root)) {
+            TreeSet<String> paths = new TreeSet<>();
+            files.filter(Files::isRegularFile).map(file -> root.relativize(file).toString().replace(File.separatorChar, '/'))
+                    .filter(path -> !RepositoryMirror.STATE_FILENAME.equals(path)).forEach(paths::add);
+            return (paths);
+        }
+    }
+
+    private String read(String path) throws IOException {
+        return (new String(Files.readAllBytes(new File(directory, path).toPath()), StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> parseQuery(HttpExchange exchange) throws IOException {
+
+        Map<String, String> params = new HashMap<>();
+        for (String param : exchange.getRequestURI().getRawQuery().split("&")) {
+            String[] pair = param.split("=", 2);
+            params.put(pair[0], pair.length > 1 ? URLDecoder.decode(pair[1], "UTF-8") : "");
+        }
+
+        return (params);
+    }
+
+    private void handleCompare(HttpExchange exchange) throws IOException {
+
+        Map<String, String> params = parseQuery(exchange);
+        assertEquals(COMMIT2, params.get("to"));
+        if (!COMMIT1.equals(params.get("from"))) {
+            send(exchange, 404, "{\"message\":\"404 Commit Not Found\"}");
+            return;
+        }
+
+        String diffs = "[" +
+                (readmeToSubmodule ? "{\"old_path\":\"README.md\",\"new_path\":\"README.md\",\"a_mode\":\"100644\",\"b_mode\":\"160000\"}," : "") +
+                "{\"old_path\":\"conf/a.yml\",\"new_path\":\"conf/a.yml\",\"a_mode\":\"100644\",\"b_mode\":\"100644\"}," +
+                "{\"old_path\":\"conf/b.yml\",\"new_path\":\"conf/c.yml\",\"a_mode\":\"100644\",\"b_mode\":\"100644\",\"renamed_file\":true}," +
+                "{\"old_path\":\"new/x.yml\",\"new_path\":\"new/x.yml\",\"a_mode\":\"0\",\"b_mode\":\"100644\",\"new_file\":true}," +
+                "{\"old_path\":\"old/z.yml\",\"new_path\":\"old/z.yml\",\"a_mode\":\"100644\",\"b_mode\":\"0\",\"deleted_file\":true}]";
+        send(exchange, "{\"commit\":{\"id\":\"" + COMMIT2 + "\"},\"diffs\":" + diffs + ",\"compare_timeout\":false}");
+    }
+
+    private void handleTree(HttpExchange exchange) throws IOException {
+
+        Map<String, String> params = parseQuery(exchange);
+        Map<String, String> files = commits.get(params.get("ref"));
+        String directory = params.getOrDefault("path", "");
+        boolean recursive = Boolean.parseBoolean(params.get("recursive"));
+        String prefix = (directory.isEmpty() ? "" : directory + "/");
+
+        // Build the entries under the directory from the paths of the files
+        Map<String, String> entries = new LinkedHashMap<>();
+        for (Map.Entry<String, String> file : files.entrySet()) {
+
+            if (!file.getKey().startsWith(prefix)) {
+                continue;
+            }
+
+            String[] names = file.getKey().substring(prefix.length()).split("/");
+            int depth = (recursive ? names.length : 1);
+            String path = directory;
+            for (int i = 0; i < depth; i++) {
+                path = (path.isEmpty() ? names[i] : path + "/" + names[i]);
+                boolean isFile = (i == names.length - 1);
+                entries.putIfAbsent(path, "{\"id\":\"" + (isFile ? file.getValue() : "tree-" + path) + "\",\"name\":\"" + names[i] +
+                        "\",\"type\":\"" + (isFile ? "blob" : "tree") + "\",\"path\":\"" + path + "\",\"mode\":\"100644\"}");
+            }
+        }
+
+        if (entries.isEmpty()) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+
+        exchange.getResponseHeaders().add("X-Per-Page", params.get("per_page"));
+        exchange.getResponseHeaders().add("X-Total-Pages", "1");
+        exchange.getResponseHeaders().add("X-Total", Integer.toString(entries.size()));
+        send(exchange, "[" + String.join(",", new ArrayList<>(entries.values())) + "]");
+    }
+
+    private void handleBlob(HttpExchange exchange) throws IOException {
+
+        // The path is /api/v4/projects/1/repository/blobs/:sha/raw
+        String[] segments = exchange.getRequestURI().getPath().split("/");
+        String sha = segments[segments.length - 2];
+        blobRequests.add(sha);
+        send(exchange, "content of " + sha);
+    }
+}
@@ -0,0 +1,139 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gitlab4j.api.models.Project;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+
+public class TestRequestCoalescing {
+
+    private static final int CALLERS = 16;
+
+    private MockGitLabServer server;
+    private GitLabApi gitLabApi;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Before
+    public void setup() throws IOException {
+
+        server = new MockGitLabServer();
+        server.createContext("/api/v4/projects/42", this::handleProject);
+
+        gitLabApi = new GitLabApi(server.getUrl(), "token");
+    }
+
+    @After
+    public void teardown() {
+        server.close();
+    }
+
+    @Test
+    public void testConcurrentIdenticalGetsAreCoalesced() throws Exception {
+
+        gitLabApi.setRequestCoalescing(true);
+        assertTrue(gitLabApi.as(1).getRequestCoalescing());
+
+        List<Project> projects = callConcurrently(() -> gitLabApi.getProjectApi().getProject(42));
+        assertEquals(1, requests.get());
+        for (Project project : projects) {
+            assertEquals(Integer.valueOf(42), project.getId());
+            assertEquals("group/project", project.getPathWithNamespace());
+        }
+
+        // Uncontended requests are made as usual
+        assertEquals("group/project", gitLabApi.getProjectApi().getProject(42).getPathWithNamespace());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testDifferentIdentitiesAreNotCoalesced() throws Exception {
+
+        gitLabApi.setRequestCoalescing(true);
+        AtomicInteger caller = new AtomicInteger();
+        callConcurrently(() -> gitLabApi.as(caller.incrementAndGet() % 2 + 1).getProjectApi().getProject(42));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testRequestKeyDoesNotHoldTheToken() throws Exception {
+
+        URL url = new URL(server.getUrl() + "/api/v4/projects/42");
+        String key = gitLabApi.getApiClient().getRequestKey(url, null);
+        assertFalse(key.contains("token"));
+        assertEquals(key, gitLabApi.getApiClient().getRequestKey(url, null));
+
+        // Each token pool is keyed by an ID of its own
+        GitLabApi pooledApi = new GitLabApi(server.getUrl(), "token");
+        pooledApi.setTokenPool(new TokenPool().withToken("token1").withToken("token2"));
+        GitLabApi otherPooledApi = new GitLabApi(server.getUrl(), "token");
+        otherPooledApi.setTokenPool(new TokenPool().withToken("token1").withToken("token2"));
+        assertFalse(pooledApi.getApiClient().getRequestKey(url, null).contains("token"));
+        assertFalse(pooledApi.getApiClient().getRequestKey(url, null).equals(otherPooledApi.getApiClient().getRequestKey(url, null)));
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+
+        assertFalse(gitLabApi.getRequestCoalescing());
+        callConcurrently(() -> gitLabApi.getProjectApi().getProject(42));
+        assertEquals(CALLERS, requests.get());
+    }
+
+    private List<Project> callConcurrently(Callable<Project> call) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+
+            CyclicBarrier barrier = new CyclicBarrier(CALLERS);
+            List<Future<Project>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    return (call.call());
+                }));
+            }
+
+            List<Project> projects = new ArrayList<>();
+            for (Future<Project> future : futures) {
+                projects.add(future.get());
+            }
+
+            return (projects);
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void handleProject(HttpExchange exchange) throws IOException {
+
+        requests.incrementAndGet();
+
+        // Keep the request in flight long enough for all the callers to arrive
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+
+        send(exchange, "{\"id\":42,\"path_with_namespace\":\"group/project\"}");
+    }
+}
@@ -0,0 +1,56 @@
+package org.gitlab4j.api;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.gitlab4j.api.utils.SecretTokenVerifier;
+import org.gitlab4j.api.webhook.PushEvent;
+import org.gitlab4j.api.webhook.WebHookManager;
+import org.junit.Test;
+
+public class TestSecretTokenVerifier {
+
+    @Test
+    public void testMatches() {
+
+        SecretTokenVerifier verifier = new SecretTokenVerifier("secret-token");
+        assertTrue(verifier.matches("secret-token"));
+        assertFalse(verifier.matches("secret-tokem"));
+        assertFalse(verifier.matches("secret-token2"));
+        assertFalse(verifier.matches("secret"));
+        assertFalse(verifier.matches(""));
+        assertFalse(verifier.matches(null));
+        assertFalse(new SecretTokenVerifier().matches("secret-token"));
+    }
+
+    @Test
+    public void testTokenRotation() {
+
+        WebHookManager webHookManager = new WebHookManager("old-token");
+        assertTrue(webHookManager.isValidSecretToken("old-token"));
+        assertFalse(webHookManager.isValidSecretToken("new-token"));
+
+        webHookManager.setSecretTokens("old-token", "new-token");
+        assertTrue(webHookManager.isValidSecretToken("old-token"));
+        assertTrue(webHookManager.isValidSecretToken("new-token"));
+        assertFalse(webHookManager.isValidSecretToken("other-token"));
+
+        webHookManager.setSecretTokens("new-token");
+        assertFalse(webHookManager.isValidSecretToken("old-token"));
+        assertTrue(webHookManager.isValidSecretToken("new-token"));
+
+        webHookManager.setSecretTokens();
+        assertTrue(webHookManager.isValidSecretToken("other-token"));
+    }
+
+    @Test
+    public void testHookEntryPath() {
+
+        WebHookManager webHookManager = new WebHookManager();
+        webHookManager.setSecretTokens("old-secret-token-0123456789", "new-secret-token-0123456789");
+
+        assertTrue(webHookManager.isValidSecretToken("new-secret-token-0123456789"));
+        assertFalse(webHookManager.isValidSecretToken("bad-secret-token-0123456789"));
+        assertFalse(webHookManager.hasInterestedListeners(PushEvent.X_GITLAB_EVENT));
+    }
+}
@@ -0,0 +1,140 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gitlab4j.api.ServerCapabilities.Capability;
+import org.gitlab4j.api.models.Project;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+
+public class TestServerCapabilities {
+
+    @Test
+    public void testParseVersion() {
+        assertArrayEquals(new int[] {10, 4, 2}, ServerCapabilities.parseVersion("10.4.2-ee"));
+        assertArrayEquals(new int[] {11, 0, 0}, ServerCapabilities.parseVersion("11.0.0-pre"));
+        assertArrayEquals(new int[] {9, 1, 0}, ServerCapabilities.parseVersion("9.1"));
+        assertArrayEquals(new int[] {0, 0, 0}, ServerCapabilities.parseVersion(null));
+    }
+
+    @Test
+    public void testVersionIsFetchedOnce() throws Exception {
+
+        AtomicInteger requests = new AtomicInteger();
+        MockGitLabServer server = new MockGitLabServer();
+        server.createContext("/api/v4/version", exchange -> {
+            requests.incrementAndGet();
+            send(exchange, "{\"version\":\"10.4.2-ee\",\"revision\":\"abc\"}");
+        });
+
+        try {
+
+            GitLabApi gitLabApi = new GitLabApi(server.getUrl(), "token");
+            ServerCapabilities capabilities = gitLabApi.getServerCapabilities();
+            assertSame(capabilities, gitLabApi.as(2).getServerCapabilities());
+
+            assertEquals("10.4.2-ee", capabilities.getVersion().getVersion());
+            assertTrue(capabilities.isAtLeast("10.4"));
+            assertFalse(capabilities.isAtLeast("10.5.0"));
+            assertFalse(capabilities.supports(ServerCapabilities.KEYSET_PAGINATION));
+            assertTrue(capabilities.supports(new Capability("past", "9.0", "11.0")));
+            assertFalse(capabilities.supports(new Capability("future", "10.6")));
+            assertEquals(1, requests.get());
+
+            capabilities.refresh();
+            assertTrue(capabilities.isAtLeast("10.4.2"));
+            assertEquals(2, requests.get());
+
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testKeysetPaginationOfProjects() throws Exception {
+
+        MockGitLabServer server = new MockGitLabServer();
+        server.createContext("/api/v4/version", exchange -> send(exchange, "{\"version\":\"13.2.0\"}"));
+        server.createContext("/api/v4/projects", this::handleKeysetProjects);
+
+        try {
+
+            GitLabApi gitLabApi = new GitLabApi(server.getUrl(), "token");
+            Pager<Project> pager = gitLabApi.getProjectApi().getProjectsInIdOrder(2);
+            assertTrue(pager.isKeyset());
+            assertEquals(-1, pager.getTotalPages());
+
+            assertEquals(Integer.valueOf(1), pager.next().get(0).getId());
+            List<Project> projects = pager.next();
+            assertEquals(Integer.valueOf(3), projects.get(0).getId());
+            assertSame(projects, pager.current());
+            assertFalse(pager.hasNext());
+
+            try {
+                pager.next();
+                fail("Expected a NoSuchElementException");
+            } catch (NoSuchElementException expected) {
+            }
+
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testOffsetPaginationOfProjectsOnOlderServers() throws Exception {
+
+        MockGitLabServer server = new MockGitLabServer();
+        server.createContext("/api/v4/version", exchange -> send(exchange, "{\"version\":\"10.4.2\"}"));
+        server.createContext("/api/v4/projects", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            assertFalse(query.contains("pagination=keyset"));
+            exchange.getResponseHeaders().add("X-Total", "2");
+            exchange.getResponseHeaders().add("X-Total-Pages", "1");
+            exchange.getResponseHeaders().add("X-Per-Page", "2");
+            send(exchange, "[{\"id\":1},{\"id\":2}]");
+        });
+
+        try {
+
+            GitLabApi gitLabApi = new GitLabApi(server.getUrl(), "token");
+            Pager<Project> pager = gitLabApi.getProjectApi().getProjectsInIdOrder(2);
+            assertFalse(pager.isKeyset());
+            assertEquals(2, pager.getTotalItems());
+            assertEquals(2, pager.next().size());
+            assertFalse(pager.hasNext());
+
+        } finally {
+            server.close();
+        }
+    }
+
+    private void handleKeysetProjects(HttpExchange exchange) throws IOException {
+
+        // Serves two pages of two projects, linking the first page to the second one
+        String query = exchange.getRequestURI().getQuery();
+        assertTrue(query.contains("pagination=keyset"));
+        assertTrue(query.contains("order_by=id"));
+        assertFalse(query.contains("page=1"));
+        if (query.contains("id_after=2")) {
+            send(exchange, "[{\"id\":3},{\"id\":4}]");
+        } else {
+            String next = "http://" + exchange.getRequestHeaders().getFirst("Host")
+                    + "/api/v4/projects?id_after=2&order_by=id&pagination=keyset&per_page=2&sort=asc";
+            exchange.getResponseHeaders().add("Link", "<" + next + ">; rel=\"next\"");
+            send(exchange, "[{\"id\":1},{\"id\":2}]");
+        }
+    }
+}
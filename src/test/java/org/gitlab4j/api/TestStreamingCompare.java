@@ -0,0 +1,69 @@
+package org.gitlab4j.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.gitlab4j.api.models.Commit;
+import org.gitlab4j.api.models.CompareResults;
+import org.gitlab4j.api.models.Diff;
+import org.junit.Test;
+
+public class TestStreamingCompare {
+
+    private static final String COMPARE_JSON = "{" +
+            "\"commit\":{\"id\":\"c2\",\"title\":\"Second\"}," +
+            "\"commits\":[{\"id\":\"c1\",\"title\":\"First\"},{\"id\":\"c2\",\"title\":\"Second\"}]," +
+            "\"diffs\":[" +
+            "{\"old_path\":\"a.txt\",\"new_path\":\"a.txt\",\"a_mode\":\"100644\",\"b_mode\":\"100644\",\"diff\":\"@@ -1 +1 @@\\n-a\\n+b\\n\"}," +
+            "{\"old_path\":\"b.txt\",\"new_path\":\"c.txt\",\"renamed_file\":true,\"diff\":\"\",\"deleted_file\":false}]," +
+            "\"compare_timeout\":false,\"compare_same_ref\":false}";
+
+    @Test
+    public void testStreamCommitsAndDiffs() throws IOException {
+
+        List<Commit> commits = new ArrayList<>();
+        List<Diff> diffs = new ArrayList<>();
+        CompareResults results = read(commits, diffs, true);
+
+        assertEquals("c2", results.getCommit().getId());
+        assertFalse(results.getCompareTimeout());
+        assertNull(results.getCommits());
+        assertNull(results.getDiffs());
+
+        assertEquals(2, commits.size());
+        assertEquals("First", commits.get(0).getTitle());
+        assertEquals(2, diffs.size());
+        assertEquals("@@ -1 +1 @@\n-a\n+b\n", diffs.get(0).getDiff());
+        assertEquals("100644", diffs.get(0).getBMode());
+        assertEquals("c.txt", diffs.get(1).getNewPath());
+        assertTrue(diffs.get(1).getRenamedFile());
+    }
+
+    @Test
+    public void testSkipDiffBodiesAndCommits() throws IOException {
+
+        List<Diff> diffs = new ArrayList<>();
+        CompareResults results = read(null, diffs, false);
+
+        assertEquals("c2", results.getCommit().getId());
+        assertEquals(2, diffs.size());
+        assertNull(diffs.get(0).getDiff());
+        assertEquals("a.txt", diffs.get(0).getOldPath());
+        assertEquals("100644", diffs.get(0).getAMode());
+        assertEquals("b.txt", diffs.get(1).getOldPath());
+        assertFalse(diffs.get(1).getDeletedFile());
+    }
+
+    private static CompareResults read(List<Commit> commits, List<Diff> diffs, boolean includeDiffBodies) throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(COMPARE_JSON.getBytes(StandardCharsets.UTF_8));
+        return (RepositoryApi.readCompareResults(in, commits != null ? commits::add : null, diffs != null ? diffs::add : null, includeDiffBodies));
+    }
+}
@@ -0,0 +1,142 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.gitlab4j.api.Constants.TokenType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+
+public class TestSudoContext {
+
+    private MockGitLabServer server;
+    private GitLabApi gitLabApi;
+
+    @Before
+    public void setup() throws IOException {
+
+        server = new MockGitLabServer();
+        server.createContext("/api/v4/version", this::handleVersion);
+
+        gitLabApi = new GitLabApi(server.getUrl(), "token");
+    }
+
+    @After
+    public void teardown() {
+        server.close();
+    }
+
+    @Test
+    public void testConcurrentSudoContexts() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 1; i <= 64; i++) {
+                final int userId = i;
+                futures.add(executor.submit(() -> gitLabApi.as(userId).getVersion().getVersion()));
+            }
+
+            for (int i = 1; i <= 64; i++) {
+                assertEquals(Integer.toString(i), futures.get(i - 1).get());
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // The sudo contexts do not change the state of the instance they were created from
+        assertNull(gitLabApi.getSudoAsId());
+        assertEquals("none", gitLabApi.getVersion().getVersion());
+        assertEquals("none", gitLabApi.as(null).getVersion().getVersion());
+    }
+
+    @Test
+    public void testSudoContextSharesClientSettings() {
+
+        GitLabApi sudoApi = gitLabApi.as(7);
+        assertEquals(Integer.valueOf(7), sudoApi.getSudoAsId());
+        assertEquals(gitLabApi.getAuthToken(), sudoApi.getAuthToken());
+        assertEquals(gitLabApi.getGitLabServerUrl(), sudoApi.getGitLabServerUrl());
+
+        // The transport settings belong to the instance the sudo context was created from
+        gitLabApi.setIgnoreCertificateErrors(true);
+        assertEquals(true, sudoApi.getIgnoreCertificateErrors());
+        sudoApi.setIgnoreCertificateErrors(true);
+        try {
+            sudoApi.setIgnoreCertificateErrors(false);
+            fail("Expected an IllegalStateException");
+        } catch (IllegalStateException expected) {
+        }
+
+        gitLabApi.setIgnoreCertificateErrors(false);
+        assertEquals(false, sudoApi.getIgnoreCertificateErrors());
+    }
+
+    @Test
+    public void testDuplicate() throws Exception {
+
+        // A duplicate shares the Jersey Client, the sudo user and per page setting are its own
+        gitLabApi.setDefaultPerPage(20);
+        GitLabApi sudoApi = gitLabApi.as(3);
+        GitLabApi duplicate = sudoApi.duplicate();
+        assertEquals(Integer.valueOf(3), duplicate.getSudoAsId());
+        assertEquals(20, duplicate.getDefaultPerPage());
+        assertEquals("3", duplicate.getVersion().getVersion());
+        assertSame(gitLabApi.getApiClient().getClient(), duplicate.getApiClient().getClient());
+        duplicate.unsudo();
+        duplicate.setDefaultPerPage(50);
+        assertEquals(Integer.valueOf(3), sudoApi.getSudoAsId());
+        assertEquals(20, sudoApi.getDefaultPerPage());
+    }
+
+    @Test
+    public void testIsolatedDuplicateHasOwnClient() throws Exception {
+
+        gitLabApi.as(3).getVersion();
+        GitLabApi duplicate = gitLabApi.as(3).duplicate(true);
+        assertEquals(Integer.valueOf(3), duplicate.getSudoAsId());
+        assertEquals("3", duplicate.getVersion().getVersion());
+        assertNotSame(gitLabApi.getApiClient().getClient(), duplicate.getApiClient().getClient());
+
+        // Configuring the duplicate does not change the instance it was created from
+        duplicate.setIgnoreCertificateErrors(true);
+        assertTrue(duplicate.getIgnoreCertificateErrors());
+        assertFalse(gitLabApi.getIgnoreCertificateErrors());
+        assertFalse(gitLabApi.as(3).getIgnoreCertificateErrors());
+    }
+
+    @Test
+    public void testWithAuthToken() throws Exception {
+
+        GitLabApi tenantApi = gitLabApi.withAuthToken(TokenType.PRIVATE, "tenant-token");
+        assertEquals("tenant-token", tenantApi.getVersion().getRevision());
+        assertEquals("token", gitLabApi.getVersion().getRevision());
+        assertSame(gitLabApi.getApiClient().getClient(), tenantApi.getApiClient().getClient());
+    }
+
+    private void handleVersion(HttpExchange exchange) throws IOException {
+
+        // Echo the Sudo header back as the version, and the private token as the revision
+        String sudo = exchange.getRequestHeaders().getFirst("Sudo");
+        String token = exchange.getRequestHeaders().getFirst("PRIVATE-TOKEN");
+        send(exchange, "{\"version\":\"" + (sudo != null ? sudo : "none") + "\",\"revision\":\"" + token + "\"}");
+    }
+}
@@ -0,0 +1,110 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gitlab4j.api.Constants.TokenType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+
+public class TestTokenPool {
+
+    private MockGitLabServer server;
+    private GitLabApi gitLabApi;
+
+    // The rate limit budget of each token known to the server, tokens that are not known are rejected
+    private final Map<String, AtomicInteger> budgets = new ConcurrentHashMap<>();
+
+    @Before
+    public void setup() throws IOException {
+
+        server = new MockGitLabServer();
+        server.createContext("/api/v4/version", this::handleVersion);
+
+        gitLabApi = new GitLabApi(server.getUrl(), "token");
+    }
+
+    @After
+    public void teardown() {
+        server.close();
+    }
+
+    @Test
+    public void testBalancesByRemainingBudget() throws GitLabApiException {
+
+        budgets.put("a", new AtomicInteger(100));
+        budgets.put("b", new AtomicInteger(10));
+        TokenPool tokenPool = new TokenPool().withToken("a").withToken(TokenType.PRIVATE, "b");
+        gitLabApi.setTokenPool(tokenPool);
+
+        int usedA = 0;
+        for (int i = 0; i < 20; i++) {
+            if ("a".equals(gitLabApi.getVersion().getRevision())) {
+                usedA++;
+            }
+        }
+
+        // Only the first call with each token is made before its budget is known
+        assertEquals(19, usedA);
+        assertEquals(81, tokenPool.getRemaining("a"));
+        assertEquals(9, tokenPool.getRemaining("b"));
+        assertEquals(-1, tokenPool.getRemaining("unknown"));
+    }
+
+    @Test
+    public void testFailoverOnRevokedToken() throws GitLabApiException {
+
+        budgets.put("good", new AtomicInteger(1000));
+        TokenPool tokenPool = new TokenPool().withToken("revoked").withToken("good");
+        gitLabApi.setTokenPool(tokenPool);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("good", gitLabApi.getVersion().getRevision());
+        }
+
+        assertTrue(tokenPool.isRevoked("revoked"));
+        assertFalse(tokenPool.isRevoked("good"));
+        assertEquals(1, tokenPool.getActiveCount());
+
+        // Sudo contexts use the pool as well
+        assertEquals("good", gitLabApi.as(5).getVersion().getRevision());
+    }
+
+    @Test
+    public void testFallbackWhenAllTokensRevoked() throws GitLabApiException {
+
+        budgets.put("token", new AtomicInteger(1000));
+        TokenPool tokenPool = new TokenPool().withToken("x").withToken("y");
+        gitLabApi.setTokenPool(tokenPool);
+
+        assertEquals("token", gitLabApi.getVersion().getRevision());
+        assertEquals(0, tokenPool.getActiveCount());
+
+        gitLabApi.setTokenPool(null);
+        assertNull(gitLabApi.getTokenPool());
+    }
+
+    private void handleVersion(HttpExchange exchange) throws IOException {
+
+        String token = exchange.getRequestHeaders().getFirst("PRIVATE-TOKEN");
+        AtomicInteger budget = budgets.get(token);
+        if (budget == null) {
+            send(exchange, 401, "{\"message\":\"401 Unauthorized\"}");
+        } else {
+            exchange.getResponseHeaders().add("RateLimit-Remaining", Integer.toString(budget.decrementAndGet()));
+            exchange.getResponseHeaders().add("RateLimit-Reset", Long.toString(System.currentTimeMillis() / 1000 + 60));
+            send(exchange, "{\"version\":\"10.0\",\"revision\":\"" + token + "\"}");
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.gitlab4j.api.models.TreeItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+
+public class TestTreeWalker {
+
+    // Directory path to its entries, each entry is { name, type, sha }
+    private final Map<String, List<String[]>> directories = new HashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private MockGitLabServer server;
+    private GitLabApi gitLabApi;
+
+    @Before
+    public void setup() throws IOException {
+
+        // "docs" and "site" share the same tree SHA, so they have the same content
+        addEntry("", "README.md", "blob", "b1");
+        addEntry("", "docs", "tree", "t1");
+        addEntry("", "site", "tree", "t1");
+        addEntry("", "src", "tree", "t2");
+        addEntry("docs", "index.md", "blob", "b2");
+        addEntry("docs", "images", "tree", "t3");
+        addEntry("docs/images", "logo.png", "blob", "b3");
+        addEntry("site", "index.md", "blob", "b2");
+        addEntry("site", "images", "tree", "t3");
+        addEntry("site/images", "logo.png", "blob", "b3");
+        addEntry("src", "Main.java", "blob", "b4");
+        addEntry("src", "util", "tree", "t4");
+        addEntry("src/util", "Strings.java", "blob", "b5");
+
+        server = new MockGitLabServer();
+        server.createContext("/api/v4/projects/1/repository/tree", this::handleTree);
+
+        gitLabApi = new GitLabApi(server.getUrl(), "token");
+    }
+
+    @After
+    public void teardown() {
+        server.close();
+    }
+
+    @Test
+    public void testWalk() throws GitLabApiException {
+
+        TreeWalker treeWalker = new TreeWalker(gitLabApi.getRepositoryApi(), 4).withItemsPerPage(2);
+        List<TreeItem> items = treeWalker.getTree(1, null, "master");
+
+        TreeSet<String> paths = new TreeSet<>();
+        for (TreeItem item : items) {
+            assertTrue(item.getPath() + " listed twice", paths.add(item.getPath()));
+        }
+
+        TreeSet<String> expected = new TreeSet<>();
+        expected.add("README.md");
+        expected.add("docs");
+        expected.add("docs/index.md");
+        expected.add("docs/images");
+        expected.add("docs/images/logo.png");
+        expected.add("site");
+        expected.add("site/index.md");
+        expected.add("site/images");
+        expected.add("site/images/logo.png");
+        expected.add("src");
+        expected.add("src/Main.java");
+        expected.add("src/util");
+        expected.add("src/util/Strings.java");
+        assertEquals(expected, paths);
+    }
+
+    @Test
+    public void testSubtreeCache() throws GitLabApiException {
+
+        // A single thread lists "docs" before "site", so the listing of "site" comes from the cache
+        TreeWalker treeWalker = new TreeWalker(gitLabApi.getRepositoryApi(), 1);
+        List<TreeItem> items = treeWalker.getTree(1, null, "master");
+        assertEquals(13, items.size());
+        assertEquals(0, countRequests("path=site"));
+        assertEquals(6, treeWalker.getCachedItems());
+
+        // Walking again only lists the directories above the split depth
+        requests.clear();
+        assertEquals(13, treeWalker.getTree(1, null, "master").size());
+        for (String request : requests) {
+            assertTrue(request, request.contains("recursive=false"));
+        }
+
+        treeWalker.clearCache();
+        assertEquals(0, treeWalker.getCachedItems());
+    }
+
+    @Test(expected = GitLabApiException.class)
+    public void testWalkFailure() throws GitLabApiException {
+        new TreeWalker(gitLabApi.getRepositoryApi(), 2).walk(1, "missing", "master", item -> {});
+    }
+
+    private int countRequests(String param) {
+
+        int count = 0;
+        for (String request : requests) {
+            if (request.contains(param)) {
+                count++;
+            }
+        }
+
+        return (count);
+    }
+
+    private void addEntry(String directory, String name, String type, String sha) {
+        directories.computeIfAbsent(directory, key -> new ArrayList<>()).add(new String[] { name, type, sha });
+    }
+
+    private void listEntries(String directory, boolean recursive, List<String> json) {
+
+        for (String[] entry : directories.get(directory)) {
+            String path = (directory.isEmpty() ? entry[0] : directory + "/" + entry[0]);
+            json.add("{\"id\":\"" + entry[2] + "\",\"name\":\"" + entry[0] + "\",\"type\":\"" + entry[1] +
+                    "\",\"path\":\"" + path + "\",\"mode\":\"" + ("tree".equals(entry[1]) ? "040000" : "100644") + "\"}");
+            if (recursive && "tree".equals(entry[1])) {
+                listEntries(path, true, json);
+            }
+        }
+    }
+
+    private void handleTree(HttpExchange exchange) throws IOException {
+
+        String query = exchange.getRequestURI().getRawQuery();
+        requests.add(query);
+
+        Map<String, String> params = new HashMap<>();
+        for (String param : query.split("&")) {
+            String[] pair = param.split("=", 2);
+            params.put(pair[0], pair.length > 1 ? URLDecoder.decode(pair[1], "UTF-8") : "");
+        }
+
+        String directory = params.getOrDefault("path", "");
+        if (!directories.containsKey(directory)) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+
+        List<String> entries = new ArrayList<>();
+        listEntries(directory, Boolean.parseBoolean(params.get("recursive")), entries);
+
+        int perPage = Integer.parseInt(params.get("per_page"));
+        int page = Integer.parseInt(params.get("page"));
+        int totalPages = Math.max(1, (entries.size() + perPage - 1) / perPage);
+        List<String> pageEntries = entries.subList(Math.min(entries.size(), (page - 1) * perPage), Math.min(entries.size(), page * perPage));
+
+        exchange.getResponseHeaders().add("X-Per-Page", Integer.toString(perPage));
+        exchange.getResponseHeaders().add("X-Total-Pages", Integer.toString(totalPages));
+        exchange.getResponseHeaders().add("X-Total", Integer.toString(entries.size()));
+        send(exchange, "[" + String.join(",", pageEntries) + "]");
+    }
+}
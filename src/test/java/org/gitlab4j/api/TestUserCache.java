@@ -0,0 +1,142 @@
+package org.gitlab4j.api;
+
+import static org.gitlab4j.api.MockGitLabServer.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gitlab4j.api.models.User;
+import org.junit.Test;
+
+public class TestUserCache {
+
+    private static final String IDENTITY = "PRIVATE:token|sudo:null";
+
+    @Test
+    public void testLookupsAreCachedByUsernameAndId() throws GitLabApiException {
+
+        UserCache userCache = new UserCache();
+        AtomicInteger loads = new AtomicInteger();
+        User user = createUser(5, "jsmith");
+
+        assertSame(user, userCache.getUser(IDENTITY, "jsmith", () -> { loads.incrementAndGet(); return (user); }));
+        assertSame(user, userCache.getUser(IDENTITY, "JSmith", () -> { loads.incrementAndGet(); return (user); }));
+        assertSame(user, userCache.getUser(IDENTITY, 5, () -> { loads.incrementAndGet(); return (user); }));
+        assertEquals(1, loads.get());
+        assertEquals(2, userCache.getHits());
+
+        userCache.invalidate("jsmith");
+        assertSame(user, userCache.getUser(IDENTITY, 5, () -> { loads.incrementAndGet(); return (user); }));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testNegativeCaching() throws GitLabApiException {
+
+        UserCache userCache = new UserCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(userCache.getUser(IDENTITY, "nobody", () -> { loads.incrementAndGet(); return (null); }));
+        assertNull(userCache.getUser(IDENTITY, "nobody", () -> { loads.incrementAndGet(); return (null); }));
+        assertEquals(1, loads.get());
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                userCache.getUser(IDENTITY, 99, () -> {
+                    loads.incrementAndGet();
+                    throw new GitLabApiException("404 User Not Found", 404);
+                });
+                fail("Expected a GitLabApiException");
+            } catch (GitLabApiException glae) {
+                assertEquals(404, glae.getHttpStatus());
+            }
+        }
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testExpirationAndBound() throws Exception {
+
+        UserCache userCache = new UserCache(2, 50, 0);
+        AtomicInteger loads = new AtomicInteger();
+        UserCache.Loader loader = () -> { loads.incrementAndGet(); return (null); };
+
+        // Negative caching is disabled
+        userCache.getUser(IDENTITY, "nobody", loader);
+        userCache.getUser(IDENTITY, "nobody", loader);
+        assertEquals(2, loads.get());
+
+        userCache.getUser(IDENTITY, "a", () -> createUser(1, "a"));
+        userCache.getUser(IDENTITY, "b", () -> createUser(2, "b"));
+        assertEquals(2, userCache.size());
+
+        // Lookups made as another identity are cached apart
+        assertNull(userCache.getUser("PRIVATE:other|sudo:null", "b", loader));
+        assertEquals(3, loads.get());
+
+        Thread.sleep(100);
+        userCache.getUser(IDENTITY, "b", loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testSudoIsResolvedThroughCache() throws Exception {
+
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger sudoRequests = new AtomicInteger();
+        MockGitLabServer server = new MockGitLabServer();
+        server.createContext("/api/v4/users", exchange -> {
+            requests.incrementAndGet();
+            if (exchange.getRequestHeaders().containsKey("Sudo")) {
+                sudoRequests.incrementAndGet();
+            }
+
+            String query = exchange.getRequestURI().getQuery();
+            send(exchange, query != null ? "[{\"id\":5,\"username\":\"jsmith\"}]" : "{\"id\":5,\"username\":\"jsmith\"}");
+        });
+
+        try {
+
+            GitLabApi gitLabApi = new GitLabApi(server.getUrl(), "token");
+            UserApi userApi = gitLabApi.getUserApi();
+            userApi.setUserCache(new UserCache());
+            userApi.getUser("jsmith");
+            assertEquals(1, requests.get());
+
+            // The user to sudo as is resolved through the cache, as the authenticated user
+            gitLabApi.sudo("jsmith");
+            assertEquals(Integer.valueOf(5), gitLabApi.getSudoAsId());
+            gitLabApi.setSudoAsId(5);
+            assertEquals(1, requests.get());
+
+            userApi.getUserCache().clear();
+            gitLabApi.setSudoAsId(5);
+            assertEquals(2, requests.get());
+            assertEquals(0, sudoRequests.get());
+
+            // Lookups made as the sudo user are cached apart from those made as the authenticated user
+            userApi.getUser(5);
+            userApi.getUser(5);
+            assertEquals(3, requests.get());
+            assertEquals(1, sudoRequests.get());
+            gitLabApi.unsudo();
+            userApi.getUser(5);
+            userApi.getUser("jsmith");
+            assertEquals(3, requests.get());
+
+        } finally {
+            server.close();
+        }
+    }
+
+    private static User createUser(int id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return (user);
+    }
+}
@@ -0,0 +1,287 @@
+package org.gitlab4j.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.gitlab4j.api.webhook.BatchingWebHookListener;
+import org.gitlab4j.api.webhook.BuildEvent;
+import org.gitlab4j.api.webhook.Event;
+import org.gitlab4j.api.webhook.IssueEvent;
+import org.gitlab4j.api.webhook.MergeRequestEvent;
+import org.gitlab4j.api.webhook.NoteEvent;
+import org.gitlab4j.api.webhook.PipelineEvent;
+import org.gitlab4j.api.webhook.PushEvent;
+import org.gitlab4j.api.webhook.TagPushEvent;
+import org.gitlab4j.api.webhook.WebHookDeduplicator;
+import org.gitlab4j.api.webhook.WebHookInterest;
+import org.gitlab4j.api.webhook.WebHookListener;
+import org.gitlab4j.api.webhook.WebHookManager;
+import org.gitlab4j.api.webhook.WikiPageEvent;
+import org.junit.Test;
+
+public class TestWebHookManager {
+
+    @Test
+    public void testInterestRouting() throws Exception {
+
+        WebHookManager webHookManager = new WebHookManager();
+        RecordingListener pushListener = new RecordingListener();
+        RecordingListener pipelineListener = new RecordingListener();
+        webHookManager.addListener(pushListener, new WebHookInterest().withObjectKinds(PushEvent.OBJECT_KIND));
+        webHookManager.addListener(pipelineListener, new WebHookInterest().withObjectKinds(PipelineEvent.OBJECT_KIND));
+
+        handle(webHookManager, PushEvent.X_GITLAB_EVENT, "push-event");
+        handle(webHookManager, PipelineEvent.X_GITLAB_EVENT, "pipeline-event");
+
+        assertEquals(1, pushListener.events.size());
+        assertTrue(pushListener.events.get(0) instanceof PushEvent);
+        assertEquals(1, pipelineListener.events.size());
+        assertTrue(pipelineListener.events.get(0) instanceof PipelineEvent);
+    }
+
+    @Test
+    public void testSkipDecodingWhenNoListenerIsInterested() throws Exception {
+
+        WebHookManager webHookManager = new WebHookManager();
+        RecordingListener listener = new RecordingListener();
+        webHookManager.addListener(listener, new WebHookInterest().withObjectKinds(PushEvent.OBJECT_KIND));
+
+        // The payload is not valid JSON, this only succeeds if decoding is skipped
+        byte[] payload = "not json".getBytes(StandardCharsets.UTF_8);
+        webHookManager.handleEvent(IssueEvent.X_GITLAB_EVENT, null, payload, 0, payload.length);
+        assertEquals(0, listener.events.size());
+
+        webHookManager.removeListener(listener);
+        webHookManager.handleEvent(PushEvent.X_GITLAB_EVENT, null, payload, 0, payload.length);
+        assertEquals(0, listener.events.size());
+    }
+
+    @Test
+    public void testProjectAndRefInterest() throws Exception {
+
+        WebHookManager webHookManager = new WebHookManager();
+        RecordingListener matchingListener = new RecordingListener();
+        RecordingListener otherProjectListener = new RecordingListener();
+        RecordingListener otherRefListener = new RecordingListener();
+        webHookManager.addListener(matchingListener, new WebHookInterest().withProjectIds(15).withRefs("master"));
+        webHookManager.addListener(otherProjectListener, new WebHookInterest().withProjectIds(16));
+        webHookManager.addListener(otherRefListener, new WebHookInterest().withRefs("refs/heads/develop"));
+
+        handle(webHookManager, PushEvent.X_GITLAB_EVENT, "push-event");
+
+        assertEquals(1, matchingListener.events.size());
+        assertEquals(0, otherProjectListener.events.size());
+        assertEquals(0, otherRefListener.events.size());
+    }
+
+    @Test
+    public void testInterestIsCopiedOnRegistration() throws Exception {
+
+        WebHookManager webHookManager = new WebHookManager();
+        RecordingListener listener = new RecordingListener();
+        WebHookInterest interest = new WebHookInterest().withObjectKinds(PipelineEvent.OBJECT_KIND);
+        webHookManager.addListener(listener, interest);
+
+        // Changing the interest after registration does not change the routing of events
+        interest.withObjectKinds(PushEvent.OBJECT_KIND).withRefs("develop");
+        handle(webHookManager, PushEvent.X_GITLAB_EVENT, "push-event");
+        handle(webHookManager, PipelineEvent.X_GITLAB_EVENT, "pipeline-event");
+        assertEquals(1, listener.events.size());
+        assertTrue(listener.events.get(0) instanceof PipelineEvent);
+    }
+
+    @Test
+    public void testHasInterestedListeners() {
+
+        WebHookManager webHookManager = new WebHookManager();
+        assertFalse(webHookManager.hasInterestedListeners(PushEvent.X_GITLAB_EVENT));
+
+        RecordingListener listener = new RecordingListener();
+        webHookManager.addListener(listener);
+        assertTrue(webHookManager.hasInterestedListeners(PushEvent.X_GITLAB_EVENT));
+        assertTrue(webHookManager.hasInterestedListeners(BuildEvent.JOB_HOOK_X_GITLAB_EVENT));
+
+        webHookManager.removeListener(listener);
+        assertFalse(webHookManager.hasInterestedListeners(PushEvent.X_GITLAB_EVENT));
+    }
+
+    @Test
+    public void testDuplicateSuppression() throws Exception {
+
+        WebHookManager webHookManager = new WebHookManager();
+        WebHookDeduplicator deduplicator = new WebHookDeduplicator();
+        webHookManager.setDeduplicator(deduplicator);
+        RecordingListener listener = new RecordingListener();
+        webHookManager.addListener(listener);
+
+        handle(webHookManager, PushEvent.X_GITLAB_EVENT, "push-event");
+        handle(webHookManager, PushEvent.X_GITLAB_EVENT, "push-event");
+        handle(webHookManager, PipelineEvent.X_GITLAB_EVENT, "pipeline-event");
+        handle(webHookManager, PipelineEvent.X_GITLAB_EVENT, "pipeline-event");
+        handle(webHookManager, WikiPageEvent.X_GITLAB_EVENT, "wiki-page-event");
+        handle(webHookManager, WikiPageEvent.X_GITLAB_EVENT, "wiki-page-event");
+
+        assertEquals(3, listener.events.size());
+        assertEquals(3, deduplicator.getHits());
+        assertEquals(3, deduplicator.getMisses());
+        assertEquals(0.5, deduplicator.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void testFailedDispatchIsNotSuppressed() throws Exception {
+
+        WebHookManager webHookManager = new WebHookManager();
+        WebHookDeduplicator deduplicator = new WebHookDeduplicator();
+        webHookManager.setDeduplicator(deduplicator);
+        RecordingListener listener = new RecordingListener() {
+            @Override
+            public void onPushEvent(PushEvent pushEvent) {
+                if (events.isEmpty()) {
+                    events.add(pushEvent);
+                    throw new IllegalStateException("listener failure");
+                }
+
+                super.onPushEvent(pushEvent);
+            }
+        };
+        webHookManager.addListener(listener);
+
+        try {
+            handle(webHookManager, PushEvent.X_GITLAB_EVENT, "push-event");
+            fail("Expected a GitLabApiException");
+        } catch (GitLabApiException expected) {
+        }
+
+        // The retried delivery is dispatched again, later ones are suppressed
+        handle(webHookManager, PushEvent.X_GITLAB_EVENT, "push-event");
+        handle(webHookManager, PushEvent.X_GITLAB_EVENT, "push-event");
+        assertEquals(2, listener.events.size());
+        assertEquals(1, deduplicator.getHits());
+    }
+
+    @Test
+    public void testDeduplicatorMemoryBound() {
+
+        WebHookDeduplicator deduplicator = new WebHookDeduplicator(2, WebHookDeduplicator.DEFAULT_WINDOW_MILLIS);
+        assertFalse(deduplicator.isDuplicate(createPushEvent("a")));
+        assertFalse(deduplicator.isDuplicate(createPushEvent("b")));
+        assertTrue(deduplicator.isDuplicate(createPushEvent("b")));
+        assertFalse(deduplicator.isDuplicate(createPushEvent("c")));
+        assertEquals(2, deduplicator.size());
+
+        // "a" was evicted to stay within the bound, so it is no longer seen as a duplicate
+        assertFalse(deduplicator.isDuplicate(createPushEvent("a")));
+    }
+
+    @Test
+    public void testBatchingListenerBatchSize() throws Exception {
+
+        WebHookManager webHookManager = new WebHookManager();
+        RecordingBatchingListener listener = new RecordingBatchingListener();
+        webHookManager.addBatchingListener(listener, 3, 60000);
+
+        for (int i = 0; i < 4; i++) {
+            handle(webHookManager, PushEvent.X_GITLAB_EVENT, "push-event");
+        }
+
+        handle(webHookManager, PipelineEvent.X_GITLAB_EVENT, "pipeline-event");
+        assertEquals(1, listener.batches.size());
+        assertEquals(3, listener.batches.get(0).size());
+
+        webHookManager.flushBatchingListeners();
+        assertEquals(3, listener.batches.size());
+        assertTrue(listener.batches.get(1).get(0) instanceof PushEvent);
+        assertTrue(listener.batches.get(2).get(0) instanceof PipelineEvent);
+
+        webHookManager.removeBatchingListener(listener);
+        assertFalse(webHookManager.hasInterestedListeners(PushEvent.X_GITLAB_EVENT));
+    }
+
+    @Test
+    public void testBatchingListenerMaxLatency() throws Exception {
+
+        WebHookManager webHookManager = new WebHookManager();
+        RecordingBatchingListener listener = new RecordingBatchingListener();
+        webHookManager.addBatchingListener(listener, 100, 50);
+
+        handle(webHookManager, PushEvent.X_GITLAB_EVENT, "push-event");
+        assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(1, listener.batches.size());
+        assertEquals(1, listener.batches.get(0).size());
+        webHookManager.removeBatchingListener(listener);
+    }
+
+    private static PushEvent createPushEvent(String sha) {
+        PushEvent pushEvent = new PushEvent();
+        pushEvent.setProjectId(1);
+        pushEvent.setRef("refs/heads/master");
+        pushEvent.setBefore("0000000000000000000000000000000000000000");
+        pushEvent.setAfter(sha);
+        pushEvent.setCheckoutSha(sha);
+        return (pushEvent);
+    }
+
+    static void handle(WebHookManager webHookManager, String eventName, String file) throws Exception {
+        byte[] payload = readResource(file + ".json");
+        webHookManager.handleEvent(eventName, null, payload, 0, payload.length);
+    }
+
+    static byte[] readResource(String name) throws IOException {
+
+        try (InputStream in = GitLabApi.class.getResourceAsStream(name)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int count;
+            while ((count = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, count);
+            }
+            return (out.toByteArray());
+        }
+    }
+
+    static class RecordingBatchingListener implements BatchingWebHookListener {
+
+        final List<List<? extends Event>> batches = new CopyOnWriteArrayList<>();
+        final CountDownLatch delivered = new CountDownLatch(1);
+
+        private void record(List<? extends Event> batch) {
+            batches.add(new ArrayList<>(batch));
+            delivered.countDown();
+        }
+
+        public void onBuildEvents(List<BuildEvent> buildEvents) { record(buildEvents); }
+        public void onIssueEvents(List<IssueEvent> events) { record(events); }
+        public void onMergeRequestEvents(List<MergeRequestEvent> events) { record(events); }
+        public void onNoteEvents(List<NoteEvent> noteEvents) { record(noteEvents); }
+        public void onPipelineEvents(List<PipelineEvent> pipelineEvents) { record(pipelineEvents); }
+        public void onPushEvents(List<PushEvent> pushEvents) { record(pushEvents); }
+        public void onTagPushEvents(List<TagPushEvent> tagPushEvents) { record(tagPushEvents); }
+        public void onWikiPageEvents(List<WikiPageEvent> wikiEvents) { record(wikiEvents); }
+    }
+
+    static class RecordingListener implements WebHookListener {
+
+        final List<Event> events = new CopyOnWriteArrayList<>();
+
+        public void onBuildEvent(BuildEvent buildEvent) { events.add(buildEvent); }
+        public void onIssueEvent(IssueEvent event) { events.add(event); }
+        public void onMergeRequestEvent(MergeRequestEvent event) { events.add(event); }
+        public void onNoteEvent(NoteEvent noteEvent) { events.add(noteEvent); }
+        public void onPipelineEvent(PipelineEvent pipelineEvent) { events.add(pipelineEvent); }
+        public void onPushEvent(PushEvent pushEvent) { events.add(pushEvent); }
+        public void onTagPushEvent(TagPushEvent tagPushEvent) { events.add(tagPushEvent); }
+        public void onWikiPageEvent(WikiPageEvent wikiEvent) { events.add(wikiEvent); }
+    }
+}
@@ -0,0 +1,134 @@
+package org.gitlab4j.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.gitlab4j.api.utils.ZipExtractor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestZipExtractor {
+
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("zip-extract-test").toFile();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testGlobSelection() {
+
+        ZipExtractor extractor = new ZipExtractor().withIncludes("reports/**/*.xml", "*.txt").withExcludes("**/tmp/**");
+        assertTrue(extractor.isSelected("reports/TEST-a.xml"));
+        assertTrue(extractor.isSelected("reports/unit/TEST-b.xml"));
+        assertTrue(extractor.isSelected("notes.txt"));
+        assertFalse(extractor.isSelected("docs/notes.txt"));
+        assertFalse(extractor.isSelected("reports/unit/TEST-b.json"));
+        assertFalse(extractor.isSelected("reports/tmp/TEST-c.xml"));
+        assertTrue(new ZipExtractor().isSelected("anything/at/all"));
+    }
+
+    @Test
+    public void testExtractToDirectory() throws IOException {
+
+        byte[] zip = createZip("reports/TEST-a.xml", "reports/unit/TEST-b.xml", "build/app.jar");
+        List<File> files = new ZipExtractor().withIncludes("reports/**").extract(new ByteArrayInputStream(zip), directory);
+
+        assertEquals(2, files.size());
+        assertEquals("content of reports/unit/TEST-b.xml", read("reports/unit/TEST-b.xml"));
+        assertFalse(new File(directory, "build").exists());
+    }
+
+    @Test
+    public void testRejectEntryOutsideDirectory() throws IOException {
+
+        byte[] zip = createZip("../escaped.txt");
+        try {
+            new ZipExtractor().extract(new ByteArrayInputStream(zip), directory);
+            fail("Expected an IOException");
+        } catch (IOException expected) {
+        }
+
+        assertFalse(new File(directory.getParentFile(), "escaped.txt").exists());
+    }
+
+    @Test
+    public void testExtractArtifactsFile() throws Exception {
+
+        byte[] zip = createZip("reports/TEST-a.xml", "build/app.jar", "reports/TEST-b.xml");
+        MockGitLabServer server = new MockGitLabServer();
+        server.createContext("/api/v4/projects/1/jobs/artifacts/master/download", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(zip);
+            }
+        });
+
+        try {
+
+            GitLabApi gitLabApi = new GitLabApi(server.getUrl(), "token");
+            List<String> names = new ArrayList<>();
+            int count = gitLabApi.getJobApi().extractArtifactsFile(1, "master", "test", new ZipExtractor().withIncludes("**/*.xml"),
+                    (entry, content) -> names.add(entry.getName()));
+            assertEquals(2, count);
+            assertEquals("[reports/TEST-a.xml, reports/TEST-b.xml]", names.toString());
+
+            List<File> files = gitLabApi.getJobApi().extractArtifactsFile(1, "master", "test", null, directory);
+            assertEquals(3, files.size());
+            TreeSet<String> paths = new TreeSet<>();
+            for (File file : files) {
+                paths.add(directory.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/'));
+            }
+
+            assertEquals("[build/app.jar, reports/TEST-a.xml, reports/TEST-b.xml]", paths.toString());
+
+        } finally {
+            server.close();
+        }
+    }
+
+    private String read(String path) throws IOException {
+        return (new String(Files.readAllBytes(new File(directory, path).toPath()), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] createZip(String... names) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOut = new ZipOutputStream(out)) {
+            for (String name : names) {
+                zipOut.putNextEntry(new ZipEntry(name));
+                zipOut.write(("content of " + name).getBytes(StandardCharsets.UTF_8));
+                zipOut.closeEntry();
+            }
+        }
+
+        return (out.toByteArray());
+    }
+}